@@ -0,0 +1,204 @@
+package org.example.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.CacheProperties;
+import org.example.endpoint.CacheStats;
+import org.redisson.api.RLocalCachedMap;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.spring.cache.NullValue;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于RLocalCachedMap的近缓存实现
+ * 本地缓存、失效广播、更新策略和断线重连处理均由Redisson负责
+ * 注意：开源版Redisson没有支持单条目过期的RLocalCachedMapCache，L2条目不会单独过期。
+ * redis.time-to-live作为整个Map的空闲过期时间：写入时续期，但每半个TTL最多续期一次，
+ * 不在每次写入时执行EXPIRE；本地副本中的条目按local配置的过期时间单独过期
+ */
+@Slf4j
+public class LocalCachedMapCache extends AbstractValueAdaptingCache implements MonitoredCache {
+
+    private final String name;
+    private final RLocalCachedMap<String, Object> map;
+    private final RedissonClient redissonClient;
+    private final CacheProperties cacheProperties;
+    private final CacheProperties.CacheConfig cacheConfig;
+    private final CacheStats cacheStats;
+    private final AtomicLong nextExpireRenewal = new AtomicLong();
+
+    public LocalCachedMapCache(String name,
+                               RLocalCachedMap<String, Object> map,
+                               RedissonClient redissonClient,
+                               CacheProperties cacheProperties,
+                               CacheProperties.CacheConfig cacheConfig) {
+        super(true);
+        this.name = name;
+        this.map = map;
+        this.redissonClient = redissonClient;
+        this.cacheProperties = cacheProperties;
+        this.cacheConfig = cacheConfig;
+        this.cacheStats = new CacheStats(name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return map;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = key.toString();
+
+        // 1. 从本地缓存获取
+        Object value = map.getCachedMap().get(cacheKey);
+        if (value != null) {
+            cacheStats.recordHit("L1");
+            return value;
+        }
+
+        // 2. 从Redis获取（命中后由Redisson回填本地缓存）
+        cacheStats.recordMiss("L1");
+        value = map.get(cacheKey);
+        if (value != null) {
+            cacheStats.recordHit("L2");
+            return value;
+        }
+
+        cacheStats.recordMiss("L2");
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = key.toString();
+
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+
+        // 获取分布式锁防止缓存击穿
+        RLock lock = redissonClient.getLock(name + ":lock:" + cacheKey);
+        try {
+            boolean locked = lock.tryLock(
+                cacheProperties.getLockWaitTime(),
+                cacheProperties.getLockLeaseTime(),
+                TimeUnit.MILLISECONDS
+            );
+
+            if (!locked) {
+                log.warn("Failed to acquire lock for key: {}", cacheKey);
+                throw new RuntimeException("Failed to acquire lock");
+            }
+
+            value = lookup(key);
+            if (value != null) {
+                return (T) value;
+            }
+
+            long loadStart = System.nanoTime();
+            value = valueLoader.call();
+            cacheStats.recordLoad("total", System.nanoTime() - loadStart);
+            if (value != null) {
+                put(key, value);
+            }
+            return (T) value;
+        } catch (Exception e) {
+            log.error("Error loading cache value for key: " + cacheKey, e);
+            throw new RuntimeException(e);
+        } finally {
+            try {
+                lock.unlock();
+            } catch (Exception e) {
+                log.warn("Error unlocking for key: " + cacheKey, e);
+            }
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = key.toString();
+        if (value == null) {
+            if (!cacheProperties.isAllowNullValues()) {
+                return;
+            }
+            value = NullValue.INSTANCE;
+        }
+
+        map.fastPut(cacheKey, value);
+        renewExpire();
+        cacheStats.recordPut("L2");
+        log.debug("Near cache put, name: {}, key: {}", name, cacheKey);
+    }
+
+    /**
+     * 续期整个Map的过期时间，每半个TTL最多执行一次
+     */
+    private void renewExpire() {
+        long ttl = cacheConfig.getRedis().getTimeToLive() * 1000;
+        if (ttl <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long next = nextExpireRenewal.get();
+        if (now >= next && nextExpireRenewal.compareAndSet(next, now + ttl / 2)) {
+            map.expire(Duration.ofMillis(ttl));
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        map.fastRemove(key.toString());
+        cacheStats.recordEviction("L2");
+    }
+
+    @Override
+    public void clear() {
+        int size = map.size();
+        map.clear();
+        // Map被删除后过期时间随之失效，下次写入时重新设置
+        nextExpireRenewal.set(0L);
+        cacheStats.recordEvictions("L2", size);
+    }
+
+    @Override
+    public CacheStats getCacheStats() {
+        CacheStats currentStats = cacheStats.snapshot();
+        try {
+            currentStats.getCacheStatInfo("L1").setEstimatedSize(map.getCachedMap().size());
+            currentStats.getCacheStatInfo("L2").setEstimatedSize(map.size());
+        } catch (Exception e) {
+            log.error("Error getting cache stats for cache: " + name, e);
+        }
+        return currentStats;
+    }
+
+    @Override
+    public void resetStats() {
+        cacheStats.resetStats();
+    }
+
+    @Override
+    public List<String> getKeys() {
+        return new ArrayList<>(map.keySet());
+    }
+
+    @Override
+    public long size() {
+        return map.size();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.cache;
+
+import org.example.endpoint.CacheStats;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可监控的缓存
+ * 由不同缓存引擎实现，供缓存监控和管理接口统一使用
+ */
+public interface MonitoredCache {
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 当前缓存的统计信息快照
+     */
+    CacheStats getCacheStats();
+
+    /**
+     * 重置缓存统计信息
+     */
+    void resetStats();
+
+    /**
+     * 获取所有缓存键
+     *
+     * @return 缓存键列表
+     */
+    List<String> getKeys();
+
+    /**
+     * 获取缓存大小
+     *
+     * @return 缓存条目数
+     */
+    long size();
+
+    /**
+     * 获取当前热点键
+     *
+     * @return 按估算访问频率从高到低排列的热点键，不支持热点探测时为空
+     */
+    default Map<String, Long> getHotKeys() {
+        return Map.of();
+    }
+}
@@ -1,62 +1,177 @@
 package org.example.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
 import lombok.extern.slf4j.Slf4j;
 import org.example.config.CacheProperties;
+import org.example.cache.bloom.CacheBloomFilter;
 import org.example.cache.event.CacheEvent;
+import org.example.cache.hotkey.HotKeyDetector;
+import org.example.cache.offheap.OffHeapStore;
+import org.example.cache.store.RedisCacheStore;
+import org.example.cache.tag.CacheTagResolver;
+import org.example.cache.version.CacheEntry;
+import org.example.cache.version.HybridLogicalClock;
+import org.example.cache.weigh.CacheWeightEstimator;
+import org.example.cache.writebehind.WriteBehindQueue;
+import org.example.cache.warm.AccessFrequencyRecorder;
 import org.example.endpoint.CacheStats;
+import org.redisson.api.RBucket;
 import org.redisson.api.RLock;
-import org.redisson.api.RMap;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.redisson.spring.cache.NullValue;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.util.StringUtils;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * 多级缓存实现
  * L1: Caffeine本地缓存
  * L2: Redis分布式缓存
+ * 两级缓存均保存带版本的 {@link CacheEntry}，远程同步事件版本不高于本地时直接丢弃
  */
 @Slf4j
-public class MultiLevelCache extends AbstractValueAdaptingCache {
+public class MultiLevelCache extends AbstractValueAdaptingCache implements MonitoredCache {
+
+    // 已编译的模式删除正则，避免每个键重复编译
+    private static final Cache<String, Pattern> PATTERN_CACHE = Caffeine.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    // 未按内存预算限制容量时，估算L1内存占用的抽样条目数
+    private static final int WEIGHT_SAMPLE_SIZE = 64;
+
+    // 改写过期时间时遇到并发写入的最大重试次数
+    private static final int MAX_EXPIRE_ATTEMPTS = 3;
 
     private final String name;
     private final Cache<Object, Object> caffeineCache;
     private final RedissonClient redissonClient;
+    private final RedisCacheStore redisStore;
     private final CacheProperties cacheProperties;
+    private final CacheProperties.CacheConfig cacheConfig;
     private final String nodeId;
     private final Function<CacheEvent, Void> eventPublisher;
+    private final HybridLogicalClock clock;
+    private final Executor refreshExecutor;
+    // 异步操作的后续处理线程池，避免在Redisson回调线程或公共线程池中执行阻塞调用
+    private final Executor asyncExecutor;
+    // 批量操作的分块线路和分桶存储的并发线程池，线程均忙时由调用线程执行
+    private final Executor batchExecutor;
+    private final CacheTagResolver tagResolver;
+    private final CacheBloomFilter bloomFilter;
+    private final AccessFrequencyRecorder frequencyRecorder;
+    private final HotKeyDetector hotKeyDetector;
+
+    // 热点键保护区：探测到的热点键固定在此，不受普通本地缓存淘汰影响，未启用时为null
+    private final Cache<Object, Object> pinnedCache;
+    private final CacheWeightEstimator weightEstimator;
+
+    // 堆外缓存（L1.5）：保存从本地缓存淘汰的条目，未启用时为null
+    private final OffHeapStore offHeapStore;
+
+    // L2延迟写入队列：写入只更新本地缓存并入队，由后台按批写入Redis，未启用时为null
+    private final WriteBehindQueue writeBehindQueue;
+
+    // 本节点正在后台刷新的键
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    // 本节点正在异步加载的键，合并同一键的并发加载
+    private final Map<String, CompletableFuture<Object>> asyncLoads = new ConcurrentHashMap<>();
+
+    // 删除墓碑：记录最近删除的键及其版本，用于拒绝晚到的旧写入
+    private final Cache<Object, Long> tombstones;
+
+    // 清空水位：最近一次清空的版本，版本不高于它的远程写入视为清空前的旧写入
+    private final AtomicLong clearVersion = new AtomicLong();
 
     // 缓存统计
-    private final CacheStats cacheStats = new CacheStats();
+    private final CacheStats cacheStats;
     private final Map<String, LongAdder> methodStats = new ConcurrentHashMap<>();
 
     public MultiLevelCache(String name,
                          Cache<Object, Object> caffeineCache,
                          RedissonClient redissonClient,
+                         RedisCacheStore redisStore,
                          CacheProperties cacheProperties,
+                         CacheProperties.CacheConfig cacheConfig,
                          String nodeId,
-                         Function<CacheEvent, Void> eventPublisher) {
+                         Function<CacheEvent, Void> eventPublisher,
+                         HybridLogicalClock clock,
+                         Executor refreshExecutor,
+                         Executor asyncExecutor,
+                         Executor batchExecutor,
+                         CacheTagResolver tagResolver,
+                         CacheBloomFilter bloomFilter,
+                         AccessFrequencyRecorder frequencyRecorder,
+                         HotKeyDetector hotKeyDetector,
+                         Cache<Object, Object> pinnedCache,
+                         CacheWeightEstimator weightEstimator,
+                         OffHeapStore offHeapStore,
+                         ScheduledExecutorService writeBehindScheduler) {
         super(true);
         this.name = name;
         this.caffeineCache = caffeineCache;
         this.redissonClient = redissonClient;
+        this.redisStore = redisStore;
         this.cacheProperties = cacheProperties;
+        this.cacheConfig = cacheConfig;
         this.nodeId = nodeId;
         this.eventPublisher = eventPublisher;
-        this.cacheStats.setCacheName(name);
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.asyncExecutor = asyncExecutor;
+        this.batchExecutor = batchExecutor;
+        this.tagResolver = tagResolver;
+        this.bloomFilter = bloomFilter;
+        this.frequencyRecorder = frequencyRecorder;
+        this.hotKeyDetector = hotKeyDetector;
+        this.pinnedCache = pinnedCache;
+        this.weightEstimator = weightEstimator;
+        this.offHeapStore = offHeapStore;
+        CacheProperties.CacheConfig.WriteBehindConfig writeBehindConfig = cacheConfig.getWriteBehind();
+        this.writeBehindQueue = writeBehindConfig.isEnabled()
+                ? new WriteBehindQueue(name, this::writeBehind, writeBehindConfig.getMaxPending(),
+                        writeBehindConfig.getBatchSize(), writeBehindConfig.getFlushInterval(), writeBehindScheduler)
+                : null;
+        this.cacheStats = new CacheStats(name);
+        this.tombstones = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getLocal().getMaximumSize())
+                .expireAfterWrite(cacheProperties.getEventTtl(), TimeUnit.MILLISECONDS)
+                .build();
     }
 
     @Override
@@ -72,25 +187,164 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
     @Override
     protected Object lookup(Object key) {
         String cacheKey = createCacheKey(key);
-        
+        Object stored = lookupStored(cacheKey);
+        if (stored != null) {
+            return CacheEntry.unwrap(stored);
+        }
+        // 两级缓存均未命中且一定不存在的键按空值命中返回，调用方不再回源
+        return isDefinitelyAbsent(cacheKey) ? org.springframework.cache.support.NullValue.INSTANCE : null;
+    }
+
+    /**
+     * 布隆过滤器判断键一定不存在
+     * 只在两级缓存均未命中后、回源之前判断，本地位图副本判定不存在时再由共享位图确认
+     */
+    private boolean isDefinitelyAbsent(String cacheKey) {
+        if (bloomFilter == null || bloomFilter.mightContain(cacheKey)) {
+            return false;
+        }
+        recordRejected(cacheKey);
+        return true;
+    }
+
+    /**
+     * 异步判断键一定不存在，不阻塞调用线程
+     */
+    private CompletableFuture<Boolean> isDefinitelyAbsentAsync(String cacheKey) {
+        if (bloomFilter == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return bloomFilter.mightContainAsync(cacheKey).thenApply(mightContain -> {
+            if (mightContain) {
+                return false;
+            }
+            recordRejected(cacheKey);
+            return true;
+        });
+    }
+
+    private void recordRejected(String cacheKey) {
+        log.debug("Rejected by bloom filter, name: {}, key: {}", name, cacheKey);
+        cacheStats.recordHit("bloom");
+    }
+
+    /**
+     * 依次从热点保护区、本地缓存、堆外缓存和Redis获取存储对象
+     * 超过逻辑过期时间且超出宽限期的条目视为未命中
+     */
+    private Object lookupStored(String cacheKey) {
+        long now = System.currentTimeMillis();
+        boolean hot = recordAccess(cacheKey);
+        Object stored = lookupLocalTiers(cacheKey, now, hot);
+        if (stored != null) {
+            return stored;
+        }
+
+        // 3. 从Redis获取
+        return acceptRemote(cacheKey, redisStore.get(cacheKey), now, hot);
+    }
+
+    /**
+     * 异步获取存储对象，本地各层级同步查找，未命中时异步读取Redis，不阻塞调用线程
+     */
+    private CompletableFuture<Object> lookupStoredAsync(String cacheKey) {
+        long now = System.currentTimeMillis();
+        boolean hot = recordAccess(cacheKey);
+        Object stored = lookupLocalTiers(cacheKey, now, hot);
+        if (stored != null) {
+            return CompletableFuture.completedFuture(stored);
+        }
+
+        // 3. 从Redis获取
+        return redisStore.getAsync(cacheKey).thenApply(remote -> acceptRemote(cacheKey, remote, now, hot));
+    }
+
+    /**
+     * 记录访问频率
+     * @return 该键是否为热点
+     */
+    private boolean recordAccess(String cacheKey) {
+        if (frequencyRecorder != null) {
+            frequencyRecorder.record(cacheKey);
+        }
+        return hotKeyDetector != null && hotKeyDetector.record(cacheKey);
+    }
+
+    /**
+     * 依次从热点保护区、本地缓存和堆外缓存获取存储对象
+     */
+    private Object lookupLocalTiers(String cacheKey, long now, boolean hot) {
+        // 0. 从热点保护区获取
+        Object stored;
+        if (pinnedCache != null) {
+            stored = pinnedCache.getIfPresent(cacheKey);
+            if (stored != null && isServable(stored, now)) {
+                log.debug("Cache hit in pinned region, name: {}, key: {}", name, cacheKey);
+                cacheStats.recordHit("L1");
+                return stored;
+            }
+            if (stored != null) {
+                pinnedCache.asMap().remove(cacheKey, stored);
+            }
+        }
+
         // 1. 从本地缓存获取
-        Object value = caffeineCache.getIfPresent(cacheKey);
-        if (value != null) {
+        stored = caffeineCache.getIfPresent(cacheKey);
+        if (stored != null && isServable(stored, now)) {
             log.debug("Cache hit in L1 cache, name: {}, key: {}", name, cacheKey);
             cacheStats.recordHit("L1");
-            return value;
+            if (hot) {
+                pin(cacheKey, stored);
+            }
+            return stored;
+        }
+        if (stored != null) {
+            caffeineCache.asMap().remove(cacheKey, stored);
         }
 
-        // 2. 从Redis获取
-        RMap<Object, Object> map = redissonClient.getMap(name);
-        value = map.get(cacheKey);
-        if (value != null) {
+        // 2. 从堆外缓存获取，命中后提升回本地缓存
+        if (offHeapStore != null) {
+            stored = offHeapStore.take(cacheKey);
+            if (stored != null && isServable(stored, now) && !isTombstoned(cacheKey, stored)) {
+                log.debug("Cache hit in L1.5 cache, name: {}, key: {}", name, cacheKey);
+                cacheStats.recordHit("L1_5");
+                cacheStats.recordMiss("L1");
+                backfillLocal(cacheKey, stored);
+                if (hot) {
+                    pin(cacheKey, stored);
+                }
+                return stored;
+            }
+            cacheStats.recordMiss("L1_5");
+        }
+
+        // 3. 从延迟写入队列获取尚未写入Redis的条目
+        if (writeBehindQueue != null) {
+            stored = writeBehindQueue.get(cacheKey);
+            if (stored != null && isServable(stored, now)) {
+                log.debug("Cache hit in write-behind queue, name: {}, key: {}", name, cacheKey);
+                cacheStats.recordHit("L1");
+                backfillLocal(cacheKey, stored);
+                return stored;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 处理从Redis读取的存储对象：命中时回填本地缓存，未命中或已过期时返回null
+     */
+    private Object acceptRemote(String cacheKey, Object stored, long now, boolean hot) {
+        if (stored != null && isServable(stored, now)) {
             log.debug("Cache hit in L2 cache, name: {}, key: {}", name, cacheKey);
             cacheStats.recordHit("L2");
             cacheStats.recordMiss("L1"); // L1缓存未命中
             // 回填到本地缓存
-            caffeineCache.put(cacheKey, value);
-            return value;
+            backfillLocal(cacheKey, stored);
+            if (hot) {
+                pin(cacheKey, stored);
+            }
+            return stored;
         }
 
         log.debug("Cache miss, name: {}, key: {}", name, cacheKey);
@@ -99,18 +353,282 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
         return null;
     }
 
+    /**
+     * 将热点键的条目固定到保护区，不覆盖更新的条目，也不固定已被更新版本删除的条目
+     */
+    private void pin(String cacheKey, Object stored) {
+        if (pinnedCache == null) {
+            return;
+        }
+        long version = CacheEntry.versionOf(stored);
+        Long tombstone = tombstones.getIfPresent(cacheKey);
+        if (tombstone != null && tombstone > version) {
+            return;
+        }
+        pinnedCache.asMap().merge(cacheKey, stored, (current, candidate) ->
+            CacheEntry.versionOf(current) > CacheEntry.versionOf(candidate) ? current : candidate);
+    }
+
+    /**
+     * 本地缓存写入新条目后同步其他本地层级：更新已固定的条目，移除堆外缓存中的旧条目
+     */
+    private void updateLocalTiers(Object cacheKey, Object stored) {
+        if (pinnedCache != null) {
+            pinnedCache.asMap().computeIfPresent(cacheKey, (k, current) ->
+                CacheEntry.versionOf(current) > CacheEntry.versionOf(stored) ? current : stored);
+        }
+        if (offHeapStore != null) {
+            offHeapStore.remove(cacheKey, CacheEntry.versionOf(stored));
+        }
+    }
+
+    /**
+     * 条目已被不低于其版本的删除或清空覆盖
+     */
+    private boolean isTombstoned(Object cacheKey, Object stored) {
+        long version = CacheEntry.versionOf(stored);
+        if (version > 0 && version <= clearVersion.get()) {
+            return true;
+        }
+        Long tombstone = tombstones.getIfPresent(cacheKey);
+        return tombstone != null && tombstone >= version;
+    }
+
+    /**
+     * 已固定的热点键被其他节点失效后，立即从Redis重新加载，避免热点键的下一次访问穿透到Redis
+     */
+    private void reloadPinned(String cacheKey) {
+        if (!refreshingKeys.add(cacheKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Object stored = redisStore.get(cacheKey);
+                    if (stored != null && isServable(stored, System.currentTimeMillis())) {
+                        backfillLocal(cacheKey, stored);
+                        pin(cacheKey, stored);
+                        log.debug("Pinned key reloaded, name: {}, key: {}", name, cacheKey);
+                    }
+                } catch (Exception e) {
+                    log.warn("Error reloading pinned key: " + cacheKey, e);
+                } finally {
+                    refreshingKeys.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(cacheKey);
+            log.debug("Refresh executor is busy, skip reloading pinned key: {}", cacheKey);
+        }
+    }
+
+    /**
+     * 获取当前热点键
+     * @return 按估算访问频率从高到低排列的热点键
+     */
+    @Override
+    public Map<String, Long> getHotKeys() {
+        return hotKeyDetector != null ? hotKeyDetector.getHotKeys() : Map.of();
+    }
+
+    /**
+     * 增量扫描Redis中的缓存键
+     * @param count 每批扫描的数量提示
+     * @return 惰性迭代的缓存键
+     */
+    public Iterable<String> scanKeys(int count) {
+        return redisStore.scanKeys("", count);
+    }
+
+    /**
+     * 获取访问频率最高的缓存键
+     * @param limit 最大数量
+     * @return 按频率从高到低排列的缓存键
+     */
+    public Collection<String> getHottestKeys(int limit) {
+        return frequencyRecorder != null ? frequencyRecorder.getHottestKeys(limit) : List.of();
+    }
+
+    /**
+     * 本地缓存容量
+     */
+    public int getLocalMaximumSize() {
+        return cacheConfig.getLocal().getMaximumSize();
+    }
+
+    /**
+     * 从Redis批量读取条目并只写入本地缓存，不写回Redis也不发布事件，用于预热
+     * @param cacheKeys 缓存键
+     * @return 实际加载的条目数
+     */
+    public int loadLocal(Collection<String> cacheKeys) {
+        if (cacheKeys.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> values = redisStore.getAll(new HashSet<>(cacheKeys));
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() != null && isServable(entry.getValue(), now)) {
+                backfillLocal(entry.getKey(), entry.getValue());
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 导出本地缓存中最热的条目，用于写入快照
+     * 固定的热点键在前，其余按Caffeine淘汰策略的热度排列，已过期的条目不导出
+     * @param limit 最大条目数
+     * @return 按热度从高到低排列的键和存储对象
+     */
+    public Map<String, Object> snapshotLocal(int limit) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        if (pinnedCache != null) {
+            pinnedCache.asMap().forEach((key, stored) -> {
+                if (entries.size() < limit && isServable(stored, now)) {
+                    entries.put(key.toString(), stored);
+                }
+            });
+        }
+        Map<Object, Object> hottest = caffeineCache.policy().eviction()
+            .map(eviction -> eviction.hottest(limit))
+            .orElseGet(caffeineCache::asMap);
+        for (Map.Entry<Object, Object> entry : hottest.entrySet()) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            if (entry.getValue() instanceof CacheEntry && isServable(entry.getValue(), now)) {
+                entries.putIfAbsent(entry.getKey().toString(), entry.getValue());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 将快照中的条目写入本地缓存，不覆盖同步事件已写入的更新条目
+     * @param entries 快照中的键和存储对象
+     * @return 实际写入的条目数
+     */
+    public int restoreLocal(Map<String, Object> entries) {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            if (isServable(entry.getValue(), now)) {
+                backfillLocal(entry.getKey(), entry.getValue());
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * 与Redis核对从快照恢复的条目：Redis中已不存在的删除，版本已变化的替换为Redis中的条目
+     * 只处理仍为快照原值的本地条目，恢复后已被同步事件更新的条目不受影响
+     * @param entries 快照中的键和存储对象
+     * @param chunkSize 每批读取Redis的键数量
+     * @return 删除或替换的条目数
+     */
+    public int reconcileLocal(Map<String, Object> entries, int chunkSize) {
+        List<String> keys = new ArrayList<>(entries.keySet());
+        long now = System.currentTimeMillis();
+        int changed = 0;
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<String> chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+            Map<String, Object> current = redisStore.getAll(new HashSet<>(chunk));
+            for (String cacheKey : chunk) {
+                Object restored = entries.get(cacheKey);
+                Object stored = current.get(cacheKey);
+                if (stored != null && CacheEntry.versionOf(stored) == CacheEntry.versionOf(restored)) {
+                    continue;
+                }
+                if (caffeineCache.asMap().remove(cacheKey, restored)) {
+                    changed++;
+                }
+                if (stored != null && isServable(stored, now)) {
+                    backfillLocal(cacheKey, stored);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 调用加载器加载数据并写入缓存，同时记录计算耗时
+     */
+    private Object loadAndPut(Object key, Callable<?> valueLoader, String level) throws Exception {
+        long loadStart = System.nanoTime();
+        Object value = valueLoader.call();
+        long loadTime = System.nanoTime() - loadStart;
+        cacheStats.recordLoad(level, loadTime);
+        if (value != null) {
+            put(key, value, TimeUnit.NANOSECONDS.toMillis(loadTime));
+        }
+        return value;
+    }
+
+    /**
+     * 是否使用XFetch概率提前过期模式
+     */
+    private boolean isXFetchMode() {
+        return cacheConfig.getProtection().getStampedeMode()
+            == CacheProperties.CacheConfig.CacheProtectionConfig.StampedeMode.XFETCH;
+    }
+
+    /**
+     * XFetch判定，见 {@link CacheEntry#shouldRecomputeEarly(long, double, double)}
+     * 已过期但处于宽限期的条目交给后台刷新
+     */
+    private boolean shouldRecomputeEarly(Object stored) {
+        if (!(stored instanceof CacheEntry entry)) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return entry.shouldRecomputeEarly(System.currentTimeMillis(), cacheConfig.getProtection().getXfetchBeta(), random);
+    }
+
+    /**
+     * 条目未过期，或已过期但仍在宽限期内
+     */
+    private boolean isServable(Object stored, long now) {
+        if (!(stored instanceof CacheEntry entry) || entry.getExpireAt() <= 0) {
+            return true;
+        }
+        return now < entry.getExpireAt() + getStaleGraceMillis();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(Object key, Callable<T> valueLoader) {
         String cacheKey = createCacheKey(key);
 
-        // 1. 先尝试获取缓存
-        Object value = lookup(key);
-        if (value != null) {
-            return (T) value;
+        // 1. 先尝试获取缓存，接近过期或处于宽限期时触发后台刷新
+        Object stored = lookupStored(cacheKey);
+        if (stored != null) {
+            if (!isXFetchMode() || !shouldRecomputeEarly(stored)) {
+                refreshIfNeeded(key, cacheKey, stored, valueLoader);
+                return (T) CacheEntry.unwrap(stored);
+            }
+
+            // XFetch模式：被选中提前重新计算的命中请求直接加载，不获取分布式锁，其余请求继续读取当前值
+            try {
+                return (T) loadAndPut(key, valueLoader, "xfetch");
+            } catch (Exception e) {
+                log.error("Error loading cache value for key: " + cacheKey, e);
+                throw new RuntimeException(e);
+            }
         }
 
-        // 2. 获取分布式锁防止缓存击穿
+        // 两级缓存均未命中时，布隆过滤器确认一定不存在的键不回源
+        if (isDefinitelyAbsent(cacheKey)) {
+            return null;
+        }
+
+        Object value;
+
+        // 2. 未命中时获取分布式锁防止缓存击穿，XFetch模式下同样如此
         RLock lock = redissonClient.getLock(name + ":lock:" + cacheKey);
         try {
             // 尝试获取锁
@@ -128,16 +646,11 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
             // 双重检查，防止其他线程已经加载
             value = lookup(key);
             if (value != null) {
-                return (T) value;
+                return (T) fromStoreValue(value);
             }
 
             // 3. 调用valueLoader加载数据
-            cacheStats.recordLoad("total");
-            value = valueLoader.call();
-            if (value != null) {
-                put(key, value);
-            }
-            return (T) value;
+            return (T) loadAndPut(key, valueLoader, "total");
 
         } catch (Exception e) {
             log.error("Error loading cache value for key: " + cacheKey, e);
@@ -151,8 +664,216 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
         }
     }
 
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return getAsync(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return getAsync(key, valueLoader);
+    }
+
+    /**
+     * 异步获取缓存值
+     * 本地各层级同步查找，未命中时异步读取Redis，不阻塞调用线程
+     * @param key 缓存键
+     * @return 缓存值包装，未命中时为null
+     */
+    public CompletableFuture<ValueWrapper> getAsync(Object key) {
+        String cacheKey = createCacheKey(key);
+        return lookupStoredAsync(cacheKey).thenCompose(stored -> stored != null
+            ? CompletableFuture.completedFuture(toValueWrapper(CacheEntry.unwrap(stored)))
+            : isDefinitelyAbsentAsync(cacheKey).thenApply(absent ->
+                absent ? toValueWrapper(org.springframework.cache.support.NullValue.INSTANCE) : null));
+    }
+
+    /**
+     * 异步获取缓存值，未命中时调用异步加载器加载并写入缓存
+     * 同一节点对同一键的并发加载合并为一次；LOCK模式下通过异步获取的分布式锁防止缓存击穿
+     * @param key 缓存键
+     * @param valueLoader 异步加载器
+     * @return 缓存值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> getAsync(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        String cacheKey = createCacheKey(key);
+
+        return lookupStoredAsync(cacheKey).thenCompose(stored -> {
+            if (stored != null && (!isXFetchMode() || !shouldRecomputeEarly(stored))) {
+                refreshIfNeeded(key, cacheKey, stored, () -> valueLoader.get().join());
+                return CompletableFuture.completedFuture((T) fromStoreValue(CacheEntry.unwrap(stored)));
+            }
+            if (stored != null) {
+                return loadAsync(key, cacheKey, valueLoader, true).thenApply(value -> (T) value);
+            }
+            // 两级缓存均未命中时，布隆过滤器确认一定不存在的键不回源
+            return isDefinitelyAbsentAsync(cacheKey).thenCompose(absent -> absent
+                ? CompletableFuture.<T>completedFuture(null)
+                : loadAsync(key, cacheKey, valueLoader, false).thenApply(value -> (T) value));
+        });
+    }
+
+    /**
+     * 异步加载，合并本节点对同一键的并发加载
+     *
+     * @param recomputeEarly 是否为XFetch选中的命中提前重新计算，未命中时始终通过分布式锁加载
+     */
+    private CompletableFuture<Object> loadAsync(Object key, String cacheKey,
+                                                Supplier<? extends CompletableFuture<?>> valueLoader,
+                                                boolean recomputeEarly) {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        CompletableFuture<Object> existing = asyncLoads.putIfAbsent(cacheKey, pending);
+        if (existing != null) {
+            return existing;
+        }
+
+        // XFetch选中的命中直接加载，不获取分布式锁；未命中与同步读取一样获取锁防止缓存击穿
+        CompletableFuture<Object> load;
+        try {
+            load = recomputeEarly
+                ? loadAndPutAsync(key, valueLoader, "xfetch")
+                : loadWithLockAsync(key, cacheKey, valueLoader);
+        } catch (Exception e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        load.whenComplete((value, error) -> {
+            asyncLoads.remove(cacheKey, pending);
+            if (error != null) {
+                log.error("Error loading cache value for key: " + cacheKey, error);
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(value);
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * 异步获取分布式锁后双重检查并加载，锁以随机标识持有，不绑定调用线程
+     */
+    private CompletableFuture<Object> loadWithLockAsync(Object key, String cacheKey,
+                                                        Supplier<? extends CompletableFuture<?>> valueLoader) {
+        RLock lock = redissonClient.getLock(name + ":lock:" + cacheKey);
+        long lockId = ThreadLocalRandom.current().nextLong();
+        return lock.tryLockAsync(cacheProperties.getLockWaitTime(), cacheProperties.getLockLeaseTime(),
+                TimeUnit.MILLISECONDS, lockId)
+            .toCompletableFuture()
+            .thenCompose(locked -> {
+                if (!locked) {
+                    log.warn("Failed to acquire lock for key: {}", cacheKey);
+                    return CompletableFuture.<Object>failedFuture(new RuntimeException("Failed to acquire lock"));
+                }
+                // 双重检查，防止其他节点已经加载
+                return lookupStoredAsync(cacheKey)
+                    .thenCompose(stored -> stored != null
+                        ? CompletableFuture.completedFuture(fromStoreValue(CacheEntry.unwrap(stored)))
+                        : loadAndPutAsync(key, valueLoader, "total"))
+                    .whenComplete((value, error) -> lock.unlockAsync(lockId));
+            });
+    }
+
+    /**
+     * 调用异步加载器加载数据并写入缓存，同时记录计算耗时
+     */
+    private CompletableFuture<Object> loadAndPutAsync(Object key, Supplier<? extends CompletableFuture<?>> valueLoader,
+                                                      String level) {
+        long loadStart = System.nanoTime();
+        return valueLoader.get().thenCompose(loaded -> {
+            Object value = loaded;
+            long loadTime = System.nanoTime() - loadStart;
+            cacheStats.recordLoad(level, loadTime);
+            if (value == null) {
+                return CompletableFuture.<Object>completedFuture(null);
+            }
+            return putAsync(key, value, TimeUnit.NANOSECONDS.toMillis(loadTime)).thenApply(result -> value);
+        });
+    }
+
+    /**
+     * 异步写入缓存
+     * Redis写入完成后再写入本地缓存并发布事件，与同步写入的顺序一致；返回的Future完成时本地缓存已更新，
+     * 之后的读取可以读到新值。Redis写入失败时Future异常完成，本地缓存不变，也不发布事件
+     * @param key 缓存键
+     * @param value 缓存值
+     * @return 写入完成
+     */
+    public CompletableFuture<Void> putAsync(Object key, Object value) {
+        return putAsync(key, value, 0L);
+    }
+
+    private CompletableFuture<Void> putAsync(Object key, Object value, long delta) {
+        if (writeBehindQueue != null) {
+            // 延迟写入时同步写入只更新本地缓存并入队，无需等待Redis
+            put(key, value, delta);
+            return CompletableFuture.completedFuture(null);
+        }
+        String cacheKey = createCacheKey(key);
+        boolean nullValue = value == null;
+        if (nullValue && !cacheProperties.isAllowNullValues()) {
+            log.debug("Skipping null value for key: {}", cacheKey);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Object storeValue = nullValue ? NullValue.INSTANCE : value;
+        long ttl = nullValue ? getNullValueTimeout() : calculateTtl(getTimeToLive());
+        CacheEntry entry = newEntry(storeValue, ttl, nullValue ? 0L : delta);
+        long redisTtl = toRedisTtl(ttl);
+
+        Runnable afterWrite = () -> {
+            addTags(cacheKey, nullValue ? null : value, redisTtl);
+            if (!nullValue && bloomFilter != null) {
+                bloomFilter.add(cacheKey);
+            }
+            cacheStats.recordPut("L2");
+
+            caffeineCache.put(cacheKey, entry);
+            updateLocalTiers(cacheKey, entry);
+            cacheStats.recordPut("L1");
+
+            publishPutEvent(cacheKey, storeValue, ttl, entry.getVersion());
+            log.debug("Cache put async, name: {}, key: {}, ttl: {}", name, cacheKey, ttl);
+        };
+        // 标签、布隆过滤器和事件发布使用同步调用，不能在Redisson的回调线程中执行
+        return redisStore.putAsync(cacheKey, entry, redisTtl).thenRunAsync(afterWrite, asyncExecutor);
+    }
+
+    /**
+     * 异步删除缓存
+     * 返回的Future完成时本地缓存已失效；Redis删除失败时Future异常完成
+     * @param key 缓存键
+     * @return 删除完成
+     */
+    public CompletableFuture<Void> evictAsync(Object key) {
+        String cacheKey = createCacheKey(key);
+        long version = clock.tick();
+
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discard(cacheKey);
+        }
+        return redisStore.removeAsync(cacheKey).thenRunAsync(() -> {
+            cacheStats.recordEviction("L2");
+
+            tombstones.put(cacheKey, version);
+            caffeineCache.invalidate(cacheKey);
+            invalidateLocalTiers(cacheKey);
+            cacheStats.recordEviction("L1");
+
+            publishEvent(CacheEvent.createRemoveEvent(name, cacheKey, nodeId, version));
+            log.debug("Cache evict async, name: {}, key: {}", name, cacheKey);
+        }, asyncExecutor);
+    }
+
     @Override
     public void put(Object key, Object value) {
+        put(key, value, 0L);
+    }
+
+    /**
+     * 写入缓存
+     * @param delta 计算该值的耗时（毫秒）
+     */
+    private void put(Object key, Object value, long delta) {
         String cacheKey = createCacheKey(key);
 
         // 处理null值
@@ -167,30 +888,32 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
         }
 
         // 计算TTL（带随机化防止缓存雪崩）
-        long ttl = calculateTtl(cacheProperties.getTimeToLive());
-
-        // 1. 写入Redis
-        RMap<Object, Object> map = redissonClient.getMap(name);
-        if (ttl > 0) {
-            map.put(cacheKey, value);
-            map.expire(Duration.ofMillis(ttl));
-        } else {
-            map.put(cacheKey, value);
+        long ttl = calculateTtl(getTimeToLive());
+        CacheEntry entry = newEntry(value, ttl, delta);
+
+        // 1. 写入Redis，启用延迟写入时由后台写出
+        if (writeBehindQueue == null) {
+            redisStore.put(cacheKey, entry, toRedisTtl(ttl));
+            addTags(cacheKey, value, toRedisTtl(ttl));
+            if (bloomFilter != null) {
+                bloomFilter.add(cacheKey);
+            }
+            cacheStats.recordPut("L2");
+        } else if (bloomFilter != null) {
+            bloomFilter.addLocal(cacheKey);
         }
-        cacheStats.recordPut("L2");
 
         // 2. 写入本地缓存
-        caffeineCache.put(cacheKey, value);
+        caffeineCache.put(cacheKey, entry);
+        updateLocalTiers(cacheKey, entry);
         cacheStats.recordPut("L1");
 
-        // 3. 发布缓存更新事件
-        publishEvent(CacheEvent.createPutEvent(
-            name,
-            cacheKey,
-            value,
-            nodeId,
-            ttl
-        ));
+        // 3. 发布缓存更新事件，延迟写入的条目在写入Redis后发布
+        if (writeBehindQueue != null) {
+            writeBehindQueue.enqueue(cacheKey, entry);
+        } else {
+            publishPutEvent(cacheKey, value, ttl, entry.getVersion());
+        }
 
         log.debug("Cache put, name: {}, key: {}, ttl: {}", name, cacheKey, ttl);
     }
@@ -199,33 +922,175 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
      * 缓存null值
      */
     private void putNullValue(String cacheKey) {
-        long nullValueTimeout = cacheProperties.getProtection().getNullValue().getTimeout() * 1000;
+        long nullValueTimeout = getNullValueTimeout();
+        CacheEntry entry = newEntry(NullValue.INSTANCE, nullValueTimeout, 0L);
 
-        // 1. 写入Redis
-        RMap<Object, Object> map = redissonClient.getMap(name);
-        map.put(cacheKey, NullValue.INSTANCE);
-        map.expire(Duration.ofMillis(nullValueTimeout));
-        cacheStats.recordPut("L2");
+        // 1. 写入Redis（空值使用独立的过期时间）
+        if (writeBehindQueue == null) {
+            redisStore.put(cacheKey, entry, toRedisTtl(nullValueTimeout));
+            addTags(cacheKey, null, toRedisTtl(nullValueTimeout));
+            cacheStats.recordPut("L2");
+        }
 
         // 2. 写入本地缓存
-        caffeineCache.put(cacheKey, NullValue.INSTANCE);
+        caffeineCache.put(cacheKey, entry);
+        updateLocalTiers(cacheKey, entry);
         cacheStats.recordPut("L1");
 
         // 3. 发布缓存更新事件
-        publishEvent(CacheEvent.createPutEvent(
-            name,
-            cacheKey,
-            NullValue.INSTANCE,
-            nodeId,
-            nullValueTimeout
-        ));
+        if (writeBehindQueue != null) {
+            writeBehindQueue.enqueue(cacheKey, entry);
+        } else {
+            publishPutEvent(cacheKey, NullValue.INSTANCE, nullValueTimeout, entry.getVersion());
+        }
+    }
+
+    /**
+     * 记录条目的标签
+     */
+    private void addTags(String cacheKey, Object value, long redisTtl) {
+        if (tagResolver == null) {
+            return;
+        }
+        Collection<String> tags = tagResolver.resolveTags(cacheKey, value);
+        if (tags != null && !tags.isEmpty()) {
+            redisStore.addTags(Map.of(cacheKey, tags), redisTtl);
+        }
+    }
+
+    /**
+     * 创建带版本和逻辑过期时间的条目
+     */
+    private CacheEntry newEntry(Object value, long ttl, long delta) {
+        return new CacheEntry(value, clock.tick(), ttl > 0 ? System.currentTimeMillis() + ttl : 0L, delta);
+    }
+
+    /**
+     * Redis中的实际TTL：逻辑TTL加上宽限期，使过期条目在宽限期内仍可读取
+     */
+    private long toRedisTtl(long ttl) {
+        return ttl > 0 ? ttl + getStaleGraceMillis() : ttl;
+    }
+
+    /**
+     * 获取过期宽限期（毫秒），未启用提前刷新时为0
+     */
+    private long getStaleGraceMillis() {
+        CacheProperties.CacheConfig.RefreshConfig refreshConfig = cacheConfig.getRefresh();
+        return refreshConfig.isEnabled() ? refreshConfig.getStaleGrace() * 1000 : 0L;
+    }
+
+    /**
+     * 条目存活超过配置比例或已进入宽限期时，触发一次后台刷新
+     * 本节点通过正在刷新的键集合去重，节点间通过Redis中的刷新标记去重
+     */
+    private void refreshIfNeeded(Object key, String cacheKey, Object stored, Callable<?> valueLoader) {
+        CacheProperties.CacheConfig.RefreshConfig refreshConfig = cacheConfig.getRefresh();
+        if (!refreshConfig.isEnabled() || !(stored instanceof CacheEntry entry) || entry.getExpireAt() <= 0) {
+            return;
+        }
+
+        long writeTime = entry.getWriteTime();
+        long refreshAt = writeTime + (long) ((entry.getExpireAt() - writeTime) * refreshConfig.getAheadFraction());
+        if (System.currentTimeMillis() < refreshAt || !refreshingKeys.add(cacheKey)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> refresh(key, cacheKey, valueLoader));
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(cacheKey);
+            log.debug("Refresh executor is busy, skip refreshing key: {}", cacheKey);
+        }
+    }
+
+    /**
+     * 后台刷新：获取Redis刷新标记后重新加载并写入缓存
+     */
+    private void refresh(Object key, String cacheKey, Callable<?> valueLoader) {
+        RBucket<String> refreshFlag = redissonClient.getBucket(name + ":refresh:" + cacheKey, StringCodec.INSTANCE);
+        boolean acquired = false;
+        try {
+            acquired = refreshFlag.setIfAbsent(nodeId, Duration.ofMillis(cacheProperties.getLockLeaseTime()));
+            if (!acquired) {
+                log.debug("Key is being refreshed by another node, name: {}, key: {}", name, cacheKey);
+                return;
+            }
+
+            long loadStart = System.nanoTime();
+            Object value = valueLoader.call();
+            long loadTime = System.nanoTime() - loadStart;
+            cacheStats.recordLoad("refresh", loadTime);
+            put(key, value, TimeUnit.NANOSECONDS.toMillis(loadTime));
+            log.debug("Cache refreshed ahead, name: {}, key: {}", name, cacheKey);
+        } catch (Exception e) {
+            log.warn("Error refreshing cache value for key: " + cacheKey, e);
+        } finally {
+            if (acquired) {
+                refreshFlag.delete();
+            }
+            refreshingKeys.remove(cacheKey);
+        }
+    }
+
+    /**
+     * 按同步模式发布写入事件
+     * INVALIDATE模式只发送键和版本，其他节点失效本地缓存后从Redis懒加载
+     */
+    private void publishPutEvent(String cacheKey, Object value, long ttl, long version) {
+        if (isInvalidateMode()) {
+            publishEvent(CacheEvent.createInvalidateEvent(name, cacheKey, version, nodeId));
+        } else {
+            publishEvent(CacheEvent.createPutEvent(name, cacheKey, value, nodeId, ttl, version));
+        }
+    }
+
+    /**
+     * 是否为只失效的同步模式
+     */
+    private boolean isInvalidateMode() {
+        return cacheConfig.getSync().getMode() == CacheProperties.CacheConfig.CacheSyncConfig.SyncMode.INVALIDATE;
+    }
+
+    /**
+     * 获取当前缓存的Redis过期时间（毫秒）
+     */
+    private long getTimeToLive() {
+        return cacheConfig.getRedis().getTimeToLive() * 1000;
+    }
+
+    /**
+     * 获取空值缓存过期时间（毫秒）
+     */
+    private long getNullValueTimeout() {
+        return cacheProperties.getProtection().getNullValue().getTimeout() * 1000;
+    }
+
+    /**
+     * 根据缓存值计算逻辑TTL，空值使用独立的过期时间
+     */
+    private long resolveTtl(Object value) {
+        if (value == null || value instanceof NullValue) {
+            return getNullValueTimeout();
+        }
+        return calculateTtl(getTimeToLive());
+    }
+
+    /**
+     * 根据条目的逻辑过期时间计算写入Redis的TTL
+     */
+    private long resolveRedisTtl(Object stored) {
+        if (stored instanceof CacheEntry entry && entry.getExpireAt() > 0) {
+            return toRedisTtl(Math.max(1, entry.getExpireAt() - System.currentTimeMillis()));
+        }
+        return toRedisTtl(resolveTtl(CacheEntry.unwrap(stored)));
     }
 
     /**
      * 计算带随机化的TTL，用于防止缓存雪崩
      */
     private long calculateTtl(long baseTtl) {
-        if (!cacheProperties.getProtection().getTtlRandomization().isEnabled()) {
+        if (baseTtl <= 0 || !cacheProperties.getProtection().getTtlRandomization().isEnabled()) {
             return baseTtl;
         }
 
@@ -237,128 +1102,428 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
     @Override
     public void evict(Object key) {
         String cacheKey = createCacheKey(key);
+        long version = clock.tick();
 
-        // 1. 删除Redis缓存
-        RMap<Object, Object> map = redissonClient.getMap(name);
-        map.remove(cacheKey);
+        // 1. 删除Redis缓存，先丢弃尚未写出的延迟写入
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discard(cacheKey);
+        }
+        redisStore.remove(cacheKey);
         cacheStats.recordEviction("L2");
 
-        // 2. 删除本地缓存
+        // 2. 删除本地缓存，并记录墓碑拒绝晚到的旧写入
+        tombstones.put(cacheKey, version);
         caffeineCache.invalidate(cacheKey);
+        invalidateLocalTiers(cacheKey);
         cacheStats.recordEviction("L1");
 
         // 3. 发布缓存删除事件
-        publishEvent(CacheEvent.createRemoveEvent(name, cacheKey, nodeId));
+        publishEvent(CacheEvent.createRemoveEvent(name, cacheKey, nodeId, version));
 
         log.debug("Cache evict, name: {}, key: {}", name, cacheKey);
     }
 
+    /**
+     * 按标签批量删除缓存
+     * L2中关联任一标签的条目由一次脚本调用删除，其他节点通过一条批量删除事件失效本地缓存
+     *
+     * @param tags 标签
+     */
+    public void evictByTags(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        long version = clock.tick();
+
+        // 1. 删除Redis中关联标签的条目，延迟写入的条目先写出使其标签进入索引
+        if (writeBehindQueue != null) {
+            writeBehindQueue.flush();
+        }
+        List<String> cacheKeys = redisStore.removeByTags(tags);
+        if (cacheKeys.isEmpty()) {
+            // 标签索引中没有条目（索引已过期或条目只存在于本地），各节点按本地条目解析出的标签删除
+            removeLocalByTags(tags, null, version);
+            CacheEvent event = CacheEvent.createTagEvictEvent(name, tags, nodeId);
+            event.setVersion(version);
+            publishEvent(event);
+            log.debug("No cache entries tagged in Redis, name: {}, tags: {}", name, tags);
+            return;
+        }
+        cacheStats.recordEvictions("L2", cacheKeys.size());
+
+        // 2. 删除本地缓存，并记录墓碑
+        cacheKeys.forEach(cacheKey -> tombstones.put(cacheKey, version));
+        caffeineCache.invalidateAll(cacheKeys);
+        invalidateLocalTiers(cacheKeys);
+        cacheStats.recordEvictions("L1", cacheKeys.size());
+
+        // 3. 发布批量删除事件
+        CacheEvent event = CacheEvent.createBatchRemoveEvent(name, new ArrayList<>(cacheKeys), nodeId);
+        event.setVersion(version);
+        publishEvent(event);
+
+        log.debug("Cache evict by tags, name: {}, tags: {}, size: {}", name, tags, cacheKeys.size());
+    }
+
     @Override
     public void clear() {
         // 1. 清除Redis缓存
-        RMap<Object, Object> map = redissonClient.getMap(name);
-        int redisSize = map.size();
-        map.clear();
-        // 记录Redis缓存清除
-        for (int i = 0; i < redisSize; i++) {
-            cacheStats.recordEviction("L2");
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discardIf(k -> true);
         }
+        int redisSize = redisStore.size();
+        redisStore.clear();
+        cacheStats.recordEvictions("L2", redisSize);
 
-        // 2. 清除本地缓存
+        // 2. 清除本地缓存，并提升清空水位
+        long version = clock.tick();
+        clearVersion.accumulateAndGet(version, Math::max);
         long caffeineSize = caffeineCache.estimatedSize();
         caffeineCache.invalidateAll();
-        // 记录本地缓存清除
-        for (int i = 0; i < caffeineSize; i++) {
-            cacheStats.recordEviction("L1");
-        }
+        invalidateLocalTiers();
+        cacheStats.recordEvictions("L1", caffeineSize);
 
         // 3. 发布缓存清除事件
-        publishEvent(CacheEvent.createClearEvent(name, nodeId));
+        CacheEvent event = CacheEvent.createClearEvent(name, nodeId);
+        event.setVersion(version);
+        publishEvent(event);
 
         log.debug("Cache clear, name: {}", name);
     }
 
     /**
-     * 批量删除匹配模式的缓存
+     * 批量删除匹配模式的缓存
+     * 从正则中提取字面量前缀，通过HSCAN MATCH（或前缀索引）增量遍历候选键，
+     * 每累计一个批次即提交删除，避免一次性拉取整个键集合
+     */
+    public void evictByPattern(String pattern) {
+        if (!StringUtils.hasText(pattern)) {
+            return;
+        }
+
+        Pattern compiled = compilePattern(pattern);
+        String prefix = literalPrefix(pattern);
+        int batchSize = Math.max(1, cacheProperties.getBatch().getMaxSize());
+
+        // 1. 删除Redis缓存，延迟写入的条目先写出后一并扫描删除
+        if (writeBehindQueue != null) {
+            writeBehindQueue.flush();
+        }
+        int removed = 0;
+        List<String> matchedKeys = new ArrayList<>(batchSize);
+        for (String key : redisStore.scanKeys(prefix, batchSize)) {
+            if (!compiled.matcher(key).matches()) {
+                continue;
+            }
+            matchedKeys.add(key);
+            if (matchedKeys.size() >= batchSize) {
+                redisStore.removeAll(matchedKeys);
+                removed += matchedKeys.size();
+                matchedKeys = new ArrayList<>(batchSize);
+            }
+        }
+        if (!matchedKeys.isEmpty()) {
+            redisStore.removeAll(matchedKeys);
+            removed += matchedKeys.size();
+        }
+        cacheStats.recordEvictions("L2", removed);
+
+        // 2. 删除本地缓存
+        removeLocalByPattern(pattern, null);
+
+        // 3. 发布模式删除事件
+        publishEvent(CacheEvent.createRemovePatternEvent(name, pattern, nodeId));
+
+        log.debug("Cache evict by pattern, name: {}, pattern: {}, removed: {}", name, pattern, removed);
+    }
+
+    /**
+     * 删除本地各层级中标签与指定标签有交集的条目，并记录墓碑
+     * 标签由条目的键和值重新解析，需要遍历本地全部条目
+     * @param tags 标签
+     * @param keyFilter 额外的键过滤条件，为null时不过滤
+     * @param version 删除版本，为null时不记录墓碑
+     */
+    private void removeLocalByTags(Collection<String> tags, Predicate<Object> keyFilter, Long version) {
+        if (tagResolver == null) {
+            return;
+        }
+        BiPredicate<Object, Object> matcher = (k, stored) ->
+                (keyFilter == null || keyFilter.test(k)) && isTagged(k, stored, tags);
+        Set<Object> removed = new HashSet<>();
+        caffeineCache.asMap().forEach((k, stored) -> {
+            if (matcher.test(k, stored)) {
+                removed.add(k);
+            }
+        });
+        if (pinnedCache != null) {
+            pinnedCache.asMap().forEach((k, stored) -> {
+                if (matcher.test(k, stored)) {
+                    removed.add(k);
+                }
+            });
+        }
+        if (offHeapStore != null) {
+            removed.addAll(offHeapStore.removeIfStored(matcher));
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+        if (version != null) {
+            removed.forEach(k -> tombstones.put(k, version));
+        }
+        caffeineCache.invalidateAll(removed);
+        invalidateLocalTiers(removed);
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discardIf(removed::contains);
+        }
+        cacheStats.recordEvictions("L1", removed.size());
+    }
+
+    /**
+     * 条目解析出的标签与指定标签是否有交集
+     */
+    private boolean isTagged(Object cacheKey, Object stored, Collection<String> tags) {
+        Object value = CacheEntry.unwrap(stored);
+        Collection<String> entryTags = tagResolver.resolveTags(cacheKey.toString(), value instanceof NullValue ? null : value);
+        return entryTags != null && !Collections.disjoint(entryTags, tags);
+    }
+
+    /**
+     * 删除本地缓存中匹配模式的键
+     * @param pattern 正则表达式
+     * @param keyFilter 额外的键过滤条件，为null时不过滤
+     */
+    private void removeLocalByPattern(String pattern, Predicate<Object> keyFilter) {
+        Pattern compiled = compilePattern(pattern);
+        String prefix = literalPrefix(pattern);
+        Predicate<Object> matcher = k -> {
+            String key = k.toString();
+            return key.startsWith(prefix)
+                    && (keyFilter == null || keyFilter.test(k))
+                    && compiled.matcher(key).matches();
+        };
+        caffeineCache.asMap().keySet().removeIf(matcher);
+        invalidateLocalTiers(matcher);
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discardIf(matcher);
+        }
+    }
+
+    /**
+     * 从热点保护区和堆外缓存移除指定键
+     */
+    private void invalidateLocalTiers(Object cacheKey) {
+        if (pinnedCache != null) {
+            pinnedCache.invalidate(cacheKey);
+        }
+        if (offHeapStore != null) {
+            offHeapStore.remove(cacheKey);
+        }
+    }
+
+    /**
+     * 从热点保护区和堆外缓存批量移除键
+     */
+    private void invalidateLocalTiers(Collection<?> cacheKeys) {
+        if (pinnedCache != null) {
+            pinnedCache.invalidateAll(cacheKeys);
+        }
+        if (offHeapStore != null) {
+            cacheKeys.forEach(offHeapStore::remove);
+        }
+    }
+
+    /**
+     * 从热点保护区和堆外缓存移除匹配条件的键
+     */
+    private void invalidateLocalTiers(Predicate<Object> keyFilter) {
+        if (pinnedCache != null) {
+            pinnedCache.asMap().keySet().removeIf(keyFilter);
+        }
+        if (offHeapStore != null) {
+            offHeapStore.removeIf(keyFilter);
+        }
+    }
+
+    /**
+     * 清空热点保护区和堆外缓存
      */
-    public void evictByPattern(String pattern) {
-        if (!StringUtils.hasText(pattern)) {
-            return;
+    private void invalidateLocalTiers() {
+        if (pinnedCache != null) {
+            pinnedCache.invalidateAll();
         }
+        if (offHeapStore != null) {
+            offHeapStore.clear();
+        }
+    }
 
-        // 1. 删除Redis缓存
-        RMap<Object, Object> map = redissonClient.getMap(name);
-        map.keySet().stream()
-            .filter(k -> k.toString().matches(pattern))
-            .forEach(map::remove);
-
-        // 2. 删除本地缓存
-        caffeineCache.asMap().keySet().stream()
-            .filter(k -> k.toString().matches(pattern))
-            .forEach(caffeineCache::invalidate);
-
-        // 3. 发布模式删除事件
-        publishEvent(CacheEvent.createRemovePatternEvent(name, pattern, nodeId));
+    private static Pattern compilePattern(String pattern) {
+        return PATTERN_CACHE.get(pattern, Pattern::compile);
+    }
 
-        log.debug("Cache evict by pattern, name: {}, pattern: {}", name, pattern);
+    /**
+     * 提取正则表达式开头的字面量前缀，用于缩小扫描范围
+     * 无法确定前缀时（如包含分支）返回空字符串
+     */
+    static String literalPrefix(String pattern) {
+        if (pattern.indexOf('|') >= 0) {
+            return "";
+        }
+        int start = pattern.startsWith("^") ? 1 : 0;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = start; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (".[]()*+?{}\\^$".indexOf(c) >= 0) {
+                // 量词作用于前一个字符，该字符不属于确定前缀
+                if ((c == '*' || c == '?' || c == '{') && prefix.length() > 0) {
+                    prefix.setLength(prefix.length() - 1);
+                }
+                break;
+            }
+            prefix.append(c);
+        }
+        return prefix.toString();
     }
 
     /**
      * 更新缓存过期时间
+     * 读取以条目中的逻辑过期时间为准，因此同时改写Redis和本地各层级中条目的逻辑过期时间，
+     * Redis的实际TTL与写入时一致，为逻辑TTL加上宽限期
+     * @param ttl 过期时间（毫秒），小于等于0表示不过期
      */
     public void expire(Object key, long ttl) {
         String cacheKey = createCacheKey(key);
+        long expireAt = ttl > 0 ? System.currentTimeMillis() + ttl : 0L;
 
-        // 1. 更新Redis过期时间
-        RMap<Object, Object> map = redissonClient.getMap(name);
-        if (map.containsKey(cacheKey)) {
-            map.expire(Duration.ofMillis(ttl));
+        // 1. 改写尚未写出的延迟写入条目，已有更新版本的写入时不覆盖
+        if (writeBehindQueue != null && writeBehindQueue.get(cacheKey) instanceof CacheEntry pending) {
+            writeBehindQueue.enqueue(cacheKey, pending.withExpireAt(expireAt));
         }
 
-        // 2. 发布过期时间更新事件
+        // 2. 改写Redis中的条目及其过期时间
+        rewriteRemoteExpiry(cacheKey, expireAt, toRedisTtl(ttl));
+
+        // 3. 改写本地各层级中的条目
+        rewriteLocalExpiry(cacheKey, expireAt);
+
+        // 4. 发布过期时间更新事件
         publishEvent(CacheEvent.createExpireEvent(name, cacheKey, ttl, nodeId));
 
         log.debug("Cache expire updated, name: {}, key: {}, ttl: {}", name, cacheKey, ttl);
     }
 
+    /**
+     * 以比较并替换的方式改写Redis中条目的逻辑过期时间，替换失败说明期间有并发写入，重新读取后重试
+     * 未包装的历史数据只更新Redis过期时间
+     */
+    private void rewriteRemoteExpiry(String cacheKey, long expireAt, long redisTtl) {
+        for (int attempt = 0; attempt < MAX_EXPIRE_ATTEMPTS; attempt++) {
+            Object stored = redisStore.get(cacheKey);
+            if (!(stored instanceof CacheEntry entry)) {
+                if (stored != null) {
+                    redisStore.expire(cacheKey, redisTtl);
+                }
+                return;
+            }
+            if (redisStore.replace(cacheKey, entry, entry.withExpireAt(expireAt), redisTtl)) {
+                return;
+            }
+        }
+        // 持续有并发写入时放弃改写，新写入的条目自带过期时间
+        log.warn("Gave up rewriting cache expiry after concurrent writes, name: {}, key: {}", name, cacheKey);
+    }
+
+    /**
+     * 改写本地缓存和热点保护区中条目的逻辑过期时间，堆外缓存中的条目直接移除，下次访问从Redis重新加载
+     */
+    private void rewriteLocalExpiry(Object cacheKey, long expireAt) {
+        BiFunction<Object, Object, Object> rewrite = (k, current) ->
+            current instanceof CacheEntry entry ? entry.withExpireAt(expireAt) : current;
+        caffeineCache.asMap().computeIfPresent(cacheKey, rewrite);
+        if (pinnedCache != null) {
+            pinnedCache.asMap().computeIfPresent(cacheKey, rewrite);
+        }
+        if (offHeapStore != null) {
+            offHeapStore.remove(cacheKey);
+        }
+    }
+
     /**
      * 获取缓存统计信息
      * @return 当前缓存的统计信息
      */
     public CacheStats getCacheStats() {
         // 获取当前缓存统计信息的快照
-        CacheStats currentStats = new CacheStats();
-        currentStats.setCacheName(name);
-        
+        CacheStats currentStats = cacheStats.snapshot();
+
         try {
             // 更新L1（Caffeine）缓存统计信息
-            com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats = caffeineCache.stats();
-            currentStats.updateCaffeineStats(caffeineStats);
-            
-            // 记录L1缓存的估计大小
-            CacheStats.CacheStatInfo l1Stats = currentStats.getCacheStatInfo("L1");
-            l1Stats.setEstimatedSize(caffeineCache.estimatedSize());
-            
-            // 记录L2（Redis）缓存统计信息
-            RMap<Object, Object> redisMap = redissonClient.getMap(name);
-            CacheStats.CacheStatInfo l2Stats = currentStats.getCacheStatInfo("L2");
-            l2Stats.setEstimatedSize(redisMap.size());
-            
-            // 合并已有的统计信息
-            currentStats.merge(this.cacheStats);
-            
-            // 更新总体统计信息
-            currentStats.updateTotalStats();
-            
+            currentStats.updateCaffeineStats(caffeineCache.stats());
+
+            // 记录L1缓存的估计大小和内存占用
+            CacheStats.CacheStatInfo localStats = currentStats.getCacheStatInfo("L1");
+            localStats.setEstimatedSize(caffeineCache.estimatedSize());
+            updateLocalWeight(localStats);
+
+            // 记录L1.5（堆外）缓存的条目数和内存占用
+            if (offHeapStore != null) {
+                CacheStats.CacheStatInfo offHeapStats = currentStats.getCacheStatInfo("L1_5");
+                offHeapStats.setEstimatedSize(offHeapStore.size());
+                offHeapStats.setEstimatedBytes(offHeapStore.getUsedBytes());
+                offHeapStats.setMaximumBytes(offHeapStore.getCapacityBytes());
+            }
+
+            // 记录L2（Redis）缓存的估计大小
+            currentStats.getCacheStatInfo("L2").setEstimatedSize(redisStore.size());
+
+            // 记录延迟写入的积压情况
+            if (writeBehindQueue != null) {
+                currentStats.setPendingWrites(writeBehindQueue.getPendingCount());
+                currentStats.setWriteFlushLag(writeBehindQueue.getFlushLag());
+                currentStats.setDroppedWrites(writeBehindQueue.getDroppedCount());
+            }
         } catch (Exception e) {
             log.error("Error getting cache stats for cache: " + name, e);
-            // 如果出现错误，至少返回基本的统计信息
-            currentStats.setCacheName(name);
         }
-        
+
         return currentStats;
     }
 
+    /**
+     * 记录L1内存占用：按内存预算限制容量时使用Caffeine维护的权重总和，
+     * 否则抽样估算部分条目的大小并按条目数推算
+     */
+    private void updateLocalWeight(CacheStats.CacheStatInfo localStats) {
+        Optional<Policy.Eviction<Object, Object>> eviction = caffeineCache.policy().eviction();
+        if (eviction.isPresent() && eviction.get().isWeighted()) {
+            localStats.setEstimatedBytes(eviction.get().weightedSize().orElse(0L));
+            localStats.setMaximumBytes(eviction.get().getMaximum());
+            return;
+        }
+        if (weightEstimator == null) {
+            return;
+        }
+        long sampled = 0;
+        long sampledBytes = 0;
+        for (Map.Entry<Object, Object> entry : caffeineCache.asMap().entrySet()) {
+            sampledBytes += weightEstimator.estimate(entry.getKey(), entry.getValue());
+            if (++sampled >= WEIGHT_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (sampled > 0) {
+            localStats.setEstimatedBytes(sampledBytes * caffeineCache.estimatedSize() / sampled);
+        }
+    }
+
+    /**
+     * 重置缓存统计信息
+     */
+    public void resetStats() {
+        cacheStats.resetStats();
+    }
+
     /**
      * @deprecated 使用 {@link #getCacheStats()} 替代
      */
@@ -371,32 +1536,85 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
      * 处理缓存同步事件
      */
     public void handleCacheEvent(CacheEvent event) {
+        handleCacheEvent(event, null);
+    }
+
+    /**
+     * 处理缓存同步事件
+     * @param event 缓存事件
+     * @param keyFilter 本地键过滤条件，仅对清空和模式删除生效，为null时作用于全部键
+     */
+    public void handleCacheEvent(CacheEvent event, Predicate<Object> keyFilter) {
         // 忽略来自自己的事件
         if (nodeId.equals(event.getSourceNodeId())) {
             return;
         }
 
         try {
+            if (event.getVersion() != null) {
+                clock.update(event.getVersion());
+            }
+
             switch (event.getEventType()) {
                 case PUT -> {
-                    caffeineCache.put(event.getKey(), event.getValue());
-                    log.debug("Synchronized PUT event, name: {}, key: {}", name, event.getKey());
+                    applyRemotePut(event.getKey(), event.getValue(), event.getVersion(), event.getTtl());
+                    log.debug("Synchronized PUT event, name: {}, key: {}, version: {}",
+                        name, event.getKey(), event.getVersion());
                 }
                 case REMOVE -> {
-                    caffeineCache.invalidate(event.getKey());
-                    log.debug("Synchronized REMOVE event, name: {}, key: {}", name, event.getKey());
+                    applyRemoteInvalidate(event.getKey(), event.getVersion());
+                    log.debug("Synchronized REMOVE event, name: {}, key: {}, version: {}",
+                        name, event.getKey(), event.getVersion());
+                }
+                case INVALIDATE -> {
+                    applyRemoteInvalidate(event.getKey(), event.getVersion());
+                    log.debug("Synchronized INVALIDATE event, name: {}, key: {}, version: {}",
+                        name, event.getKey(), event.getVersion());
                 }
                 case CLEAR -> {
-                    caffeineCache.invalidateAll();
-                    log.debug("Synchronized CLEAR event, name: {}", name);
+                    // 水位作用于整个缓存，分通道处理时各通道重复提升不影响结果
+                    if (event.getVersion() != null) {
+                        clearVersion.accumulateAndGet(event.getVersion(), Math::max);
+                    }
+                    if (keyFilter == null) {
+                        caffeineCache.invalidateAll();
+                        invalidateLocalTiers();
+                    } else {
+                        caffeineCache.asMap().keySet().removeIf(keyFilter);
+                        invalidateLocalTiers(keyFilter);
+                    }
+                    if (writeBehindQueue != null) {
+                        writeBehindQueue.discardIf(keyFilter != null ? keyFilter : k -> true);
+                    }
+                    log.debug("Synchronized CLEAR event, name: {}, version: {}", name, event.getVersion());
+                }
+                case TAG_EVICT -> {
+                    List<String> tags = event.getKeys().stream().map(Object::toString).toList();
+                    removeLocalByTags(tags, keyFilter, event.getVersion());
+                    log.debug("Synchronized TAG_EVICT event, name: {}, tags: {}", name, tags);
                 }
                 case REMOVE_PATTERN -> {
                     String pattern = event.getKey().toString();
-                    caffeineCache.asMap().keySet().stream()
-                        .filter(k -> k.toString().matches(pattern))
-                        .forEach(caffeineCache::invalidate);
+                    removeLocalByPattern(pattern, keyFilter);
                     log.debug("Synchronized REMOVE_PATTERN event, name: {}, pattern: {}", name, pattern);
                 }
+                case EXPIRE -> {
+                    applyRemoteExpire(event.getKey(), event.getTtl());
+                    log.debug("Synchronized EXPIRE event, name: {}, key: {}, ttl: {}",
+                        name, event.getKey(), event.getTtl());
+                }
+                case BATCH_PUT -> {
+                    event.getEntries().forEach((k, v) -> applyRemotePut(createCacheKey(k), v, event.getVersion(), event.getTtl()));
+                    log.debug("Synchronized BATCH_PUT event, name: {}, size: {}", name, event.getEntries().size());
+                }
+                case BATCH_REMOVE -> {
+                    event.getKeys().forEach(k -> applyRemoteInvalidate(createCacheKey(k), event.getVersion()));
+                    log.debug("Synchronized BATCH_REMOVE event, name: {}, size: {}", name, event.getKeys().size());
+                }
+                case BATCH -> {
+                    applyEventBatch(event.getEvents());
+                    log.debug("Synchronized BATCH event, name: {}, size: {}", name, event.getEvents().size());
+                }
                 default -> log.warn("Unsupported cache event type: {}", event.getEventType());
             }
         } catch (Exception e) {
@@ -404,6 +1622,154 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
         }
     }
 
+    /**
+     * 登记新创建的键到共享布隆过滤器
+     * 用于数据已写入数据源但尚未写入缓存的场景，应在事务提交返回前调用；
+     * 事务回滚只会留下误判存在的键，不会造成漏判
+     *
+     * @param keys 原始键
+     */
+    public void registerKeys(Collection<?> keys) {
+        if (bloomFilter == null || keys == null || keys.isEmpty()) {
+            return;
+        }
+        bloomFilter.addAll(keys.stream().map(this::createCacheKey).toList());
+    }
+
+    /**
+     * 清空本地缓存，不影响Redis，也不发布同步事件
+     * 用于同步事件积压时放弃增量同步，之后的访问从Redis重新加载
+     */
+    public void invalidateLocal() {
+        long caffeineSize = caffeineCache.estimatedSize();
+        caffeineCache.invalidateAll();
+        invalidateLocalTiers();
+        cacheStats.recordEvictions("L1", caffeineSize);
+    }
+
+    /**
+     * 一次性应用合并后的事件批次
+     * 批次内每个键只出现一次，按版本逐个作用于本地缓存
+     */
+    private void applyEventBatch(List<CacheEvent> events) {
+        for (CacheEvent event : events) {
+            if (event.getVersion() != null) {
+                clock.update(event.getVersion());
+            }
+            switch (event.getEventType()) {
+                case PUT -> applyRemotePut(event.getKey(), event.getValue(), event.getVersion(), event.getTtl());
+                case REMOVE, INVALIDATE -> applyRemoteInvalidate(event.getKey(), event.getVersion());
+                case EXPIRE -> applyRemoteExpire(event.getKey(), event.getTtl());
+                default -> handleCacheEvent(event);
+            }
+        }
+    }
+
+    /**
+     * 应用远程写入：本地条目、删除墓碑或清空水位的版本不低于事件版本时丢弃
+     * 未携带版本的事件（旧节点发布）直接应用
+     */
+    private void applyRemotePut(Object key, Object value, Long version, Long ttl) {
+        if (bloomFilter != null) {
+            bloomFilter.addLocal(key.toString());
+        }
+        if (value == null) {
+            applyRemoteInvalidate(key, version);
+            return;
+        }
+        if (version == null) {
+            caffeineCache.put(key, value);
+            invalidateLocalTiers(key);
+            return;
+        }
+
+        Long tombstone = tombstones.getIfPresent(key);
+        if (tombstone != null && tombstone >= version) {
+            log.debug("Dropped stale PUT event, name: {}, key: {}, version: {}, tombstone: {}",
+                name, key, version, tombstone);
+            return;
+        }
+        long cleared = clearVersion.get();
+        if (version <= cleared) {
+            log.debug("Dropped PUT event older than clear, name: {}, key: {}, version: {}, clear version: {}",
+                name, key, version, cleared);
+            return;
+        }
+
+        // 其他节点的更新写入已在Redis中，丢弃本节点更早的延迟写入
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discard(key.toString(), version);
+        }
+
+        long expireAt = ttl != null && ttl > 0 ? System.currentTimeMillis() + ttl : 0L;
+        CacheEntry entry = new CacheEntry(value, version, expireAt);
+        caffeineCache.asMap().compute(key, (k, current) ->
+            current != null && CacheEntry.versionOf(current) >= version ? current : entry);
+        updateLocalTiers(key, entry);
+    }
+
+    /**
+     * 应用远程过期时间更新：Redis中的条目已由发布节点改写，本地只改写条目的逻辑过期时间
+     */
+    private void applyRemoteExpire(Object key, Long ttl) {
+        long expireAt = ttl != null && ttl > 0 ? System.currentTimeMillis() + ttl : 0L;
+        rewriteLocalExpiry(key, expireAt);
+    }
+
+    /**
+     * 应用远程删除/失效：记录墓碑，仅在本地条目版本不高于事件版本时删除
+     */
+    private void applyRemoteInvalidate(Object key, Long version) {
+        // INVALIDATE模式下写入以失效事件通知，登记到本地布隆过滤器副本，
+        // 删除事件一并登记只会略微增加误判
+        if (bloomFilter != null) {
+            bloomFilter.addLocal(key.toString());
+        }
+        if (version == null) {
+            caffeineCache.invalidate(key);
+            if (offHeapStore != null) {
+                offHeapStore.remove(key);
+            }
+            if (pinnedCache != null && pinnedCache.asMap().remove(key) != null) {
+                reloadPinned(key.toString());
+            }
+            return;
+        }
+
+        tombstones.asMap().merge(key, version, Math::max);
+        if (writeBehindQueue != null) {
+            writeBehindQueue.discard(key.toString(), version);
+        }
+        caffeineCache.asMap().computeIfPresent(key, (k, current) ->
+            CacheEntry.versionOf(current) > version ? current : null);
+        if (offHeapStore != null) {
+            offHeapStore.remove(key, version);
+        }
+        if (pinnedCache != null) {
+            Object unpinned = pinnedCache.asMap().get(key);
+            if (unpinned != null && CacheEntry.versionOf(unpinned) <= version
+                    && pinnedCache.asMap().remove(key, unpinned)) {
+                reloadPinned(key.toString());
+            }
+        }
+    }
+
+    /**
+     * 从Redis回填本地缓存，不覆盖更新的本地条目，也不回填已被更新版本删除的条目
+     */
+    private void backfillLocal(String cacheKey, Object stored) {
+        long version = CacheEntry.versionOf(stored);
+        Long tombstone = tombstones.getIfPresent(cacheKey);
+        if (tombstone != null && tombstone > version) {
+            return;
+        }
+        caffeineCache.asMap().merge(cacheKey, stored, (current, candidate) ->
+            CacheEntry.versionOf(current) > CacheEntry.versionOf(candidate) ? current : candidate);
+        if (offHeapStore != null) {
+            offHeapStore.remove(cacheKey, version);
+        }
+    }
+
     /**
      * 创建缓存键
      * 可以在这里添加前缀或者进行其他处理
@@ -433,8 +1799,7 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
      */
     public List<String> getKeys() {
         // 从Redis获取所有键
-        RMap<String, Object> map = redissonClient.getMap(name);
-        Set<Object> keys = new HashSet<>(map.keySet());
+        Set<Object> keys = new HashSet<>(redisStore.keySet());
         
         // 合并本地缓存的键
         keys.addAll(caffeineCache.asMap().keySet());
@@ -449,12 +1814,13 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
      * 获取缓存大小
      */
     public long size() {
-        RMap<String, Object> map = redissonClient.getMap(name);
-        return map.size() + caffeineCache.estimatedSize();
+        return redisStore.size() + caffeineCache.estimatedSize();
     }
 
     /**
      * 批量获取缓存值
+     * 逐键查找与 {@link #get(Object)} 相同的本地层级并检查逻辑过期，本地未命中的键一次批量读取Redis。
+     * 缓存的空值和未命中的键不出现在结果中
      * @param keys 键集合
      * @return 键值对映射
      */
@@ -463,39 +1829,161 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
             return new ConcurrentHashMap<>();
         }
 
-        Map<Object, Object> result = new ConcurrentHashMap<>();
-        Set<Object> missedKeys = new HashSet<>();
+        long now = System.currentTimeMillis();
+        Map<Object, Object> found = new HashMap<>();
+        Set<String> hotKeys = new HashSet<>();
 
-        // 1. 从本地缓存批量获取
-        for (Object key : keys) {
-            String cacheKey = createCacheKey(key);
-            Object value = caffeineCache.getIfPresent(cacheKey);
-            if (value != null) {
-                result.put(key, value);
-                cacheStats.recordHit("L1");
+        // 1. 从本地各层级获取
+        Map<String, Object> localMissed = collectLocal(keys, now, found, hotKeys);
+
+        // 2. 从Redis批量获取未命中的键
+        if (!localMissed.isEmpty()) {
+            acceptRemoteValues(redisStore.getAll(localMissed.keySet()), localMissed, now, found, hotKeys);
+        }
+        return toValues(found);
+    }
+
+    /**
+     * 批量获取缓存值，两级缓存均未命中的键通过一次批量加载获取
+     * 加载结果以一次pipeline写入Redis并写入本地缓存，只发布一条批量同步事件。
+     * 批量加载不获取逐键的分布式锁；加载器未返回的键视为不存在，不写入缓存
+     * @param keys 缓存键
+     * @param bulkLoader 批量加载器，参数为未命中的键，返回存在的键值对
+     * @return 存在的键值对，按传入键的顺序排列
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> bulkLoader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+
+        long now = System.currentTimeMillis();
+        Map<K, Object> found = new HashMap<>();
+        Set<String> hotKeys = new HashSet<>();
+
+        // 1. 从本地各层级获取
+        Map<String, K> localMissed = collectLocal(keys, now, found, hotKeys);
+
+        // 2. 从Redis批量获取
+        Set<K> loadKeys = localMissed.isEmpty()
+                ? new HashSet<>()
+                : acceptRemoteValues(redisStore.getAll(localMissed.keySet()), localMissed, now, found, hotKeys);
+
+        // 3. 只批量加载两级缓存均未命中、且布隆过滤器未确认一定不存在的键，并一次写回
+        loadKeys.removeIf(key -> isDefinitelyAbsent(createCacheKey(key)));
+        Map<K, V> loaded = Map.of();
+        if (!loadKeys.isEmpty()) {
+            long loadStart = System.nanoTime();
+            loaded = bulkLoader.apply(loadKeys);
+            cacheStats.recordLoad("bulk", System.nanoTime() - loadStart);
+            if (loaded != null && !loaded.isEmpty()) {
+                Map<Object, Object> entries = new LinkedHashMap<>();
+                loaded.forEach((key, value) -> {
+                    if (value != null) {
+                        entries.put(key, value);
+                    }
+                });
+                if (!entries.isEmpty()) {
+                    processBatchPut(entries);
+                }
             } else {
-                missedKeys.add(cacheKey);
-                cacheStats.recordMiss("L1");
+                loaded = Map.of();
             }
         }
 
-        if (!missedKeys.isEmpty()) {
-            // 2. 从Redis批量获取未命中的键
-            RMap<Object, Object> map = redissonClient.getMap(name);
-            Map<Object, Object> redisValues = map.getAll(missedKeys);
+        for (K key : keys) {
+            Object stored = found.get(key);
+            Object value = stored != null ? fromStoreValue(CacheEntry.unwrap(stored)) : loaded.get(key);
+            if (value != null && !(value instanceof NullValue)) {
+                result.put(key, (V) value);
+            }
+        }
+        return result;
+    }
 
-            // 3. 处理Redis的结果
-            redisValues.forEach((k, v) -> {
-                result.put(k, v);
-                caffeineCache.put(k, v); // 回填到本地缓存
-                cacheStats.recordHit("L2");
-            });
+    /**
+     * 异步批量获取缓存值，本地缓存未命中的键通过一次异步批量读取从Redis获取
+     * 查找路径与 {@link #getAll(Set)} 一致
+     * @param keys 键集合
+     * @return 键值对映射
+     */
+    public CompletableFuture<Map<Object, Object>> getAllAsync(Set<Object> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return CompletableFuture.completedFuture(new ConcurrentHashMap<>());
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Object, Object> found = new HashMap<>();
+        Set<String> hotKeys = new HashSet<>();
+        Map<String, Object> localMissed = collectLocal(keys, now, found, hotKeys);
+        if (localMissed.isEmpty()) {
+            return CompletableFuture.completedFuture(toValues(found));
+        }
+        return redisStore.getAllAsync(localMissed.keySet()).thenApply(redisValues -> {
+            acceptRemoteValues(redisValues, localMissed, now, found, hotKeys);
+            return toValues(found);
+        });
+    }
 
-            // 记录Redis未命中的键
-            missedKeys.removeAll(redisValues.keySet());
-            missedKeys.forEach(k -> cacheStats.recordMiss("L2"));
+    /**
+     * 逐键从热点保护区、本地缓存、堆外缓存和延迟写入队列获取
+     *
+     * @param found 命中的存储对象，按原始键保存
+     * @param hotKeys 本地未命中的热点缓存键，Redis命中后固定到保护区
+     * @return 本地各层级均未命中的缓存键及其原始键
+     */
+    private <K> Map<String, K> collectLocal(Collection<K> keys, long now, Map<K, Object> found, Set<String> hotKeys) {
+        Map<String, K> localMissed = new LinkedHashMap<>();
+        for (K key : keys) {
+            String cacheKey = createCacheKey(key);
+            if (found.containsKey(key) || localMissed.containsKey(cacheKey)) {
+                continue;
+            }
+            boolean hot = recordAccess(cacheKey);
+            Object stored = lookupLocalTiers(cacheKey, now, hot);
+            if (stored != null) {
+                found.put(key, stored);
+            } else {
+                localMissed.put(cacheKey, key);
+                if (hot) {
+                    hotKeys.add(cacheKey);
+                }
+            }
         }
+        return localMissed;
+    }
 
+    /**
+     * 处理Redis批量读取的结果：可用的条目回填本地缓存，已过期的条目视为未命中
+     *
+     * @return 两级缓存均未命中的原始键
+     */
+    private <K> Set<K> acceptRemoteValues(Map<String, Object> redisValues, Map<String, K> localMissed, long now,
+                                          Map<K, Object> found, Set<String> hotKeys) {
+        Set<K> missed = new LinkedHashSet<>();
+        localMissed.forEach((cacheKey, key) -> {
+            Object stored = acceptRemote(cacheKey, redisValues.get(cacheKey), now, hotKeys.contains(cacheKey));
+            if (stored != null) {
+                found.put(key, stored);
+            } else {
+                missed.add(key);
+            }
+        });
+        return missed;
+    }
+
+    /**
+     * 将命中的存储对象转换为缓存值，缓存的空值视为不存在
+     */
+    private Map<Object, Object> toValues(Map<Object, Object> found) {
+        Map<Object, Object> result = new ConcurrentHashMap<>();
+        found.forEach((key, stored) -> {
+            Object value = fromStoreValue(CacheEntry.unwrap(stored));
+            if (value != null && !(value instanceof NullValue)) {
+                result.put(key, value);
+            }
+        });
         return result;
     }
 
@@ -508,71 +1996,123 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
             return;
         }
 
-        // 获取批量操作配置
-        int batchSize = cacheProperties.getBatch().getMaxSize();
-        long timeout = cacheProperties.getBatch().getTimeout();
-
-        // 分批处理
-        List<Map<Object, Object>> batches = map.entrySet().stream()
-            .collect(Collectors.groupingBy(
-                entry -> Math.floorDiv(map.size(), batchSize),
-                Collectors.toMap(
-                    Map.Entry::getKey,
-                    Map.Entry::getValue
-                )
-            ))
-            .values()
-            .stream()
-            .collect(Collectors.toList());
-
-        for (Map<Object, Object> batch : batches) {
-            try {
-                processBatchPut(batch, timeout);
-            } catch (Exception e) {
-                log.error("Error processing batch put for cache: " + name, e);
-                throw new RuntimeException("Failed to process batch put", e);
+        // 按批量大小分块，每块以一次pipeline写入Redis并发布一条同步事件
+        List<Map<Object, Object>> chunks = new ArrayList<>();
+        int batchSize = Math.max(1, cacheProperties.getBatch().getMaxSize());
+        Map<Object, Object> chunk = new LinkedHashMap<>();
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() >= batchSize) {
+                chunks.add(chunk);
+                chunk = new LinkedHashMap<>();
             }
         }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        processChunks(chunks, this::processBatchPut, "put");
     }
 
     /**
      * 处理批量写入
      */
-    private void processBatchPut(Map<Object, Object> batch, long timeout) {
+    private void processBatchPut(Map<Object, Object> batch) {
+        // 同一批次的条目共享一个版本
+        long version = clock.tick();
+        long now = System.currentTimeMillis();
+
         // 1. 写入Redis
-        RMap<Object, Object> redisMap = redissonClient.getMap(name);
-        long ttl = calculateTtl(cacheProperties.getTimeToLive());
+        Map<String, Object> redisEntries = new HashMap<>();
+        batch.forEach((k, v) -> {
+            if (v != null || cacheProperties.isAllowNullValues()) {
+                Object value = v != null ? v : NullValue.INSTANCE;
+                long entryTtl = resolveTtl(value);
+                redisEntries.put(createCacheKey(k), new CacheEntry(value, version, entryTtl > 0 ? now + entryTtl : 0L));
+            }
+        });
 
-        // 使用pipeline批量写入Redis
-        redisMap.putAll(batch);
-        if (timeout > 0) {
-            redisMap.expire(Duration.ofMillis(timeout));
-        } else if (ttl > 0) {
-            redisMap.expire(Duration.ofMillis(ttl));
+        if (writeBehindQueue != null) {
+            redisEntries.keySet().forEach(writeBehindQueue::discard);
         }
+        writeRemote(redisEntries);
+        long ttl = calculateTtl(getTimeToLive());
 
         // 2. 写入本地缓存
-        batch.forEach((k, v) -> {
-            String cacheKey = createCacheKey(k);
-            if (v == null && !cacheProperties.isAllowNullValues()) {
-                return;
-            }
-            caffeineCache.put(cacheKey, v != null ? v : NullValue.INSTANCE);
+        redisEntries.forEach((cacheKey, entry) -> {
+            caffeineCache.put(cacheKey, entry);
+            updateLocalTiers(cacheKey, entry);
             cacheStats.recordPut("L1");
             cacheStats.recordPut("L2");
         });
 
-        // 3. 发布批量更新事件
-        publishEvent(CacheEvent.createBatchPutEvent(
-            name,
-            batch,
-            nodeId,
-            ttl
-        ));
+        // 3. 发布批量更新事件（INVALIDATE模式下以批量删除通知其他节点失效本地缓存）
+        CacheEvent event;
+        if (isInvalidateMode()) {
+            event = CacheEvent.createBatchRemoveEvent(name, new ArrayList<>(batch.keySet()), nodeId);
+        } else {
+            event = CacheEvent.createBatchPutEvent(
+                name,
+                batch,
+                nodeId,
+                ttl
+            );
+        }
+        event.setVersion(version);
+        publishEvent(event);
 
         log.debug("Batch put completed, cache: {}, size: {}", name, batch.size());
     }
 
+    /**
+     * 将一批条目写入Redis，并登记布隆过滤器和标签
+     * 使用pipeline批量写入，每个条目单独计算TTL
+     */
+    private void writeRemote(Map<String, Object> redisEntries) {
+        redisStore.putAll(redisEntries, this::resolveRedisTtl);
+        if (bloomFilter != null) {
+            bloomFilter.addAll(redisEntries.entrySet().stream()
+                .filter(entry -> !(CacheEntry.unwrap(entry.getValue()) instanceof NullValue))
+                .map(Map.Entry::getKey)
+                .toList());
+        }
+        if (tagResolver != null) {
+            Map<String, Collection<String>> keyTags = new HashMap<>();
+            redisEntries.forEach((cacheKey, entry) -> {
+                Object value = CacheEntry.unwrap(entry);
+                Collection<String> tags = tagResolver.resolveTags(cacheKey, value instanceof NullValue ? null : value);
+                if (tags != null && !tags.isEmpty()) {
+                    keyTags.put(cacheKey, tags);
+                }
+            });
+            long tagTtl = redisEntries.values().stream().mapToLong(this::resolveRedisTtl).max().orElse(0L);
+            redisStore.addTags(keyTags, tagTtl);
+        }
+    }
+
+    /**
+     * 将延迟写入队列中的一批条目写入Redis，写入后为每个条目发布同步事件
+     */
+    private void writeBehind(Map<String, Object> entries) {
+        writeRemote(entries);
+        long now = System.currentTimeMillis();
+        entries.forEach((cacheKey, stored) -> {
+            cacheStats.recordPut("L2");
+            long expireAt = stored instanceof CacheEntry entry ? entry.getExpireAt() : 0L;
+            long ttl = expireAt > 0 ? Math.max(1L, expireAt - now) : 0L;
+            publishPutEvent(cacheKey, CacheEntry.unwrap(stored), ttl, CacheEntry.versionOf(stored));
+        });
+    }
+
+    /**
+     * 停止延迟写入并将剩余条目写入Redis，用于关闭前调用
+     */
+    public void shutdownWriteBehind() {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.shutdown();
+        }
+    }
+
     /**
      * 批量删除缓存
      * @param keys 要删除的键集合
@@ -582,24 +2122,71 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
             return;
         }
 
-        // 获取批量操作配置
-        int batchSize = cacheProperties.getBatch().getMaxSize();
+        // 按批量大小分块，每块以一次HDEL删除Redis中的键并发布一条同步事件
+        List<List<Object>> chunks = new ArrayList<>();
+        int batchSize = Math.max(1, cacheProperties.getBatch().getMaxSize());
+        List<Object> chunk = new ArrayList<>(Math.min(batchSize, keys.size()));
+        for (Object key : keys) {
+            chunk.add(key);
+            if (chunk.size() >= batchSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        processChunks(chunks, this::processBatchEvict, "evict");
+    }
 
-        // 分批处理删除
-        List<List<Object>> batches = keys.stream()
-            .collect(Collectors.groupingBy(
-                key -> Math.floorDiv(keys.size(), batchSize)
-            ))
-            .values()
-            .stream()
-            .collect(Collectors.toList());
+    /**
+     * 处理分块的批量操作
+     * 分块按顺序分配到若干条处理线路，每条线路内的分块依次执行，
+     * 第一条线路在调用线程上执行，其余线路提交到批量线程池，全部完成后返回
+     * @param chunks 分块
+     * @param processor 单个分块的处理
+     * @param operation 操作名称，用于日志
+     */
+    private <T> void processChunks(List<T> chunks, Consumer<T> processor, String operation) {
+        int lanes = Math.min(chunks.size(), Math.max(1, cacheProperties.getBatch().getParallelism()));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(lanes - 1);
+        for (int lane = 1; lane < lanes; lane++) {
+            int start = lane;
+            futures.add(CompletableFuture.runAsync(() -> processLane(chunks, start, lanes, processor, operation),
+                    batchExecutor));
+        }
+
+        RuntimeException failure = null;
+        try {
+            processLane(chunks, 0, lanes, processor, operation);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
 
-        for (List<Object> batch : batches) {
+    /**
+     * 依次处理一条线路上的分块
+     */
+    private <T> void processLane(List<T> chunks, int start, int step, Consumer<T> processor, String operation) {
+        for (int i = start; i < chunks.size(); i += step) {
             try {
-                processBatchEvict(batch);
+                processor.accept(chunks.get(i));
             } catch (Exception e) {
-                log.error("Error processing batch evict for cache: " + name, e);
-                throw new RuntimeException("Failed to process batch evict", e);
+                log.error("Error processing batch " + operation + " for cache: " + name, e);
+                throw new RuntimeException("Failed to process batch " + operation, e);
             }
         }
     }
@@ -608,27 +2195,32 @@ public class MultiLevelCache extends AbstractValueAdaptingCache {
      * 处理批量删除
      */
     private void processBatchEvict(List<Object> keys) {
+        long version = clock.tick();
+
         // 1. 从Redis删除
-        RMap<Object, Object> redisMap = redissonClient.getMap(name);
-        keys.forEach(key -> {
-            String cacheKey = createCacheKey(key);
-            redisMap.remove(cacheKey);
-            cacheStats.recordEviction("L2");
-        });
+        List<String> cacheKeys = keys.stream()
+            .map(this::createCacheKey)
+            .collect(Collectors.toList());
+        if (writeBehindQueue != null) {
+            cacheKeys.forEach(writeBehindQueue::discard);
+        }
+        redisStore.removeAll(cacheKeys);
+        cacheStats.recordEvictions("L2", cacheKeys.size());
 
-        // 2. 从本地缓存删除
-        keys.forEach(key -> {
-            String cacheKey = createCacheKey(key);
-            caffeineCache.invalidate(cacheKey);
-            cacheStats.recordEviction("L1");
-        });
+        // 2. 从本地缓存删除，并记录墓碑
+        cacheKeys.forEach(cacheKey -> tombstones.put(cacheKey, version));
+        caffeineCache.invalidateAll(cacheKeys);
+        invalidateLocalTiers(cacheKeys);
+        cacheStats.recordEvictions("L1", cacheKeys.size());
 
         // 3. 发布批量删除事件
-        publishEvent(CacheEvent.createBatchRemoveEvent(
+        CacheEvent event = CacheEvent.createBatchRemoveEvent(
             name,
             keys,
             nodeId
-        ));
+        );
+        event.setVersion(version);
+        publishEvent(event);
 
         log.debug("Batch evict completed, cache: {}, size: {}", name, keys.size());
     }
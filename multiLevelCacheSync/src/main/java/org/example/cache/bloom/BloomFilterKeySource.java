@@ -0,0 +1,34 @@
+package org.example.cache.bloom;
+
+import java.util.function.Consumer;
+
+/**
+ * 布隆过滤器键来源
+ * 提供数据源中全部已存在的缓存键，用于初始化缓存的存在性过滤器。
+ * 过滤器只对 {@link #covers(String)} 覆盖的键生效，其余键（如查询条件组成的键）不做判断
+ */
+public interface BloomFilterKeySource {
+
+    /**
+     * 是否为指定缓存提供键
+     *
+     * @param cacheName 缓存名称
+     * @return 是否支持
+     */
+    boolean supports(String cacheName);
+
+    /**
+     * 键是否由该来源覆盖
+     *
+     * @param key 缓存键
+     * @return 覆盖的键不在过滤器中时视为一定不存在
+     */
+    boolean covers(String key);
+
+    /**
+     * 遍历数据源中全部已存在的键
+     *
+     * @param consumer 键消费者
+     */
+    void forEachKey(Consumer<String> consumer);
+}
@@ -0,0 +1,296 @@
+package org.example.cache.bloom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 缓存存在性布隆过滤器
+ * 位图保存在Redis的BitSet中，各节点持有一份本地副本并定期合并，本地命中时判断不产生Redis往返。
+ * 本地副本只置位不清位，写入时同步更新本地与Redis，其他节点的写入通过同步事件或定期刷新合并。
+ * 同步事件可能丢失或被跳过，本地副本不一定是最新的，因此本地判定不存在时再以Redis中的共享位图确认，
+ * 只有共享位图也判定不存在才视为一定不存在；在键来源完成初始化之前不拒绝任何键
+ */
+@Slf4j
+public class CacheBloomFilter {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    /**
+     * Redis BitSet的最大位数
+     */
+    private static final long MAX_BIT_SIZE = 1L << 32;
+
+    private final String name;
+    private final RedissonClient redissonClient;
+    private final BloomFilterKeySource keySource;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLongArray localBits;
+    private volatile boolean ready;
+
+    /**
+     * @param cacheName 缓存名称
+     * @param redissonClient Redisson客户端
+     * @param keySource 键来源
+     * @param expectedInsertions 预期元素数量
+     * @param falsePositiveProbability 误判率
+     */
+    public CacheBloomFilter(String cacheName, RedissonClient redissonClient, BloomFilterKeySource keySource,
+                            long expectedInsertions, double falsePositiveProbability) {
+        this.name = "bf:" + cacheName;
+        this.redissonClient = redissonClient;
+        this.keySource = keySource;
+
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveProbability, Double.MIN_VALUE), 0.5);
+        long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.bitSize = Math.min(Math.max(64, bits), MAX_BIT_SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+        this.localBits = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+    }
+
+    /**
+     * 判断键是否可能存在
+     * 本地副本判定不存在时读取共享位图确认，读取失败时按可能存在处理
+     *
+     * @param key 缓存键
+     * @return false表示本地副本和共享位图均判定一定不存在
+     */
+    public boolean mightContain(String key) {
+        if (!ready || !keySource.covers(key)) {
+            return true;
+        }
+        long[] indexes = indexes(key);
+        if (containsLocal(indexes)) {
+            return true;
+        }
+        try {
+            return acceptShared(indexes, readShared(indexes).execute().getResponses());
+        } catch (Exception e) {
+            log.warn("Error reading shared bloom filter: {}, key: {}", name, key, e);
+            return true;
+        }
+    }
+
+    /**
+     * 异步判断键是否可能存在，本地副本判定不存在时异步读取共享位图确认
+     *
+     * @param key 缓存键
+     * @return false表示本地副本和共享位图均判定一定不存在
+     */
+    public CompletableFuture<Boolean> mightContainAsync(String key) {
+        if (!ready || !keySource.covers(key)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        long[] indexes = indexes(key);
+        if (containsLocal(indexes)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return readShared(indexes).executeAsync().toCompletableFuture()
+                .thenApply(result -> acceptShared(indexes, result.getResponses()))
+                .exceptionally(e -> {
+                    log.warn("Error reading shared bloom filter: {}, key: {}", name, key, e);
+                    return true;
+                });
+    }
+
+    private boolean containsLocal(long[] indexes) {
+        for (long index : indexes) {
+            if ((localBits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 通过pipeline读取共享位图中的各个位
+     */
+    private RBatch readShared(long[] indexes) {
+        RBatch batch = redissonClient.createBatch();
+        RBitSetAsync bitSet = batch.getBitSet(name);
+        for (long index : indexes) {
+            bitSet.getAsync(index);
+        }
+        return batch;
+    }
+
+    /**
+     * 共享位图中各位均已置位时合并到本地副本，后续判断不再访问Redis
+     */
+    private boolean acceptShared(long[] indexes, List<?> responses) {
+        for (Object response : responses) {
+            if (!Boolean.TRUE.equals(response)) {
+                return false;
+            }
+        }
+        for (long index : indexes) {
+            setLocal(index);
+        }
+        return true;
+    }
+
+    /**
+     * 登记已存在的键
+     *
+     * @param key 缓存键
+     */
+    public void add(String key) {
+        addAll(List.of(key));
+    }
+
+    /**
+     * 批量登记已存在的键，通过pipeline一次写入Redis
+     *
+     * @param keys 缓存键
+     */
+    public void addAll(Collection<String> keys) {
+        RBatch batch = null;
+        for (String key : keys) {
+            if (!keySource.covers(key)) {
+                continue;
+            }
+            if (batch == null) {
+                batch = redissonClient.createBatch();
+            }
+            RBitSetAsync bitSet = batch.getBitSet(name);
+            for (long index : indexes(key)) {
+                setLocal(index);
+                bitSet.setAsync(index);
+            }
+        }
+        if (batch != null) {
+            batch.execute();
+        }
+    }
+
+    /**
+     * 只在本地副本中登记键，用于应用其他节点的同步事件
+     *
+     * @param key 缓存键
+     */
+    public void addLocal(String key) {
+        if (!keySource.covers(key)) {
+            return;
+        }
+        for (long index : indexes(key)) {
+            setLocal(index);
+        }
+    }
+
+    /**
+     * 从键来源初始化过滤器
+     * 已有其他节点完成初始化时直接加载Redis中的位图
+     */
+    public void seed() {
+        RBucket<String> readyMarker = redissonClient.getBucket(name + ":ready", StringCodec.INSTANCE);
+        if (!readyMarker.isExists()) {
+            RLock lock = redissonClient.getLock(name + ":seed-lock");
+            if (!lock.tryLock()) {
+                log.info("Bloom filter is being seeded by another node: {}", name);
+                return;
+            }
+            try {
+                if (!readyMarker.isExists()) {
+                    long start = System.currentTimeMillis();
+                    List<String> chunk = new ArrayList<>(SEED_BATCH_SIZE);
+                    long[] count = new long[1];
+                    keySource.forEachKey(key -> {
+                        chunk.add(key);
+                        count[0]++;
+                        if (chunk.size() >= SEED_BATCH_SIZE) {
+                            addAll(chunk);
+                            chunk.clear();
+                        }
+                    });
+                    addAll(chunk);
+                    readyMarker.set("1");
+                    log.info("Bloom filter seeded: {}, keys: {}, cost: {}ms",
+                            name, count[0], System.currentTimeMillis() - start);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * 将Redis中的位图合并到本地副本
+     */
+    public void refresh() {
+        try {
+            if (!ready && !redissonClient.getBucket(name + ":ready", StringCodec.INSTANCE).isExists()) {
+                return;
+            }
+            BitSet snapshot = redissonClient.getBitSet(name).asBitSet();
+            long[] words = snapshot.toLongArray();
+            int length = Math.min(words.length, localBits.length());
+            for (int i = 0; i < length; i++) {
+                if (words[i] != 0) {
+                    localBits.accumulateAndGet(i, words[i], (current, remote) -> current | remote);
+                }
+            }
+            ready = true;
+        } catch (Exception e) {
+            log.warn("Error refreshing bloom filter: {}", name, e);
+        }
+    }
+
+    /**
+     * 过滤器是否已初始化
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private void setLocal(long index) {
+        localBits.accumulateAndGet((int) (index >>> 6), 1L << index, (current, bit) -> current | bit);
+    }
+
+    /**
+     * 双重哈希计算位索引，各节点结果一致
+     */
+    private long[] indexes(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h1 ^= b;
+            h1 *= 0x100000001b3L;
+        }
+        long h2 = mix(h1) | 1L;
+
+        long[] indexes = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            indexes[i] = Math.floorMod(h1 + i * h2, bitSize);
+        }
+        return indexes;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,253 @@
+package org.example.cache.collection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.MultiLevelCache;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 分段集合缓存
+ * 将大集合按ID区间拆分为固定大小的段，每段只缓存有序的ID数组，实体本身按ID单独缓存。
+ * 新增、删除实体只失效所在的一个段，修改实体只需更新实体缓存；读取时逐段懒加载并组装结果，
+ * 缺失的段或实体只按段从数据源重新加载，不会整表重载。
+ * 段的变更以失效而非读取-修改-写回的方式完成，多个节点并发修改同一段时不会丢失ID；
+ * 变更应在数据源事务提交后调用，否则并发读取可能在提交前重新加载旧的段
+ *
+ * @param <T> 实体类型
+ */
+@Slf4j
+public class SegmentedCollectionCache<T> {
+
+    /**
+     * 段加载器，按ID区间从数据源加载实体
+     */
+    @FunctionalInterface
+    public interface SegmentLoader<T> {
+
+        /**
+         * 加载ID位于 [fromId, toId) 区间的实体
+         *
+         * @param fromId 起始ID（包含）
+         * @param toId 结束ID（不包含）
+         * @return 实体列表
+         */
+        List<T> load(long fromId, long toId);
+    }
+
+    private final Cache cache;
+    private final String name;
+    private final int segmentSize;
+    private final Class<T> type;
+    private final ToLongFunction<T> idFunction;
+    private final SegmentLoader<T> segmentLoader;
+    private final LongSupplier maxIdLoader;
+
+    /**
+     * @param cache 底层缓存，实体以ID为键缓存在同一缓存中
+     * @param name 集合名称，用作段键前缀
+     * @param segmentSize 每段覆盖的ID数量
+     * @param type 实体类型
+     * @param idFunction 获取实体ID
+     * @param segmentLoader 段加载器
+     * @param maxIdLoader 获取当前最大ID，没有数据时返回小于0的值
+     */
+    public SegmentedCollectionCache(Cache cache, String name, int segmentSize, Class<T> type,
+                                    ToLongFunction<T> idFunction, SegmentLoader<T> segmentLoader,
+                                    LongSupplier maxIdLoader) {
+        this.cache = cache;
+        this.name = name;
+        this.segmentSize = Math.max(1, segmentSize);
+        this.type = type;
+        this.idFunction = idFunction;
+        this.segmentLoader = segmentLoader;
+        this.maxIdLoader = maxIdLoader;
+    }
+
+    /**
+     * 获取集合中的全部实体，按ID升序
+     */
+    public List<T> getAll() {
+        return stream().toList();
+    }
+
+    /**
+     * 按ID升序懒加载集合，只有被消费到的段才会读取缓存或数据源
+     */
+    public Stream<T> stream() {
+        long maxSegment = getMaxSegment();
+        if (maxSegment < 0) {
+            return Stream.empty();
+        }
+        return LongStream.rangeClosed(0, maxSegment)
+                .mapToObj(this::getSegment)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * 获取指定段的实体
+     *
+     * @param segment 段号
+     * @return 按ID升序的实体
+     */
+    public List<T> getSegment(long segment) {
+        long[] ids = cache.get(segmentKey(segment), () -> loadSegment(segment));
+        if (ids == null || ids.length == 0) {
+            return Collections.emptyList();
+        }
+
+        Map<String, T> entities = getEntities(ids);
+        if (entities.size() < ids.length) {
+            // 部分实体已过期或被删除，按段重新加载
+            log.debug("Segment entities missing, reloading, name: {}, segment: {}", name, segment);
+            ids = loadSegment(segment);
+            cache.put(segmentKey(segment), ids);
+            entities = getEntities(ids);
+        }
+
+        List<T> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            T entity = entities.get(String.valueOf(id));
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 实体新增后失效所在段，新段超出已缓存的最大段号时一并失效最大段号
+     *
+     * @param id 实体ID
+     */
+    public void onAdded(long id) {
+        long segment = segmentOf(id);
+        cache.evict(segmentKey(segment));
+
+        Cache.ValueWrapper maxSegment = cache.get(maxSegmentKey());
+        if (maxSegment != null && toLong(maxSegment.get()) < segment) {
+            cache.evict(maxSegmentKey());
+        }
+    }
+
+    /**
+     * 实体删除后失效所在段
+     *
+     * @param id 实体ID
+     */
+    public void onRemoved(long id) {
+        cache.evict(segmentKey(segmentOf(id)));
+    }
+
+    /**
+     * 失效整个集合的段信息，实体缓存保持不变
+     */
+    public void invalidate() {
+        Cache.ValueWrapper maxSegment = cache.get(maxSegmentKey());
+        cache.evict(maxSegmentKey());
+        if (maxSegment == null) {
+            return;
+        }
+        long max = toLong(maxSegment.get());
+        Set<Object> keys = new HashSet<>();
+        for (long segment = 0; segment <= max; segment++) {
+            keys.add(segmentKey(segment));
+        }
+        if (cache instanceof MultiLevelCache multiLevelCache) {
+            multiLevelCache.evictAll(keys);
+        } else {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * 判断缓存键是否属于指定集合的段信息
+     *
+     * @param name 集合名称
+     * @param key 缓存键
+     * @return 是否为段键
+     */
+    public static boolean isSegmentKey(String name, String key) {
+        return key.startsWith(name + ":segment:") || key.equals(name + ":max-segment");
+    }
+
+    private long[] loadSegment(long segment) {
+        long fromId = segment * segmentSize;
+        List<T> entities = segmentLoader.load(fromId, fromId + segmentSize);
+        long[] ids = new long[entities.size()];
+        Map<Object, Object> entries = new HashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+            ids[i] = idFunction.applyAsLong(entity);
+            entries.put(ids[i], entity);
+        }
+        Arrays.sort(ids);
+
+        // 顺带写入实体缓存，避免组装时逐个回源
+        if (cache instanceof MultiLevelCache multiLevelCache) {
+            multiLevelCache.putAll(entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+        log.debug("Loaded segment, name: {}, segment: {}, size: {}", name, segment, ids.length);
+        return ids;
+    }
+
+    private Map<String, T> getEntities(long[] ids) {
+        Map<String, T> entities = new HashMap<>(ids.length * 2);
+        if (cache instanceof MultiLevelCache multiLevelCache) {
+            Set<Object> keys = new HashSet<>(ids.length * 2);
+            for (long id : ids) {
+                keys.add(id);
+            }
+            multiLevelCache.getAll(keys).forEach((key, value) -> {
+                if (type.isInstance(value)) {
+                    entities.put(key.toString(), type.cast(value));
+                }
+            });
+        } else {
+            for (long id : ids) {
+                T entity = cache.get(id, type);
+                if (entity != null) {
+                    entities.put(String.valueOf(id), entity);
+                }
+            }
+        }
+        return entities;
+    }
+
+    private long getMaxSegment() {
+        Object maxSegment = cache.get(maxSegmentKey(), () -> {
+            long maxId = maxIdLoader.getAsLong();
+            return maxId < 0 ? -1L : segmentOf(maxId);
+        });
+        return toLong(maxSegment);
+    }
+
+    private long segmentOf(long id) {
+        return Math.floorDiv(id, segmentSize);
+    }
+
+    private String segmentKey(long segment) {
+        return name + ":segment:" + segment;
+    }
+
+    private String maxSegmentKey() {
+        return name + ":max-segment";
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : -1L;
+    }
+}
@@ -5,8 +5,12 @@ import lombok.Data;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 缓存事件
@@ -17,6 +21,12 @@ import java.util.Map;
 public class CacheEvent implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * 事件ID序列，随机起点避免不同节点的ID冲突
+     */
+    private static final AtomicLong EVENT_ID_SEQUENCE =
+            new AtomicLong(ThreadLocalRandom.current().nextLong() >>> 2);
+
     /**
      * 事件类型
      */
@@ -52,6 +62,11 @@ public class CacheEvent implements Serializable {
      */
     private String eventId;
 
+    /**
+     * 缓存值版本（混合逻辑时钟，可选），接收端据此丢弃乱序到达的旧事件
+     */
+    private Long version;
+
     /**
      * 缓存过期时间（毫秒，可选）
      */
@@ -63,10 +78,15 @@ public class CacheEvent implements Serializable {
     private Map<Object, Object> entries;
 
     /**
-     * 批量删除的键列表（仅在BATCH_REMOVE事件中使用）
+     * 批量删除的键列表（仅在BATCH_REMOVE事件中使用），TAG_EVICT事件中为标签列表
      */
     private List<Object> keys;
 
+    /**
+     * 合并后的事件列表（仅在BATCH事件中使用）
+     */
+    private List<CacheEvent> events;
+
     /**
      * 事件类型枚举
      */
@@ -80,6 +100,11 @@ public class CacheEvent implements Serializable {
          * 删除单个缓存
          */
         REMOVE,
+
+        /**
+         * 缓存已更新，仅通知其他节点失效本地缓存
+         */
+        INVALIDATE,
         
         /**
          * 清空指定缓存名称下的所有缓存
@@ -119,13 +144,30 @@ public class CacheEvent implements Serializable {
         /**
          * 批量删除缓存
          */
-        BATCH_REMOVE
+        BATCH_REMOVE,
+
+        /**
+         * 时间窗口内合并的单缓存事件批次
+         */
+        BATCH,
+
+        /**
+         * 按标签删除缓存，接收端按本地条目解析出的标签判断
+         */
+        TAG_EVICT
     }
 
     /**
      * 创建PUT事件
      */
     public static CacheEvent createPutEvent(String cacheName, Object key, Object value, String sourceNodeId, Long ttl) {
+        return createPutEvent(cacheName, key, value, sourceNodeId, ttl, null);
+    }
+
+    /**
+     * 创建带版本的PUT事件
+     */
+    public static CacheEvent createPutEvent(String cacheName, Object key, Object value, String sourceNodeId, Long ttl, Long version) {
         return CacheEvent.builder()
                 .eventType(EventType.PUT)
                 .cacheName(cacheName)
@@ -135,6 +177,7 @@ public class CacheEvent implements Serializable {
                 .sourceNodeId(sourceNodeId)
                 .eventId(generateEventId())
                 .ttl(ttl)
+                .version(version)
                 .build();
     }
 
@@ -142,6 +185,13 @@ public class CacheEvent implements Serializable {
      * 创建REMOVE事件
      */
     public static CacheEvent createRemoveEvent(String cacheName, Object key, String sourceNodeId) {
+        return createRemoveEvent(cacheName, key, sourceNodeId, null);
+    }
+
+    /**
+     * 创建带版本的REMOVE事件
+     */
+    public static CacheEvent createRemoveEvent(String cacheName, Object key, String sourceNodeId, Long version) {
         return CacheEvent.builder()
                 .eventType(EventType.REMOVE)
                 .cacheName(cacheName)
@@ -149,6 +199,22 @@ public class CacheEvent implements Serializable {
                 .timestamp(LocalDateTime.now())
                 .sourceNodeId(sourceNodeId)
                 .eventId(generateEventId())
+                .version(version)
+                .build();
+    }
+
+    /**
+     * 创建INVALIDATE事件
+     */
+    public static CacheEvent createInvalidateEvent(String cacheName, Object key, Long version, String sourceNodeId) {
+        return CacheEvent.builder()
+                .eventType(EventType.INVALIDATE)
+                .cacheName(cacheName)
+                .key(key)
+                .version(version)
+                .timestamp(LocalDateTime.now())
+                .sourceNodeId(sourceNodeId)
+                .eventId(generateEventId())
                 .build();
     }
 
@@ -196,12 +262,10 @@ public class CacheEvent implements Serializable {
 
     /**
      * 生成事件ID
-     * 使用时间戳和随机数组合生成唯一ID
+     * 使用随机起点的递增序列生成数字ID，便于同步消息以long编码传输
      */
     private static String generateEventId() {
-        return System.currentTimeMillis() + "-" + 
-               Math.abs(System.nanoTime()) + "-" + 
-               Thread.currentThread().getId();
+        return Long.toString(EVENT_ID_SEQUENCE.incrementAndGet());
     }
 
     /**
@@ -243,4 +307,42 @@ public class CacheEvent implements Serializable {
                 .eventId(generateEventId())
                 .build();
     }
+
+    /**
+     * 创建按标签删除事件
+     *
+     * @param cacheName 缓存名称
+     * @param tags 标签列表
+     * @param sourceNodeId 源节点ID
+     * @return 缓存事件
+     */
+    public static CacheEvent createTagEvictEvent(String cacheName, Collection<String> tags, String sourceNodeId) {
+        return CacheEvent.builder()
+                .eventType(EventType.TAG_EVICT)
+                .cacheName(cacheName)
+                .keys(new ArrayList<>(tags))
+                .timestamp(LocalDateTime.now())
+                .sourceNodeId(sourceNodeId)
+                .eventId(generateEventId())
+                .build();
+    }
+
+    /**
+     * 创建合并批次事件
+     *
+     * @param cacheName 缓存名称
+     * @param events 合并后的事件列表（每个键只保留最后一次操作）
+     * @param sourceNodeId 源节点ID
+     * @return 缓存事件
+     */
+    public static CacheEvent createBatchEvent(String cacheName, List<CacheEvent> events, String sourceNodeId) {
+        return CacheEvent.builder()
+                .eventType(EventType.BATCH)
+                .cacheName(cacheName)
+                .events(events)
+                .timestamp(LocalDateTime.now())
+                .sourceNodeId(sourceNodeId)
+                .eventId(generateEventId())
+                .build();
+    }
 }
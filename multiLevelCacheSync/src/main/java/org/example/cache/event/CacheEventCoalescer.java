@@ -0,0 +1,224 @@
+package org.example.cache.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.CacheProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 缓存同步事件合并器
+ * 按缓存名称在时间窗口内缓冲出站事件，同一键的多次操作只保留效力最强的一次，
+ * 窗口到期或达到批量大小时以一条BATCH消息发布
+ */
+@Slf4j
+public class CacheEventCoalescer {
+
+    private final CacheProperties.SyncProperties syncProperties;
+    private final Consumer<CacheEvent> publisher;
+    private final String nodeId;
+    private final Map<String, EventBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    public CacheEventCoalescer(CacheProperties.SyncProperties syncProperties,
+                               Consumer<CacheEvent> publisher,
+                               String nodeId) {
+        this.syncProperties = syncProperties;
+        this.publisher = publisher;
+        this.nodeId = nodeId;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-event-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 提交待发布的缓存事件
+     * @param event 缓存事件
+     */
+    public void submit(CacheEvent event) {
+        if (syncProperties.getWindowMillis() <= 0 || event.getCacheName() == null) {
+            publisher.accept(event);
+            return;
+        }
+
+        EventBuffer buffer = buffers.computeIfAbsent(event.getCacheName(), EventBuffer::new);
+        switch (event.getEventType()) {
+            case PUT, REMOVE, INVALIDATE, EXPIRE -> buffer.add(event);
+            case BATCH_PUT -> event.getEntries().forEach((key, value) -> buffer.add(CacheEvent.createPutEvent(
+                    event.getCacheName(), key.toString(), value, event.getSourceNodeId(), event.getTtl(), event.getVersion())));
+            case BATCH_REMOVE -> event.getKeys().forEach(key -> buffer.add(CacheEvent.createRemoveEvent(
+                    event.getCacheName(), key.toString(), event.getSourceNodeId(), event.getVersion())));
+            case CLEAR -> buffer.discardAndPublish(event);
+            default -> buffer.flushAndPublish(event);
+        }
+
+        // 所有缓存的待发布事件超过队列容量时，立即发布全部缓冲
+        if (pendingCount.get() >= syncProperties.getQueueCapacity()) {
+            flushAll();
+        }
+    }
+
+    /**
+     * 立即发布所有缓冲中的事件
+     */
+    public void flushAll() {
+        buffers.values().forEach(EventBuffer::flush);
+    }
+
+    /**
+     * 发布剩余事件并停止定时任务
+     */
+    public void shutdown() {
+        flushAll();
+        scheduler.shutdown();
+    }
+
+    /**
+     * 获取当前待发布事件数
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 单个缓存的事件缓冲区
+     * 缓冲区的读写在缓冲区锁内完成，发布在锁外进行，避免发布阻塞时拖住提交事件的业务线程；
+     * 发布锁保证同一缓存的批次按提交顺序到达
+     */
+    private class EventBuffer {
+        private final String cacheName;
+        private final Object publishLock = new Object();
+        private LinkedHashMap<Object, CacheEvent> events = new LinkedHashMap<>();
+        private ScheduledFuture<?> flushTask;
+
+        EventBuffer(String cacheName) {
+            this.cacheName = cacheName;
+        }
+
+        void add(CacheEvent event) {
+            boolean full;
+            synchronized (this) {
+                if (!merge(event)) {
+                    return;
+                }
+                full = events.size() >= syncProperties.getBatchSize();
+                if (!full && flushTask == null) {
+                    flushTask = scheduler.schedule(this::flush, syncProperties.getWindowMillis(), TimeUnit.MILLISECONDS);
+                }
+            }
+            if (full) {
+                flush();
+            }
+        }
+
+        /**
+         * 合并同一键的事件，保留效力最强的操作：
+         * 删除和失效不会被之后的过期时间更新覆盖，版本更低的事件不会覆盖尚未发布的事件
+         *
+         * @return 缓冲区是否发生变化
+         */
+        private boolean merge(CacheEvent event) {
+            Object key = event.getKey();
+            CacheEvent previous = events.get(key);
+            if (previous != null) {
+                if (event.getEventType() == CacheEvent.EventType.EXPIRE) {
+                    switch (previous.getEventType()) {
+                        // 过期时间更新不覆盖尚未发布的写入，只更新其TTL
+                        case PUT, INVALIDATE -> {
+                            previous.setTtl(event.getTtl());
+                            return false;
+                        }
+                        // 已删除的键无需再更新过期时间
+                        case REMOVE -> {
+                            return false;
+                        }
+                        default -> {
+                        }
+                    }
+                } else if (isOlder(event, previous)) {
+                    return false;
+                }
+            }
+
+            // 重新插入以保持最后一次操作的顺序
+            if (events.remove(key) == null) {
+                pendingCount.incrementAndGet();
+            }
+            events.put(key, event);
+            return true;
+        }
+
+        private boolean isOlder(CacheEvent event, CacheEvent previous) {
+            return event.getVersion() != null && previous.getVersion() != null
+                    && event.getVersion() < previous.getVersion();
+        }
+
+        void flush() {
+            synchronized (publishLock) {
+                List<CacheEvent> batch = drain();
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    if (batch.size() == 1) {
+                        publisher.accept(batch.get(0));
+                    } else {
+                        publisher.accept(CacheEvent.createBatchEvent(cacheName, batch, nodeId));
+                    }
+                    log.debug("Flushed coalesced cache events, cache: {}, size: {}", cacheName, batch.size());
+                } catch (Exception e) {
+                    log.error("Error publishing coalesced cache events for cache: " + cacheName, e);
+                }
+            }
+        }
+
+        /**
+         * 取出缓冲中的全部事件并换上新的缓冲区
+         */
+        private synchronized List<CacheEvent> drain() {
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+            if (events.isEmpty()) {
+                return List.of();
+            }
+            List<CacheEvent> batch = new ArrayList<>(events.values());
+            events = new LinkedHashMap<>();
+            pendingCount.addAndGet(-batch.size());
+            return batch;
+        }
+
+        /**
+         * 先发布缓冲事件再发布当前事件，用于模式删除等作用于整个缓存的事件
+         */
+        void flushAndPublish(CacheEvent event) {
+            synchronized (publishLock) {
+                flush();
+                publisher.accept(event);
+            }
+        }
+
+        /**
+         * 丢弃缓冲事件后发布当前事件，清空事件会覆盖之前所有操作
+         */
+        void discardAndPublish(CacheEvent event) {
+            synchronized (publishLock) {
+                drain();
+                publisher.accept(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package org.example.cache.event;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 缓存同步事件的紧凑二进制编码器
+ * <p>
+ * 格式：魔数(2) + 版本(1) + 事件体。事件体由事件类型、字段标志位和按需写入的字段组成，
+ * 整数均使用varint编码，节点ID以64位哈希传输，事件ID为数字时以long传输，
+ * 缓存值使用Redisson全局编码器编码后按字节写入。
+ * <p>
+ * 字典中的缓存名称以名称的32位哈希传输，字典外的名称按字符串传输（不带FLAG_NAME_ID标志）。
+ * 哈希只是编码优化，各节点的字典可以不同：接收端字典中没有的哈希按本节点已有的缓存名称和
+ * 收到过的字符串名称重新计算解析；仍无法解析时说明本节点没有该缓存，事件照常解码，缓存名称为null。
+ * BATCH事件的缓存名称、事件ID、节点ID和时间戳只在批次头部写入一次，子事件继承批次的取值。
+ * <p>
+ * 非CacheEvent对象以及不带魔数的消息交给全局编码器处理，以兼容共用主题的其他发布者。
+ */
+@Slf4j
+public class CacheEventCodec extends BaseCodec {
+
+    private static final int MAGIC = 0xCE5E;
+    private static final int VERSION = 2;
+    private static final int MAX_INTERNED_NAMES = 1024;
+
+    private static final int FLAG_KEY = 1;
+    private static final int FLAG_VALUE = 1 << 1;
+    private static final int FLAG_TTL = 1 << 2;
+    private static final int FLAG_ENTRIES = 1 << 3;
+    private static final int FLAG_KEYS = 1 << 4;
+    private static final int FLAG_EVENTS = 1 << 5;
+    private static final int FLAG_TIMESTAMP = 1 << 6;
+    private static final int FLAG_NUMERIC_EVENT_ID = 1 << 7;
+    private static final int FLAG_STRING_EVENT_ID = 1 << 8;
+    private static final int FLAG_NODE_ID = 1 << 9;
+    private static final int FLAG_VERSION = 1 << 10;
+    private static final int FLAG_NAME_ID = 1 << 11;
+
+    // 批次子事件不写入的头部字段
+    private static final int HEADER_FLAGS = FLAG_TIMESTAMP | FLAG_NUMERIC_EVENT_ID | FLAG_STRING_EVENT_ID
+            | FLAG_NODE_ID | FLAG_NAME_ID;
+
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_LONG = 2;
+    private static final int TYPE_INTEGER = 3;
+    private static final int TYPE_OBJECT = 4;
+
+    private static final CacheEvent.EventType[] EVENT_TYPES = CacheEvent.EventType.values();
+
+    private final Codec valueCodec;
+    private final String localNodeId;
+    private final long localNodeHash;
+    private final Map<String, String> internedNames = new ConcurrentHashMap<>();
+    private final Map<Long, String> nodeNames = new ConcurrentHashMap<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final Map<Integer, String> namesById = new HashMap<>();
+    private final Map<Integer, String> learnedNames = new ConcurrentHashMap<>();
+    private final Supplier<Collection<String>> localCacheNames;
+
+    private final Encoder encoder = this::encodeObject;
+    private final Decoder<Object> decoder = this::decodeObject;
+
+    /**
+     * @param valueCodec 缓存值编码器（通常为Redisson全局编码器）
+     * @param localNodeId 当前节点ID，用于将节点哈希还原为节点ID
+     */
+    public CacheEventCodec(Codec valueCodec, String localNodeId) {
+        this(valueCodec, localNodeId, Set.of());
+    }
+
+    /**
+     * @param valueCodec 缓存值编码器（通常为Redisson全局编码器）
+     * @param localNodeId 当前节点ID，用于将节点哈希还原为节点ID
+     * @param cacheNames 按字典编码的缓存名称，哈希冲突的名称按字符串传输
+     */
+    public CacheEventCodec(Codec valueCodec, String localNodeId, Collection<String> cacheNames) {
+        this(valueCodec, localNodeId, cacheNames, Set::of);
+    }
+
+    /**
+     * @param valueCodec 缓存值编码器（通常为Redisson全局编码器）
+     * @param localNodeId 当前节点ID，用于将节点哈希还原为节点ID
+     * @param cacheNames 按字典编码的缓存名称，哈希冲突的名称按字符串传输
+     * @param localCacheNames 本节点已有的缓存名称，用于解析字典外的名称哈希
+     */
+    public CacheEventCodec(Codec valueCodec, String localNodeId, Collection<String> cacheNames,
+                           Supplier<Collection<String>> localCacheNames) {
+        this.valueCodec = valueCodec;
+        this.localCacheNames = localCacheNames;
+        this.localNodeId = localNodeId;
+        this.localNodeHash = hashNodeId(localNodeId);
+        this.nodeNames.put(localNodeHash, localNodeId);
+
+        Set<Integer> collisions = new HashSet<>();
+        for (String cacheName : new HashSet<>(cacheNames)) {
+            int id = hashCacheName(cacheName);
+            if (namesById.putIfAbsent(id, cacheName) != null) {
+                collisions.add(id);
+            }
+        }
+        collisions.forEach(namesById::remove);
+        namesById.forEach((id, cacheName) -> nameIds.put(cacheName, id));
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return valueCodec.getClassLoader();
+    }
+
+    private ByteBuf encodeObject(Object in) throws IOException {
+        if (!(in instanceof CacheEvent event)) {
+            return valueCodec.getValueEncoder().encode(in);
+        }
+
+        ByteBuf out = ByteBufAllocator.DEFAULT.buffer();
+        try {
+            out.writeShort(MAGIC);
+            out.writeByte(VERSION);
+            writeEvent(out, event, false);
+            return out;
+        } catch (Exception e) {
+            out.release();
+            throw new IOException("Failed to encode cache event", e);
+        }
+    }
+
+    private Object decodeObject(ByteBuf buf, State state) throws IOException {
+        int start = buf.readerIndex();
+        if (buf.readableBytes() < 3
+                || buf.getUnsignedShort(start) != MAGIC
+                || buf.getUnsignedByte(start + 2) != VERSION) {
+            return valueCodec.getValueDecoder().decode(buf, state);
+        }
+
+        buf.skipBytes(3);
+        return readEvent(buf, state, null);
+    }
+
+    /**
+     * @param nested 是否为批次子事件，子事件不写入缓存名称等头部字段
+     */
+    private void writeEvent(ByteBuf out, CacheEvent event, boolean nested) throws IOException {
+        Long numericEventId = parseEventId(event.getEventId());
+        Integer nameId = event.getCacheName() != null ? nameIds.get(event.getCacheName()) : null;
+
+        int flags = 0;
+        if (event.getKey() != null) flags |= FLAG_KEY;
+        if (event.getValue() != null) flags |= FLAG_VALUE;
+        if (event.getTtl() != null) flags |= FLAG_TTL;
+        if (event.getEntries() != null) flags |= FLAG_ENTRIES;
+        if (event.getKeys() != null) flags |= FLAG_KEYS;
+        if (event.getEvents() != null) flags |= FLAG_EVENTS;
+        if (event.getTimestamp() != null) flags |= FLAG_TIMESTAMP;
+        if (numericEventId != null) {
+            flags |= FLAG_NUMERIC_EVENT_ID;
+        } else if (event.getEventId() != null) {
+            flags |= FLAG_STRING_EVENT_ID;
+        }
+        if (event.getSourceNodeId() != null) flags |= FLAG_NODE_ID;
+        if (event.getVersion() != null) flags |= FLAG_VERSION;
+        if (nameId != null) flags |= FLAG_NAME_ID;
+        if (nested) {
+            flags &= ~HEADER_FLAGS;
+        }
+
+        writeVarInt(out, event.getEventType().ordinal());
+        writeVarInt(out, flags);
+        if (!nested) {
+            writeHeader(out, event, flags, numericEventId, nameId);
+        }
+        writeBody(out, event);
+    }
+
+    private void writeHeader(ByteBuf out, CacheEvent event, int flags, Long numericEventId, Integer nameId) {
+        if ((flags & FLAG_NAME_ID) != 0) {
+            out.writeInt(nameId);
+        } else {
+            writeString(out, event.getCacheName());
+        }
+        if ((flags & FLAG_NUMERIC_EVENT_ID) != 0) {
+            writeVarLong(out, numericEventId);
+        } else if ((flags & FLAG_STRING_EVENT_ID) != 0) {
+            writeString(out, event.getEventId());
+        }
+        if ((flags & FLAG_NODE_ID) != 0) {
+            out.writeLong(event.getSourceNodeId().equals(localNodeId) ? localNodeHash : hashNodeId(event.getSourceNodeId()));
+        }
+        if ((flags & FLAG_TIMESTAMP) != 0) {
+            writeVarLong(out, event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    private void writeBody(ByteBuf out, CacheEvent event) throws IOException {
+        if (event.getTtl() != null) {
+            writeVarLong(out, zigZag(event.getTtl()));
+        }
+        if (event.getVersion() != null) {
+            writeVarLong(out, zigZag(event.getVersion()));
+        }
+        if (event.getKey() != null) {
+            writeTypedObject(out, event.getKey());
+        }
+        if (event.getValue() != null) {
+            writeTypedObject(out, event.getValue());
+        }
+        if (event.getEntries() != null) {
+            writeVarInt(out, event.getEntries().size());
+            for (Map.Entry<Object, Object> entry : event.getEntries().entrySet()) {
+                writeTypedObject(out, entry.getKey());
+                writeTypedObject(out, entry.getValue());
+            }
+        }
+        if (event.getKeys() != null) {
+            writeVarInt(out, event.getKeys().size());
+            for (Object key : event.getKeys()) {
+                writeTypedObject(out, key);
+            }
+        }
+        if (event.getEvents() != null) {
+            writeVarInt(out, event.getEvents().size());
+            for (CacheEvent nested : event.getEvents()) {
+                writeEvent(out, nested, true);
+            }
+        }
+    }
+
+    /**
+     * @param batch 子事件所属的批次，不为null时缓存名称、节点ID和时间戳取自批次
+     */
+    private CacheEvent readEvent(ByteBuf buf, State state, CacheEvent batch) throws IOException {
+        int typeOrdinal = readVarInt(buf);
+        if (typeOrdinal >= EVENT_TYPES.length) {
+            throw new IOException("Unknown cache event type: " + typeOrdinal);
+        }
+        int flags = readVarInt(buf);
+
+        CacheEvent.CacheEventBuilder builder = CacheEvent.builder()
+                .eventType(EVENT_TYPES[typeOrdinal]);
+        if (batch != null) {
+            builder.cacheName(batch.getCacheName())
+                    .sourceNodeId(batch.getSourceNodeId())
+                    .timestamp(batch.getTimestamp());
+        } else {
+            readHeader(buf, builder, flags);
+        }
+        readBody(buf, state, builder, flags);
+        return builder.build();
+    }
+
+    private void readHeader(ByteBuf buf, CacheEvent.CacheEventBuilder builder, int flags) throws IOException {
+        if ((flags & FLAG_NAME_ID) != 0) {
+            builder.cacheName(resolveCacheName(buf.readInt()));
+        } else {
+            builder.cacheName(learn(intern(readString(buf))));
+        }
+        if ((flags & FLAG_NUMERIC_EVENT_ID) != 0) {
+            builder.eventId(Long.toString(readVarLong(buf)));
+        } else if ((flags & FLAG_STRING_EVENT_ID) != 0) {
+            builder.eventId(readString(buf));
+        }
+        if ((flags & FLAG_NODE_ID) != 0) {
+            builder.sourceNodeId(resolveNodeId(buf.readLong()));
+        }
+        if ((flags & FLAG_TIMESTAMP) != 0) {
+            builder.timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(readVarLong(buf)), ZoneId.systemDefault()));
+        }
+    }
+
+    private void readBody(ByteBuf buf, State state, CacheEvent.CacheEventBuilder builder, int flags) throws IOException {
+        if ((flags & FLAG_TTL) != 0) {
+            builder.ttl(unZigZag(readVarLong(buf)));
+        }
+        if ((flags & FLAG_VERSION) != 0) {
+            builder.version(unZigZag(readVarLong(buf)));
+        }
+        if ((flags & FLAG_KEY) != 0) {
+            builder.key(readTypedObject(buf, state));
+        }
+        if ((flags & FLAG_VALUE) != 0) {
+            builder.value(readTypedObject(buf, state));
+        }
+        if ((flags & FLAG_ENTRIES) != 0) {
+            int size = readVarInt(buf);
+            Map<Object, Object> entries = new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+            for (int i = 0; i < size; i++) {
+                entries.put(readTypedObject(buf, state), readTypedObject(buf, state));
+            }
+            builder.entries(entries);
+        }
+        if ((flags & FLAG_KEYS) != 0) {
+            int size = readVarInt(buf);
+            List<Object> keys = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                keys.add(readTypedObject(buf, state));
+            }
+            builder.keys(keys);
+        }
+        if ((flags & FLAG_EVENTS) != 0) {
+            int size = readVarInt(buf);
+            // 先构建批次头部供子事件继承
+            CacheEvent batch = builder.build();
+            List<CacheEvent> events = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                events.add(readEvent(buf, state, batch));
+            }
+            builder.events(events);
+        }
+    }
+
+    private void writeTypedObject(ByteBuf out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, s);
+        } else if (value instanceof Long l) {
+            out.writeByte(TYPE_LONG);
+            writeVarLong(out, zigZag(l));
+        } else if (value instanceof Integer i) {
+            out.writeByte(TYPE_INTEGER);
+            writeVarLong(out, zigZag(i));
+        } else {
+            out.writeByte(TYPE_OBJECT);
+            ByteBuf encoded = valueCodec.getValueEncoder().encode(value);
+            try {
+                writeVarInt(out, encoded.readableBytes());
+                out.writeBytes(encoded);
+            } finally {
+                encoded.release();
+            }
+        }
+    }
+
+    private Object readTypedObject(ByteBuf buf, State state) throws IOException {
+        int type = buf.readUnsignedByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_STRING -> readString(buf);
+            case TYPE_LONG -> unZigZag(readVarLong(buf));
+            case TYPE_INTEGER -> (int) unZigZag(readVarLong(buf));
+            case TYPE_OBJECT -> {
+                int length = readVarInt(buf);
+                ByteBuf slice = buf.readSlice(length);
+                yield valueCodec.getValueDecoder().decode(slice, state);
+            }
+            default -> throw new IOException("Unknown value type: " + type);
+        };
+    }
+
+    private String resolveNodeId(long nodeHash) {
+        String nodeId = nodeNames.get(nodeHash);
+        if (nodeId != null) {
+            return nodeId;
+        }
+        if (nodeNames.size() >= MAX_INTERNED_NAMES) {
+            return "node-" + Long.toHexString(nodeHash);
+        }
+        return nodeNames.computeIfAbsent(nodeHash, h -> "node-" + Long.toHexString(h));
+    }
+
+    /**
+     * 解析缓存名称哈希：依次查找字典、已解析过的名称和本节点已有的缓存名称
+     * @return 缓存名称，本节点没有对应缓存时返回null
+     */
+    private String resolveCacheName(int nameId) {
+        String cacheName = namesById.get(nameId);
+        if (cacheName == null) {
+            cacheName = learnedNames.get(nameId);
+        }
+        if (cacheName == null) {
+            for (String localName : localCacheNames.get()) {
+                if (hashCacheName(localName) == nameId) {
+                    cacheName = learn(localName);
+                    break;
+                }
+            }
+        }
+        if (cacheName == null) {
+            log.debug("Unresolved cache name id: {}", Integer.toHexString(nameId));
+        }
+        return cacheName;
+    }
+
+    /**
+     * 记录缓存名称的哈希，供之后按哈希传输的事件解析
+     */
+    private String learn(String cacheName) {
+        if (cacheName != null && learnedNames.size() < MAX_INTERNED_NAMES) {
+            learnedNames.putIfAbsent(hashCacheName(cacheName), cacheName);
+        }
+        return cacheName;
+    }
+
+    private String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        String interned = internedNames.get(name);
+        if (interned != null) {
+            return interned;
+        }
+        if (internedNames.size() >= MAX_INTERNED_NAMES) {
+            return name;
+        }
+        interned = internedNames.putIfAbsent(name, name);
+        return interned != null ? interned : name;
+    }
+
+    private static Long parseEventId(String eventId) {
+        if (eventId == null || eventId.isEmpty() || eventId.length() > 19) {
+            return null;
+        }
+        for (int i = 0; i < eventId.length(); i++) {
+            if (!Character.isDigit(eventId.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            long id = Long.parseLong(eventId);
+            // 仅在往返一致时使用数字编码（排除前导零）
+            return Long.toString(id).equals(eventId) ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 计算缓存名称的32位FNV-1a哈希
+     */
+    static int hashCacheName(String cacheName) {
+        int hash = 0x811c9dc5;
+        for (byte b : cacheName.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    /**
+     * 计算节点ID的64位FNV-1a哈希
+     */
+    static long hashNodeId(String nodeId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : nodeId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static void writeString(ByteBuf out, String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuf buf) throws IOException {
+        int length = readVarInt(buf);
+        if (length == 0) {
+            return null;
+        }
+        String value = buf.toString(buf.readerIndex(), length - 1, StandardCharsets.UTF_8);
+        buf.skipBytes(length - 1);
+        return value;
+    }
+
+    private static void writeVarInt(ByteBuf out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(ByteBuf buf) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buf.readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeVarLong(ByteBuf out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(ByteBuf buf) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varlong");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.cache.hotkey;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 热点键探测器
+ * 使用Count-Min Sketch估算键的访问频率，并维护频率最高的前K个键。
+ * 计数器只在本地内存中累加，不加锁也不产生Redis往返，并发下少量丢失的计数不影响热点判断；
+ * 累计访问次数达到采样窗口后所有计数减半，使频率反映最近的访问
+ */
+public class HotKeyDetector {
+
+    private static final int DEPTH = 4;
+
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0xd6e8feb86659fd93L
+    };
+
+    private final int topK;
+    private final long minFrequency;
+    private final int sampleSize;
+    private final int[][] counters;
+    private final int mask;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    // 当前热点键及其估算频率
+    private final Map<String, Long> hotKeys = new ConcurrentHashMap<>();
+
+    // 热点集合中的最小频率，用于快速拒绝非热点键
+    private volatile long minHotFrequency;
+
+    /**
+     * @param topK 保留的热点键数量
+     * @param minFrequency 成为热点的最小估算频率
+     * @param sampleSize 采样窗口，累计访问达到该次数后计数减半
+     */
+    public HotKeyDetector(int topK, long minFrequency, int sampleSize) {
+        this.topK = Math.max(1, topK);
+        this.minFrequency = Math.max(1, minFrequency);
+        this.sampleSize = Math.max(1024, sampleSize);
+        int width = Integer.highestOneBit(Math.max(64, this.sampleSize / 8) - 1) << 1;
+        this.counters = new int[DEPTH][width];
+        this.mask = width - 1;
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @param key 缓存键
+     * @return 记录后该键是否为热点
+     */
+    public boolean record(String key) {
+        long hash = hash(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            int[] row = counters[i];
+            int index = index(hash, i);
+            int count = row[index];
+            if (count < Integer.MAX_VALUE) {
+                row[index] = ++count;
+            }
+            estimate = Math.min(estimate, count);
+        }
+        if (additions.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+        return offer(key, estimate);
+    }
+
+    /**
+     * 键当前是否为热点
+     *
+     * @param key 缓存键
+     */
+    public boolean isHot(String key) {
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 获取当前热点键
+     *
+     * @return 按估算频率从高到低排列的热点键及频率
+     */
+    public Map<String, Long> getHotKeys() {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        hotKeys.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * 估算键的访问频率
+     *
+     * @param key 缓存键
+     */
+    public long estimate(String key) {
+        long hash = hash(key);
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            estimate = Math.min(estimate, counters[i][index(hash, i)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 用最新估算频率更新热点集合
+     */
+    private boolean offer(String key, long estimate) {
+        if (hotKeys.computeIfPresent(key, (k, current) -> estimate) != null) {
+            return true;
+        }
+        if (estimate < minFrequency || (hotKeys.size() >= topK && estimate <= minHotFrequency)) {
+            return false;
+        }
+        synchronized (hotKeys) {
+            if (hotKeys.size() >= topK) {
+                Map.Entry<String, Long> coldest = null;
+                for (Map.Entry<String, Long> entry : hotKeys.entrySet()) {
+                    if (coldest == null || entry.getValue() < coldest.getValue()) {
+                        coldest = entry;
+                    }
+                }
+                if (coldest != null) {
+                    if (coldest.getValue() >= estimate) {
+                        minHotFrequency = coldest.getValue();
+                        return false;
+                    }
+                    hotKeys.remove(coldest.getKey());
+                }
+            }
+            hotKeys.put(key, estimate);
+            minHotFrequency = hotKeys.size() >= topK
+                    ? hotKeys.values().stream().mapToLong(Long::longValue).min().orElse(0L)
+                    : 0L;
+        }
+        return true;
+    }
+
+    /**
+     * 计数减半，频率低于阈值的热点键随之移出
+     */
+    private void reset() {
+        int current = additions.get();
+        if (current < sampleSize || !additions.compareAndSet(current, 0)) {
+            return;
+        }
+        for (int[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        synchronized (hotKeys) {
+            hotKeys.replaceAll((key, frequency) -> frequency >>> 1);
+            hotKeys.values().removeIf(frequency -> frequency < minFrequency);
+            minHotFrequency = 0L;
+        }
+    }
+
+    private int index(long hash, int row) {
+        long h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * 基于String缓存的hashCode扩散，访问路径上不产生额外分配
+     */
+    private static long hash(String key) {
+        long h = key.hashCode() * 0x9e3779b97f4a7c15L;
+        return h ^ (h >>> 29);
+    }
+}
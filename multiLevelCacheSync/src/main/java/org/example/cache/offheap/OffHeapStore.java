@@ -0,0 +1,289 @@
+package org.example.cache.offheap;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.version.CacheEntry;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * 堆外缓存存储（L1.5）
+ * 条目序列化后保存在一块预先分配的直接内存中，内存按固定大小的块划分，
+ * 每个条目占用若干个不要求连续的块，容量不足时按最近最少访问顺序淘汰。
+ * 索引和空闲块列表保存在堆内，所有操作在同一把锁内完成；
+ * 序列化和反序列化在锁外进行，锁内只做内存拷贝
+ */
+@Slf4j
+public class OffHeapStore {
+
+    private final String name;
+    private final Codec codec;
+    private final ByteBuffer memory;
+    private final int blockSize;
+    private final int blockCount;
+
+    // 空闲块栈
+    private final int[] freeBlocks;
+    private int freeCount;
+
+    // 按访问顺序排列的索引，最久未访问的条目在前
+    private final LinkedHashMap<Object, Slot> index = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * 条目在堆外内存中的位置
+     *
+     * @param blocks 占用的块
+     * @param length 序列化字节数
+     * @param version 条目版本
+     */
+    private record Slot(int[] blocks, int length, long version) {
+    }
+
+    /**
+     * @param name 缓存名称
+     * @param codec 值编码器，通常与L2使用的编码器一致
+     * @param capacityBytes 堆外内存容量（字节）
+     * @param blockSize 块大小（字节）
+     */
+    public OffHeapStore(String name, Codec codec, long capacityBytes, int blockSize) {
+        this.name = name;
+        this.codec = codec;
+        this.blockSize = Math.max(64, blockSize);
+        this.blockCount = (int) Math.max(1, Math.min(capacityBytes, Integer.MAX_VALUE) / this.blockSize);
+        this.memory = ByteBuffer.allocateDirect(blockCount * this.blockSize);
+        this.freeBlocks = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            freeBlocks[i] = blockCount - 1 - i;
+        }
+        this.freeCount = blockCount;
+    }
+
+    /**
+     * 写入条目，已有更高版本的条目时不覆盖
+     *
+     * @param key 缓存键
+     * @param stored 本地缓存中保存的对象
+     * @return 是否写入
+     */
+    public boolean put(Object key, Object stored) {
+        byte[] bytes = serialize(key, stored);
+        if (bytes == null) {
+            return false;
+        }
+        int needed = Math.max(1, (bytes.length + blockSize - 1) / blockSize);
+        // 单个条目不超过总容量的四分之一，避免一次写入淘汰大部分条目
+        if (needed > Math.max(1, blockCount / 4)) {
+            log.debug("Entry too large for off-heap store, name: {}, key: {}, bytes: {}", name, key, bytes.length);
+            return false;
+        }
+        long version = CacheEntry.versionOf(stored);
+
+        synchronized (this) {
+            Slot current = index.get(key);
+            if (current != null) {
+                if (current.version() > version) {
+                    return false;
+                }
+                release(index.remove(key));
+            }
+            Iterator<Map.Entry<Object, Slot>> eldest = index.entrySet().iterator();
+            while (freeCount < needed && eldest.hasNext()) {
+                Slot evicted = eldest.next().getValue();
+                eldest.remove();
+                release(evicted);
+            }
+            int[] blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                int block = freeBlocks[--freeCount];
+                blocks[i] = block;
+                int offset = i * blockSize;
+                memory.put(block * blockSize, bytes, offset, Math.min(blockSize, bytes.length - offset));
+            }
+            index.put(key, new Slot(blocks, bytes.length, version));
+        }
+        return true;
+    }
+
+    /**
+     * 读取条目
+     *
+     * @param key 缓存键
+     * @return 反序列化后的对象，不存在时返回null
+     */
+    public Object get(Object key) {
+        byte[] bytes;
+        synchronized (this) {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return null;
+            }
+            bytes = read(slot);
+        }
+        return deserialize(key, bytes);
+    }
+
+    /**
+     * 读取并移除条目，用于提升回本地缓存
+     *
+     * @param key 缓存键
+     * @return 反序列化后的对象，不存在时返回null
+     */
+    public Object take(Object key) {
+        Object stored = get(key);
+        if (stored != null) {
+            remove(key, CacheEntry.versionOf(stored));
+        }
+        return stored;
+    }
+
+    /**
+     * 移除条目
+     *
+     * @param key 缓存键
+     */
+    public synchronized void remove(Object key) {
+        release(index.remove(key));
+    }
+
+    /**
+     * 移除版本不高于指定版本的条目
+     *
+     * @param key 缓存键
+     * @param version 版本
+     */
+    public synchronized void remove(Object key, long version) {
+        Slot slot = index.get(key);
+        if (slot != null && slot.version() <= version) {
+            release(index.remove(key));
+        }
+    }
+
+    /**
+     * 移除匹配条件的条目
+     *
+     * @param keyFilter 键过滤条件
+     */
+    public synchronized void removeIf(Predicate<Object> keyFilter) {
+        Iterator<Map.Entry<Object, Slot>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Slot> entry = iterator.next();
+            if (keyFilter.test(entry.getKey())) {
+                iterator.remove();
+                release(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * 移除键和存储对象匹配条件的条目，遍历时不改变访问顺序
+     *
+     * @param filter 过滤条件，参数为缓存键和反序列化后的对象
+     * @return 被移除的键
+     */
+    public synchronized List<Object> removeIfStored(BiPredicate<Object, Object> filter) {
+        List<Object> removed = new ArrayList<>();
+        Iterator<Map.Entry<Object, Slot>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, Slot> entry = iterator.next();
+            // 无法反序列化的条目一并移除
+            Object stored = decode(entry.getKey(), read(entry.getValue()));
+            if (stored == null || filter.test(entry.getKey(), stored)) {
+                iterator.remove();
+                release(entry.getValue());
+                removed.add(entry.getKey());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 清空存储
+     */
+    public synchronized void clear() {
+        index.values().forEach(this::release);
+        index.clear();
+    }
+
+    /**
+     * 条目数
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * 已占用的堆外内存（字节）
+     */
+    public synchronized long getUsedBytes() {
+        return (long) (blockCount - freeCount) * blockSize;
+    }
+
+    /**
+     * 堆外内存容量（字节）
+     */
+    public long getCapacityBytes() {
+        return (long) blockCount * blockSize;
+    }
+
+    private void release(Slot slot) {
+        if (slot == null) {
+            return;
+        }
+        for (int block : slot.blocks()) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private byte[] serialize(Object key, Object stored) {
+        ByteBuf buf = null;
+        try {
+            buf = codec.getValueEncoder().encode(stored);
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } catch (Exception e) {
+            log.warn("Error serializing off-heap entry, name: {}, key: {}", name, key, e);
+            return null;
+        } finally {
+            if (buf != null) {
+                buf.release();
+            }
+        }
+    }
+
+    private byte[] read(Slot slot) {
+        byte[] bytes = new byte[slot.length()];
+        for (int i = 0; i < slot.blocks().length; i++) {
+            int offset = i * blockSize;
+            memory.get(slot.blocks()[i] * blockSize, bytes, offset, Math.min(blockSize, bytes.length - offset));
+        }
+        return bytes;
+    }
+
+    private Object deserialize(Object key, byte[] bytes) {
+        Object stored = decode(key, bytes);
+        if (stored == null) {
+            remove(key);
+        }
+        return stored;
+    }
+
+    private Object decode(Object key, byte[] bytes) {
+        try {
+            return codec.getValueDecoder().decode(Unpooled.wrappedBuffer(bytes), new State());
+        } catch (Exception e) {
+            log.warn("Error deserializing off-heap entry, name: {}, key: {}", name, key, e);
+            return null;
+        }
+    }
+}
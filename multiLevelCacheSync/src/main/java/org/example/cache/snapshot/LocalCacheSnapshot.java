@@ -0,0 +1,166 @@
+package org.example.cache.snapshot;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 本地缓存快照文件
+ * 每个缓存一个文件，按热度顺序保存键和带版本的存储对象，值使用L2的编码器序列化后GZIP压缩。
+ * 写入先落到临时文件再原子替换；快照只使用一次，读取后即删除，避免重启多次时加载过旧的数据
+ */
+@Slf4j
+public class LocalCacheSnapshot {
+
+    private static final int MAGIC = 0x4d4c4353;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final Codec codec;
+
+    /**
+     * 快照内容
+     *
+     * @param createdAt 快照写入时间（毫秒）
+     * @param entries 按热度从高到低排列的键和存储对象
+     */
+    public record Snapshot(long createdAt, Map<String, Object> entries) {
+    }
+
+    /**
+     * @param directory 快照目录
+     * @param codec 值编码器，通常与L2使用的编码器一致
+     */
+    public LocalCacheSnapshot(Path directory, Codec codec) {
+        this.directory = directory;
+        this.codec = codec;
+    }
+
+    /**
+     * 写入缓存快照
+     *
+     * @param cacheName 缓存名称
+     * @param entries 键和存储对象
+     * @return 实际写入的条目数
+     */
+    public int write(String cacheName, Map<String, Object> entries) throws IOException {
+        Files.createDirectories(directory);
+        Path target = file(cacheName);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                byte[] value = encode(entry.getKey(), entry.getValue());
+                byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                // 无法序列化的条目以空值占位，读取时跳过
+                out.writeInt(key.length);
+                out.write(key);
+                out.writeInt(value != null ? value.length : -1);
+                if (value != null) {
+                    out.write(value);
+                    written++;
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written;
+    }
+
+    /**
+     * 读取并删除缓存快照
+     *
+     * @param cacheName 缓存名称
+     * @return 快照内容，不存在或无法解析时返回null
+     */
+    public Snapshot read(String cacheName) {
+        Path source = file(cacheName);
+        if (!Files.exists(source)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(source))))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                log.warn("Unrecognized cache snapshot format: {}", source);
+                return null;
+            }
+            long createdAt = in.readLong();
+            int count = in.readInt();
+            Map<String, Object> entries = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[in.readInt()];
+                in.readFully(key);
+                int length = in.readInt();
+                if (length < 0) {
+                    continue;
+                }
+                byte[] value = new byte[length];
+                in.readFully(value);
+                Object stored = decode(value);
+                if (stored != null) {
+                    entries.put(new String(key, StandardCharsets.UTF_8), stored);
+                }
+            }
+            return new Snapshot(createdAt, entries);
+        } catch (Exception e) {
+            log.warn("Error reading cache snapshot: {}", source, e);
+            return null;
+        } finally {
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException e) {
+                log.warn("Error deleting cache snapshot: {}", source, e);
+            }
+        }
+    }
+
+    private Path file(String cacheName) {
+        return directory.resolve(cacheName.replaceAll("[^A-Za-z0-9._-]", "_") + ".snapshot");
+    }
+
+    private byte[] encode(String key, Object stored) {
+        ByteBuf buf = null;
+        try {
+            buf = codec.getValueEncoder().encode(stored);
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return bytes;
+        } catch (Exception e) {
+            log.debug("Error encoding snapshot entry, key: {}", key, e);
+            return null;
+        } finally {
+            if (buf != null) {
+                buf.release();
+            }
+        }
+    }
+
+    private Object decode(byte[] bytes) {
+        try {
+            return codec.getValueDecoder().decode(Unpooled.wrappedBuffer(bytes), new State());
+        } catch (Exception e) {
+            log.debug("Error decoding snapshot entry", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.cache.store;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RMap;
+import org.redisson.api.RMapAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+
+/**
+ * 基于单个Redis Hash的L2存储
+ * 所有条目共享整个Hash的过期时间，每次写入都会重置整个缓存的过期时间
+ */
+public class HashRedisCacheStore implements RedisCacheStore {
+
+    private final String name;
+    private final RedissonClient redissonClient;
+    private final Codec codec;
+    private final RMap<String, Object> map;
+    private final RedisTagIndex tagIndex;
+
+    public HashRedisCacheStore(String name, RedissonClient redissonClient, Codec codec) {
+        this.name = name;
+        this.redissonClient = redissonClient;
+        this.codec = codec;
+        this.map = redissonClient.getMap(name, codec);
+        this.tagIndex = new RedisTagIndex(redissonClient, name, List.of(name));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object get(String key) {
+        return map.get(key);
+    }
+
+    @Override
+    public Map<String, Object> getAll(Set<String> keys) {
+        return map.getAll(keys);
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        return map.getAsync(key).toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getAllAsync(Set<String> keys) {
+        return map.getAllAsync(keys).toCompletableFuture();
+    }
+
+    @Override
+    public void put(String key, Object value, long ttl) {
+        map.fastPut(key, value);
+        if (ttl > 0) {
+            map.expire(Duration.ofMillis(ttl));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, Object value, long ttl) {
+        CompletableFuture<Boolean> put = map.fastPutAsync(key, value).toCompletableFuture();
+        if (ttl <= 0) {
+            return put.thenApply(result -> null);
+        }
+        return put.thenCompose(result -> map.expireAsync(Duration.ofMillis(ttl)))
+                .thenApply(result -> null);
+    }
+
+    @Override
+    public void putAll(Map<String, Object> entries, ToLongFunction<Object> ttlResolver) {
+        // HMSET和过期时间通过pipeline一次提交
+        RBatch batch = redissonClient.createBatch();
+        RMapAsync<String, Object> batchMap = batch.getMap(name, codec);
+        batchMap.putAllAsync(entries);
+        long ttl = entries.values().stream().mapToLong(ttlResolver).max().orElse(0);
+        if (ttl > 0) {
+            batchMap.expireAsync(Duration.ofMillis(ttl));
+        }
+        batch.execute();
+    }
+
+    @Override
+    public void remove(String key) {
+        map.fastRemove(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        return map.fastRemoveAsync(key).toCompletableFuture().thenApply(result -> null);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            map.fastRemove(keys.toArray(new String[0]));
+        }
+    }
+
+    @Override
+    public boolean expire(String key, long ttl) {
+        if (!map.containsKey(key)) {
+            return false;
+        }
+        map.expire(Duration.ofMillis(ttl));
+        return true;
+    }
+
+    @Override
+    public boolean replace(String key, Object expected, Object value, long ttl) {
+        if (!map.replace(key, expected, value)) {
+            return false;
+        }
+        if (ttl > 0) {
+            map.expire(Duration.ofMillis(ttl));
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+        tagIndex.clear();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new HashSet<>(map.keySet());
+    }
+
+    @Override
+    public Iterable<String> scanKeys(String prefix, int count) {
+        return map.keySet(RedisCacheStore.toGlob(prefix), count);
+    }
+
+    @Override
+    public void addTags(Map<String, Collection<String>> keyTags, long ttl) {
+        tagIndex.addTags(keyTags, ttl);
+    }
+
+    @Override
+    public List<String> removeByTags(Collection<String> tags) {
+        return tagIndex.removeByTags(tags);
+    }
+}
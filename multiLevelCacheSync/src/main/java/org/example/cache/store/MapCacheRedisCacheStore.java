@@ -0,0 +1,173 @@
+package org.example.cache.store;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RMapCacheAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * 基于RMapCache的L2存储
+ * 每个条目拥有独立的过期时间，互不影响
+ */
+public class MapCacheRedisCacheStore implements RedisCacheStore {
+
+    private final String name;
+    private final RedissonClient redissonClient;
+    private final Codec codec;
+    private final RMapCache<String, Object> map;
+    private final RedisTagIndex tagIndex;
+
+    public MapCacheRedisCacheStore(String name, RedissonClient redissonClient, Codec codec) {
+        this.name = name;
+        this.redissonClient = redissonClient;
+        this.codec = codec;
+        this.map = redissonClient.getMapCache(name, codec);
+        // 删除条目时同步清理RMapCache维护的过期与访问时间索引
+        this.tagIndex = new RedisTagIndex(redissonClient, name, List.of(name,
+                suffixName("redisson__timeout__set", name),
+                suffixName("redisson__idle__set", name),
+                suffixName("redisson__map_cache__last_access__set", name)));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object get(String key) {
+        return map.get(key);
+    }
+
+    @Override
+    public Map<String, Object> getAll(Set<String> keys) {
+        return map.getAll(keys);
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        return map.getAsync(key).toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getAllAsync(Set<String> keys) {
+        return map.getAllAsync(keys).toCompletableFuture();
+    }
+
+    @Override
+    public void put(String key, Object value, long ttl) {
+        if (ttl > 0) {
+            map.fastPut(key, value, ttl, TimeUnit.MILLISECONDS);
+        } else {
+            map.fastPut(key, value);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, Object value, long ttl) {
+        CompletableFuture<Boolean> put = ttl > 0
+                ? map.fastPutAsync(key, value, ttl, TimeUnit.MILLISECONDS).toCompletableFuture()
+                : map.fastPutAsync(key, value).toCompletableFuture();
+        return put.thenApply(result -> null);
+    }
+
+    @Override
+    public void putAll(Map<String, Object> entries, ToLongFunction<Object> ttlResolver) {
+        // 每个条目单独计算TTL，通过pipeline一次提交
+        RBatch batch = redissonClient.createBatch();
+        RMapCacheAsync<String, Object> batchMap = batch.getMapCache(name, codec);
+        entries.forEach((key, value) -> {
+            long ttl = ttlResolver.applyAsLong(value);
+            if (ttl > 0) {
+                batchMap.fastPutAsync(key, value, ttl, TimeUnit.MILLISECONDS);
+            } else {
+                batchMap.fastPutAsync(key, value);
+            }
+        });
+        batch.execute();
+    }
+
+    @Override
+    public void remove(String key) {
+        map.fastRemove(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        return map.fastRemoveAsync(key).toCompletableFuture().thenApply(result -> null);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            map.fastRemove(keys.toArray(new String[0]));
+        }
+    }
+
+    @Override
+    public boolean expire(String key, long ttl) {
+        return map.updateEntryExpiration(key, ttl, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean replace(String key, Object expected, Object value, long ttl) {
+        if (!map.replace(key, expected, value)) {
+            return false;
+        }
+        if (ttl > 0) {
+            map.updateEntryExpiration(key, ttl, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+        tagIndex.clear();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new HashSet<>(map.keySet());
+    }
+
+    @Override
+    public Iterable<String> scanKeys(String prefix, int count) {
+        return map.keySet(RedisCacheStore.toGlob(prefix), count);
+    }
+
+    @Override
+    public void addTags(Map<String, Collection<String>> keyTags, long ttl) {
+        tagIndex.addTags(keyTags, ttl);
+    }
+
+    @Override
+    public List<String> removeByTags(Collection<String> tags) {
+        return tagIndex.removeByTags(tags);
+    }
+
+    /**
+     * 与Redisson内部命名规则一致，名称不含hash tag时以名称作为hash tag
+     */
+    private static String suffixName(String prefix, String name) {
+        if (name.contains("{")) {
+            return prefix + ":" + name;
+        }
+        return prefix + ":{" + name + "}";
+    }
+}
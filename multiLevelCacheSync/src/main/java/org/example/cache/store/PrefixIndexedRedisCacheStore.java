@@ -0,0 +1,305 @@
+package org.example.cache.store;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RScript;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+
+/**
+ * 带前缀索引的L2存储装饰器
+ * 为配置的键前缀维护Redis Set索引，按前缀删除时通过SSCAN遍历索引，无需扫描整个Hash。
+ * 分桶存储时每个桶单独包装，索引随桶拆分，不会形成跨桶的大Key。
+ * 索引的过期时间与写入条目的TTL一致（只延长不缩短），条目单独过期后残留的成员
+ * 在按前缀遍历时检查条目是否仍存在，不存在的成员从索引中移除
+ */
+public class PrefixIndexedRedisCacheStore implements RedisCacheStore {
+
+    /**
+     * KEYS[1]: 前缀索引；ARGV[1]: 过期时间（毫秒）；ARGV[2..n]: 缓存键
+     * 索引的过期时间只延长不缩短，保证不早于其成员过期
+     */
+    private static final String ADD_SCRIPT =
+            "local ttl = tonumber(ARGV[1]) " +
+            "local existed = redis.call('EXISTS', KEYS[1]) " +
+            "for i = 2, #ARGV do " +
+            "  redis.call('SADD', KEYS[1], ARGV[i]) " +
+            "end " +
+            "if ttl <= 0 then " +
+            "  redis.call('PERSIST', KEYS[1]) " +
+            "elseif existed == 0 then " +
+            "  redis.call('PEXPIRE', KEYS[1], ttl) " +
+            "else " +
+            "  local current = redis.call('PTTL', KEYS[1]) " +
+            "  if current >= 0 and current < ttl then " +
+            "    redis.call('PEXPIRE', KEYS[1], ttl) " +
+            "  end " +
+            "end " +
+            "return nil";
+
+    private final RedisCacheStore delegate;
+    private final RedissonClient redissonClient;
+    private final List<String> prefixes;
+
+    public PrefixIndexedRedisCacheStore(RedisCacheStore delegate, RedissonClient redissonClient, List<String> prefixes) {
+        this.delegate = delegate;
+        this.redissonClient = redissonClient;
+        // 长前缀优先匹配
+        this.prefixes = prefixes.stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toList();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object get(String key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public Map<String, Object> getAll(Set<String> keys) {
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        return delegate.getAsync(key);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getAllAsync(Set<String> keys) {
+        return delegate.getAllAsync(keys);
+    }
+
+    @Override
+    public void put(String key, Object value, long ttl) {
+        delegate.put(key, value, ttl);
+        String prefix = findPrefix(key);
+        if (prefix != null) {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, ADD_SCRIPT,
+                    RScript.ReturnType.VALUE, List.<Object>of(indexName(prefix)), String.valueOf(ttl), key);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, Object value, long ttl) {
+        String prefix = findPrefix(key);
+        if (prefix == null) {
+            return delegate.putAsync(key, value, ttl);
+        }
+        return delegate.putAsync(key, value, ttl)
+                .thenCompose(result -> redissonClient.getScript(StringCodec.INSTANCE).evalAsync(
+                        RScript.Mode.READ_WRITE, ADD_SCRIPT, RScript.ReturnType.VALUE,
+                        List.<Object>of(indexName(prefix)), String.valueOf(ttl), key))
+                .thenApply(result -> null);
+    }
+
+    @Override
+    public void putAll(Map<String, Object> entries, ToLongFunction<Object> ttlResolver) {
+        delegate.putAll(entries, ttlResolver);
+
+        // 按前缀分组，每个索引一次脚本调用，过期时间取组内最长（存在不过期的条目时不过期）
+        Map<String, List<Object>> members = new HashMap<>();
+        Map<String, Long> ttls = new HashMap<>();
+        entries.forEach((key, value) -> {
+            String prefix = findPrefix(key);
+            if (prefix == null) {
+                return;
+            }
+            long ttl = ttlResolver.applyAsLong(value);
+            members.computeIfAbsent(prefix, p -> new ArrayList<>()).add(key);
+            ttls.merge(prefix, ttl, (a, b) -> a <= 0 || b <= 0 ? 0L : Math.max(a, b));
+        });
+        if (members.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        members.forEach((prefix, keys) -> {
+            List<Object> args = new ArrayList<>(keys.size() + 1);
+            args.add(String.valueOf(ttls.get(prefix)));
+            args.addAll(keys);
+            batch.getScript(StringCodec.INSTANCE).evalAsync(RScript.Mode.READ_WRITE, ADD_SCRIPT,
+                    RScript.ReturnType.VALUE, List.<Object>of(indexName(prefix)), args.toArray());
+        });
+        batch.execute();
+    }
+
+    @Override
+    public void remove(String key) {
+        delegate.remove(key);
+        String prefix = findPrefix(key);
+        if (prefix != null) {
+            getIndex(prefix).remove(key);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        String prefix = findPrefix(key);
+        if (prefix == null) {
+            return delegate.removeAsync(key);
+        }
+        return delegate.removeAsync(key)
+                .thenCompose(result -> getIndex(prefix).removeAsync(key))
+                .thenApply(result -> null);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        delegate.removeAll(keys);
+        removeFromIndex(keys);
+    }
+
+    @Override
+    public boolean expire(String key, long ttl) {
+        return delegate.expire(key, ttl);
+    }
+
+    @Override
+    public boolean replace(String key, Object expected, Object value, long ttl) {
+        return delegate.replace(key, expected, value, ttl);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        prefixes.forEach(prefix -> getIndex(prefix).delete());
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return delegate.keySet();
+    }
+
+    @Override
+    public Iterable<String> scanKeys(String prefix, int count) {
+        String indexedPrefix = findPrefix(prefix);
+        if (indexedPrefix == null) {
+            return delegate.scanKeys(prefix, count);
+        }
+        RSet<String> index = getIndex(indexedPrefix);
+        int batchSize = Math.max(1, count);
+        if (indexedPrefix.equals(prefix)) {
+            return () -> new LiveKeyIterator(index, index.iterator(batchSize), batchSize);
+        }
+        return () -> new LiveKeyIterator(index, index.iterator(RedisCacheStore.toGlob(prefix), batchSize), batchSize);
+    }
+
+    @Override
+    public void addTags(Map<String, Collection<String>> keyTags, long ttl) {
+        delegate.addTags(keyTags, ttl);
+    }
+
+    @Override
+    public List<String> removeByTags(Collection<String> tags) {
+        List<String> removed = delegate.removeByTags(tags);
+        removeFromIndex(removed);
+        return removed;
+    }
+
+    /**
+     * 批量移除索引成员，通过pipeline一次提交
+     */
+    private void removeFromIndex(Collection<String> keys) {
+        RBatch batch = null;
+        for (String key : keys) {
+            String prefix = findPrefix(key);
+            if (prefix == null) {
+                continue;
+            }
+            if (batch == null) {
+                batch = redissonClient.createBatch();
+            }
+            batch.getSet(indexName(prefix), StringCodec.INSTANCE).removeAsync(key);
+        }
+        if (batch != null) {
+            batch.execute();
+        }
+    }
+
+    private String findPrefix(String key) {
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    private RSet<String> getIndex(String prefix) {
+        return redissonClient.getSet(indexName(prefix), StringCodec.INSTANCE);
+    }
+
+    private String indexName(String prefix) {
+        return delegate.getName() + ":prefix-index:" + prefix;
+    }
+
+    /**
+     * 按批遍历索引成员，只返回条目仍存在的键；条目已过期或已删除的成员从索引中移除
+     */
+    private class LiveKeyIterator implements Iterator<String> {
+
+        private final RSet<String> index;
+        private final Iterator<String> members;
+        private final int batchSize;
+        private Iterator<String> current = Collections.emptyIterator();
+
+        LiveKeyIterator(RSet<String> index, Iterator<String> members, int batchSize) {
+            this.index = index;
+            this.members = members;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && members.hasNext()) {
+                current = nextBatch();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private Iterator<String> nextBatch() {
+            Set<String> batch = new LinkedHashSet<>();
+            while (batch.size() < batchSize && members.hasNext()) {
+                batch.add(members.next());
+            }
+            Set<String> live = delegate.getAll(batch).keySet();
+            if (live.size() < batch.size()) {
+                List<String> dead = batch.stream().filter(key -> !live.contains(key)).toList();
+                index.removeAll(dead);
+            }
+            return batch.stream().filter(live::contains).iterator();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.cache.store;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+
+/**
+ * L2（Redis）缓存存储抽象
+ * 屏蔽底层Redis数据结构，便于按缓存配置切换存储模式
+ */
+public interface RedisCacheStore {
+
+    /**
+     * 获取存储名称
+     *
+     * @return 存储名称
+     */
+    String getName();
+
+    /**
+     * 获取缓存值
+     *
+     * @param key 缓存键
+     * @return 缓存值，不存在时返回null
+     */
+    Object get(String key);
+
+    /**
+     * 批量获取缓存值
+     *
+     * @param keys 缓存键集合
+     * @return 存在的键值对
+     */
+    Map<String, Object> getAll(Set<String> keys);
+
+    /**
+     * 异步获取缓存值
+     *
+     * @param key 缓存键
+     * @return 缓存值，不存在时为null
+     */
+    CompletableFuture<Object> getAsync(String key);
+
+    /**
+     * 异步批量获取缓存值
+     *
+     * @param keys 缓存键集合
+     * @return 存在的键值对
+     */
+    CompletableFuture<Map<String, Object>> getAllAsync(Set<String> keys);
+
+    /**
+     * 写入缓存值
+     *
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param ttl 过期时间（毫秒），小于等于0表示不过期
+     */
+    void put(String key, Object value, long ttl);
+
+    /**
+     * 异步写入缓存值
+     *
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param ttl 过期时间（毫秒），小于等于0表示不过期
+     * @return 写入完成
+     */
+    CompletableFuture<Void> putAsync(String key, Object value, long ttl);
+
+    /**
+     * 批量写入缓存值
+     *
+     * @param entries 键值对
+     * @param ttlResolver 根据缓存值计算过期时间（毫秒）
+     */
+    void putAll(Map<String, Object> entries, ToLongFunction<Object> ttlResolver);
+
+    /**
+     * 删除缓存值
+     *
+     * @param key 缓存键
+     */
+    void remove(String key);
+
+    /**
+     * 异步删除缓存值
+     *
+     * @param key 缓存键
+     * @return 删除完成
+     */
+    CompletableFuture<Void> removeAsync(String key);
+
+    /**
+     * 批量删除缓存值
+     *
+     * @param keys 缓存键集合
+     */
+    void removeAll(Collection<String> keys);
+
+    /**
+     * 更新缓存过期时间
+     *
+     * @param key 缓存键
+     * @param ttl 过期时间（毫秒）
+     * @return 缓存键是否存在
+     */
+    boolean expire(String key, long ttl);
+
+    /**
+     * 缓存值仍为预期值时替换为新值，用于在不覆盖并发写入的前提下改写条目
+     *
+     * @param key 缓存键
+     * @param expected 预期的当前值
+     * @param value 新值
+     * @param ttl 过期时间（毫秒），小于等于0表示不更新过期时间
+     * @return 是否已替换
+     */
+    boolean replace(String key, Object expected, Object value, long ttl);
+
+    /**
+     * 清空缓存
+     */
+    void clear();
+
+    /**
+     * 获取缓存条目数
+     *
+     * @return 条目数
+     */
+    int size();
+
+    /**
+     * 获取所有缓存键
+     *
+     * @return 缓存键集合
+     */
+    Set<String> keySet();
+
+    /**
+     * 增量扫描以指定字面前缀开头的缓存键
+     * 由服务端游标（HSCAN/SSCAN MATCH）逐批返回，不会一次性加载全部键
+     *
+     * @param prefix 字面前缀，空字符串表示全部键
+     * @param count 每批扫描的数量提示
+     * @return 惰性迭代的缓存键
+     */
+    Iterable<String> scanKeys(String prefix, int count);
+
+    /**
+     * 为缓存键关联标签
+     *
+     * @param keyTags 缓存键及其标签
+     * @param ttl 过期时间（毫秒），标签至少保留到该时间之后，小于等于0表示不过期
+     */
+    void addTags(Map<String, Collection<String>> keyTags, long ttl);
+
+    /**
+     * 删除关联任一标签的全部缓存值，单次往返完成
+     *
+     * @param tags 标签
+     * @return 被删除的缓存键
+     */
+    List<String> removeByTags(Collection<String> tags);
+
+    /**
+     * 将字面前缀转换为Redis glob匹配模式
+     *
+     * @param prefix 字面前缀
+     * @return glob匹配模式
+     */
+    static String toGlob(String prefix) {
+        StringBuilder glob = new StringBuilder(prefix.length() + 1);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                glob.append('\\');
+            }
+            glob.append(c);
+        }
+        return glob.append('*').toString();
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.cache.store;
+
+import org.redisson.api.RBatch;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存标签索引
+ * 每个标签对应一个Redis Set，记录关联该标签的缓存键；按标签删除时由Lua脚本在一次往返内
+ * 取出所有成员、删除条目并移除标签集合。
+ * 标签键使用 {缓存名称} 作为hash tag，集群模式下与缓存条目位于同一槽位
+ */
+public class RedisTagIndex {
+
+    /**
+     * KEYS[1]..KEYS[n]: 标签集合；ARGV[1]: 缓存键；ARGV[2]: 过期时间（毫秒）
+     * 标签集合的过期时间只延长不缩短，保证不早于其成员过期
+     */
+    private static final String ADD_SCRIPT =
+            "local ttl = tonumber(ARGV[2]) " +
+            "for i = 1, #KEYS do " +
+            "  local existed = redis.call('EXISTS', KEYS[i]) " +
+            "  redis.call('SADD', KEYS[i], ARGV[1]) " +
+            "  if ttl <= 0 then " +
+            "    redis.call('PERSIST', KEYS[i]) " +
+            "  elseif existed == 0 then " +
+            "    redis.call('PEXPIRE', KEYS[i], ttl) " +
+            "  else " +
+            "    local current = redis.call('PTTL', KEYS[i]) " +
+            "    if current >= 0 and current < ttl then " +
+            "      redis.call('PEXPIRE', KEYS[i], ttl) " +
+            "    end " +
+            "  end " +
+            "end " +
+            "return nil";
+
+    /**
+     * KEYS[1]: 条目Hash；KEYS[2]..KEYS[ARGV[1]+1]: 需要同步清理的有序集合索引；其余为标签集合
+     * 返回去重后的全部关联缓存键
+     */
+    private static final String REMOVE_SCRIPT =
+            "local indexCount = tonumber(ARGV[1]) " +
+            "local seen = {} " +
+            "local removed = {} " +
+            "for i = indexCount + 2, #KEYS do " +
+            "  local members = redis.call('SMEMBERS', KEYS[i]) " +
+            "  for _, member in ipairs(members) do " +
+            "    if not seen[member] then " +
+            "      seen[member] = true " +
+            "      removed[#removed + 1] = member " +
+            "      redis.call('HDEL', KEYS[1], member) " +
+            "      for j = 2, indexCount + 1 do " +
+            "        redis.call('ZREM', KEYS[j], member) " +
+            "      end " +
+            "    end " +
+            "  end " +
+            "  redis.call('DEL', KEYS[i]) " +
+            "end " +
+            "return removed";
+
+    private final RedissonClient redissonClient;
+    private final String name;
+    private final List<Object> entryKeys;
+
+    /**
+     * @param redissonClient Redisson客户端
+     * @param name 缓存名称
+     * @param entryKeys 条目所在的Redis键，第一个为Hash，其余为需同步清理的有序集合
+     */
+    public RedisTagIndex(RedissonClient redissonClient, String name, List<String> entryKeys) {
+        this.redissonClient = redissonClient;
+        this.name = name;
+        this.entryKeys = new ArrayList<>(entryKeys);
+    }
+
+    /**
+     * 为缓存键关联标签，通过pipeline一次提交
+     *
+     * @param keyTags 缓存键及其标签
+     * @param ttl 标签集合的最短存活时间（毫秒），小于等于0表示不过期
+     */
+    public void addTags(Map<String, Collection<String>> keyTags, long ttl) {
+        if (keyTags.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch();
+        keyTags.forEach((key, tags) -> {
+            if (!tags.isEmpty()) {
+                batch.getScript(StringCodec.INSTANCE).evalAsync(RScript.Mode.READ_WRITE, ADD_SCRIPT,
+                        RScript.ReturnType.VALUE, toTagKeys(tags), key, String.valueOf(ttl));
+            }
+        });
+        batch.execute();
+    }
+
+    /**
+     * 删除关联任一标签的全部条目及标签集合
+     *
+     * @param tags 标签
+     * @return 被删除的缓存键
+     */
+    public List<String> removeByTags(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> keys = new ArrayList<>(entryKeys);
+        keys.addAll(toTagKeys(tags));
+        List<String> removed = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                REMOVE_SCRIPT, RScript.ReturnType.MULTI, keys, String.valueOf(entryKeys.size() - 1));
+        return removed != null ? removed : Collections.emptyList();
+    }
+
+    /**
+     * 删除全部标签集合，用于清空缓存
+     */
+    public void clear() {
+        redissonClient.getKeys().deleteByPattern("{" + name + "}:tag:*");
+    }
+
+    private List<Object> toTagKeys(Collection<String> tags) {
+        List<Object> keys = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            keys.add("{" + name + "}:tag:" + tag);
+        }
+        return keys;
+    }
+}
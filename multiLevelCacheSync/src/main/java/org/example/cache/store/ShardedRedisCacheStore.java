@@ -0,0 +1,336 @@
+package org.example.cache.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 按键哈希分桶的L2存储
+ * 条目按缓存键的哈希分散到多个桶，每个桶是一个独立的Redis键（Hash或RMapCache），
+ * 各自维护过期时间和标签索引，集群模式下分布在不同槽位，避免单个缓存形成大Key。
+ * 单键操作只访问所在的桶；批量读取按桶分组后并发异步读取，
+ * 其余批量操作和全量操作（大小、键集合、遍历、清空、按标签删除）在指定线程池中按桶并发执行后合并结果
+ */
+public class ShardedRedisCacheStore implements RedisCacheStore {
+
+    private final String name;
+    private final RedisCacheStore[] buckets;
+    private final Executor executor;
+
+    /**
+     * @param name 缓存名称
+     * @param buckets 各个桶的存储，键按哈希分配到其中之一，桶的数量和顺序必须在各节点间保持一致
+     * @param executor 执行各桶阻塞调用的有界线程池
+     */
+    public ShardedRedisCacheStore(String name, List<RedisCacheStore> buckets, Executor executor) {
+        if (buckets.isEmpty()) {
+            throw new IllegalArgumentException("At least one bucket is required for cache: " + name);
+        }
+        this.name = name;
+        this.buckets = buckets.toArray(new RedisCacheStore[0]);
+        this.executor = executor;
+    }
+
+    /**
+     * 获取第index个桶的Redis键名
+     *
+     * @param name 缓存名称
+     * @param index 桶序号
+     */
+    public static String bucketName(String name, int index) {
+        return name + ":bucket:" + index;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object get(String key) {
+        return bucketOf(key).get(key);
+    }
+
+    @Override
+    public Map<String, Object> getAll(Set<String> keys) {
+        return join(getAllAsync(keys));
+    }
+
+    @Override
+    public CompletableFuture<Object> getAsync(String key) {
+        return bucketOf(key).getAsync(key);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getAllAsync(Set<String> keys) {
+        Map<Integer, Set<String>> groups = groupKeys(keys);
+        if (groups.size() == 1) {
+            Map.Entry<Integer, Set<String>> group = groups.entrySet().iterator().next();
+            return buckets[group.getKey()].getAllAsync(group.getValue());
+        }
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(groups.size());
+        groups.forEach((index, bucketKeys) -> futures.add(buckets[index].getAllAsync(bucketKeys)));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(result -> {
+            Map<String, Object> values = new HashMap<>();
+            futures.forEach(future -> values.putAll(future.join()));
+            return values;
+        });
+    }
+
+    @Override
+    public void put(String key, Object value, long ttl) {
+        bucketOf(key).put(key, value, ttl);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, Object value, long ttl) {
+        return bucketOf(key).putAsync(key, value, ttl);
+    }
+
+    @Override
+    public void putAll(Map<String, Object> entries, ToLongFunction<Object> ttlResolver) {
+        Map<Integer, Map<String, Object>> groups = new HashMap<>();
+        entries.forEach((key, value) -> groups.computeIfAbsent(indexOf(key), index -> new HashMap<>()).put(key, value));
+        // 每个桶按自身条目计算过期时间
+        inParallel(groups, (bucket, bucketEntries) -> {
+            bucket.putAll(bucketEntries, ttlResolver);
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(String key) {
+        bucketOf(key).remove(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        return bucketOf(key).removeAsync(key);
+    }
+
+    @Override
+    public void removeAll(Collection<String> keys) {
+        inParallel(groupKeys(keys), (bucket, bucketKeys) -> {
+            bucket.removeAll(bucketKeys);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean expire(String key, long ttl) {
+        return bucketOf(key).expire(key, ttl);
+    }
+
+    @Override
+    public boolean replace(String key, Object expected, Object value, long ttl) {
+        return bucketOf(key).replace(key, expected, value, ttl);
+    }
+
+    @Override
+    public void clear() {
+        inParallel(bucket -> {
+            bucket.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public int size() {
+        return inParallel(RedisCacheStore::size).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> keys = new HashSet<>();
+        inParallel(RedisCacheStore::keySet).forEach(keys::addAll);
+        return keys;
+    }
+
+    /**
+     * 按轮次增量遍历：每轮在尚未遍历完的桶上并发取出至多count个键，不一次性拉取全部键
+     */
+    @Override
+    public Iterable<String> scanKeys(String prefix, int count) {
+        int pageSize = Math.max(1, count);
+        return () -> new Iterator<>() {
+            // 尚未遍历完的桶及其游标，游标在首次取键时创建
+            private final Map<Integer, Iterator<String>> cursors = new HashMap<>();
+            private Iterator<String> page = Collections.emptyIterator();
+
+            {
+                for (int i = 0; i < buckets.length; i++) {
+                    cursors.put(i, null);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && !cursors.isEmpty()) {
+                    page = nextRound();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+
+            private Iterator<String> nextRound() {
+                Map<Integer, ScanCursor> round = new HashMap<>();
+                cursors.forEach((index, keys) -> round.put(index, new ScanCursor(index, keys)));
+                List<String> keys = new ArrayList<>();
+                for (ScanCursor cursor : inParallel(round, (bucket, current) -> current.advance(bucket, prefix, pageSize))) {
+                    keys.addAll(cursor.page());
+                    if (cursor.keys().hasNext()) {
+                        cursors.put(cursor.index(), cursor.keys());
+                    } else {
+                        cursors.remove(cursor.index());
+                    }
+                }
+                return keys.iterator();
+            }
+        };
+    }
+
+    @Override
+    public void addTags(Map<String, Collection<String>> keyTags, long ttl) {
+        Map<Integer, Map<String, Collection<String>>> groups = new HashMap<>();
+        keyTags.forEach((key, tags) -> groups.computeIfAbsent(indexOf(key), index -> new HashMap<>()).put(key, tags));
+        inParallel(groups, (bucket, bucketTags) -> {
+            bucket.addTags(bucketTags, ttl);
+            return null;
+        });
+    }
+
+    /**
+     * 标签索引按桶维护，与所在桶的条目位于同一槽位，各桶分别删除后合并结果
+     */
+    @Override
+    public List<String> removeByTags(Collection<String> tags) {
+        Set<String> removed = new LinkedHashSet<>();
+        inParallel(bucket -> bucket.removeByTags(tags)).forEach(removed::addAll);
+        return new ArrayList<>(removed);
+    }
+
+    private RedisCacheStore bucketOf(String key) {
+        return buckets[indexOf(key)];
+    }
+
+    private int indexOf(String key) {
+        return indexOf(key, buckets.length);
+    }
+
+    /**
+     * 按String的hashCode分桶，各节点计算结果一致
+     *
+     * @param key 缓存键
+     * @param bucketCount 桶数量
+     * @return 桶序号
+     */
+    static int indexOf(String key, int bucketCount) {
+        int h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), bucketCount);
+    }
+
+    private Map<Integer, Set<String>> groupKeys(Collection<String> keys) {
+        Map<Integer, Set<String>> groups = new HashMap<>();
+        for (String key : keys) {
+            groups.computeIfAbsent(indexOf(key), index -> new HashSet<>()).add(key);
+        }
+        return groups;
+    }
+
+    /**
+     * 在所有桶上并发执行
+     */
+    private <T> List<T> inParallel(Function<RedisCacheStore, T> operation) {
+        Map<Integer, Void> all = new HashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            all.put(i, null);
+        }
+        return inParallel(all, (bucket, ignored) -> operation.apply(bucket));
+    }
+
+    /**
+     * 在分组涉及的桶上并发执行，只涉及一个桶时在调用线程上执行
+     * 桶的调用是阻塞的，只提交到指定的有界线程池，不占用公共线程池
+     */
+    private <V, T> List<T> inParallel(Map<Integer, V> groups, BucketOperation<V, T> operation) {
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+        if (groups.size() == 1) {
+            Map.Entry<Integer, V> group = groups.entrySet().iterator().next();
+            List<T> results = new ArrayList<>(1);
+            results.add(operation.apply(buckets[group.getKey()], group.getValue()));
+            return results;
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(groups.size());
+        groups.forEach((index, value) ->
+                futures.add(CompletableFuture.supplyAsync(() -> operation.apply(buckets[index], value), executor)));
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 单个桶的遍历游标
+     *
+     * @param index 桶序号
+     * @param keys 桶内的键迭代器，尚未开始遍历时为null
+     * @param page 本轮取出的键
+     */
+    private record ScanCursor(int index, Iterator<String> keys, List<String> page) {
+
+        ScanCursor(int index, Iterator<String> keys) {
+            this(index, keys, List.of());
+        }
+
+        ScanCursor advance(RedisCacheStore bucket, String prefix, int pageSize) {
+            Iterator<String> iterator = keys != null ? keys : bucket.scanKeys(prefix, pageSize).iterator();
+            List<String> next = new ArrayList<>(pageSize);
+            while (next.size() < pageSize && iterator.hasNext()) {
+                next.add(iterator.next());
+            }
+            return new ScanCursor(index, iterator, next);
+        }
+    }
+
+    /**
+     * 作用于单个桶的操作
+     */
+    @FunctionalInterface
+    private interface BucketOperation<V, T> {
+        T apply(RedisCacheStore bucket, V value);
+    }
+}
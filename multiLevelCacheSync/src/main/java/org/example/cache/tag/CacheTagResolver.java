@@ -0,0 +1,27 @@
+package org.example.cache.tag;
+
+import java.util.Collection;
+
+/**
+ * 缓存标签解析器
+ * 写入缓存时为条目计算标签，之后可通过 {@code MultiLevelCache#evictByTags} 按标签批量失效相关条目
+ */
+public interface CacheTagResolver {
+
+    /**
+     * 是否为指定缓存解析标签
+     *
+     * @param cacheName 缓存名称
+     * @return 是否支持
+     */
+    boolean supports(String cacheName);
+
+    /**
+     * 解析缓存条目的标签
+     *
+     * @param key 缓存键
+     * @param value 缓存值，缓存空值时为null
+     * @return 标签集合，无标签时返回空集合
+     */
+    Collection<String> resolveTags(String key, Object value);
+}
@@ -0,0 +1,120 @@
+package org.example.cache.version;
+
+import java.io.Serializable;
+
+/**
+ * 带版本的缓存条目
+ * L1和L2中保存的都是该包装对象，版本用于丢弃乱序到达的远程同步事件，
+ * 逻辑过期时间用于提前刷新和过期后短暂返回旧值
+ */
+public class CacheEntry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 缓存值
+     */
+    private final Object value;
+
+    /**
+     * 版本（混合逻辑时钟）
+     */
+    private final long version;
+
+    /**
+     * 逻辑过期时间（毫秒时间戳），0表示不过期
+     */
+    private final long expireAt;
+
+    /**
+     * 计算该值的耗时（毫秒），用于概率提前过期，0表示未知
+     */
+    private final long delta;
+
+    public CacheEntry(Object value, long version) {
+        this(value, version, 0L);
+    }
+
+    public CacheEntry(Object value, long version, long expireAt) {
+        this(value, version, expireAt, 0L);
+    }
+
+    public CacheEntry(Object value, long version, long expireAt, long delta) {
+        this.value = value;
+        this.version = version;
+        this.expireAt = expireAt;
+        this.delta = delta;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getExpireAt() {
+        return expireAt;
+    }
+
+    public long getDelta() {
+        return delta;
+    }
+
+    /**
+     * XFetch判定：now - delta * beta * ln(random) >= expireAt 时提前重新计算
+     * 计算越慢、越接近过期，被选中的概率越高；未记录计算耗时、不过期或已过期的条目不参与
+     *
+     * @param now 当前时间（毫秒时间戳）
+     * @param beta 提前过期系数，越大越倾向于提前重新计算
+     * @param random (0, 1]区间内均匀分布的随机数
+     */
+    public boolean shouldRecomputeEarly(long now, double beta, double random) {
+        if (expireAt <= 0 || isExpired(now)) {
+            return false;
+        }
+        return now - delta * beta * Math.log(random) >= expireAt;
+    }
+
+    /**
+     * 复制条目并替换逻辑过期时间，版本保持不变
+     *
+     * @param expireAt 逻辑过期时间（毫秒时间戳），0表示不过期
+     */
+    public CacheEntry withExpireAt(long expireAt) {
+        return new CacheEntry(value, version, expireAt, delta);
+    }
+
+    /**
+     * 写入时间（毫秒时间戳），取自版本中的物理时间
+     */
+    public long getWriteTime() {
+        return HybridLogicalClock.physicalTime(version);
+    }
+
+    /**
+     * 是否已超过逻辑过期时间
+     */
+    public boolean isExpired(long now) {
+        return expireAt > 0 && now >= expireAt;
+    }
+
+    /**
+     * 解包缓存值，兼容未包装的历史数据
+     */
+    public static Object unwrap(Object stored) {
+        return stored instanceof CacheEntry entry ? entry.value : stored;
+    }
+
+    /**
+     * 获取存储对象的版本，未包装的历史数据视为版本0
+     */
+    public static long versionOf(Object stored) {
+        return stored instanceof CacheEntry entry ? entry.version : 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheEntry{version=" + version + ", expireAt=" + expireAt + ", value=" + value + "}";
+    }
+}
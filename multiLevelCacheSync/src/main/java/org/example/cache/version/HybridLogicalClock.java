@@ -0,0 +1,47 @@
+package org.example.cache.version;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 混合逻辑时钟
+ * 高48位为物理时间（毫秒），低16位为逻辑计数。
+ * 本地写入调用 {@link #tick()} 生成单调递增版本，收到远程版本时调用 {@link #update(long)} 推进时钟，
+ * 保证节点间存在因果关系的版本满足先后顺序，即使各节点物理时钟存在偏差
+ */
+public class HybridLogicalClock {
+
+    private static final int LOGICAL_BITS = 16;
+
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * 生成本地事件版本
+     * @return 严格大于之前所有已生成或已观察到的版本
+     */
+    public long tick() {
+        long physical = physicalNow();
+        return last.updateAndGet(current -> Math.max(current + 1, physical));
+    }
+
+    /**
+     * 观察到远程版本后推进时钟
+     * @param remoteVersion 远程版本
+     */
+    public void update(long remoteVersion) {
+        long physical = physicalNow();
+        last.updateAndGet(current -> Math.max(current, Math.max(remoteVersion, physical)));
+    }
+
+    /**
+     * 获取版本中的物理时间（毫秒）
+     * @param version 版本
+     * @return 物理时间戳
+     */
+    public static long physicalTime(long version) {
+        return version >>> LOGICAL_BITS;
+    }
+
+    private static long physicalNow() {
+        return System.currentTimeMillis() << LOGICAL_BITS;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.cache.warm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScoredSortedSetAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存键访问频率记录器
+ * 访问时只在本地累加计数，定期通过pipeline合并到Redis有序集合；
+ * 有序集合只保留频率最高的部分键，供预热时按频率从高到低加载
+ */
+@Slf4j
+public class AccessFrequencyRecorder {
+
+    private final RedissonClient redissonClient;
+    private final String name;
+    private final int maxTrackedKeys;
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheName 缓存名称
+     * @param redissonClient Redisson客户端
+     * @param maxTrackedKeys 本地待合并及Redis中保留的最大键数
+     */
+    public AccessFrequencyRecorder(String cacheName, RedissonClient redissonClient, int maxTrackedKeys) {
+        this.redissonClient = redissonClient;
+        this.name = cacheName + ":access-frequency";
+        this.maxTrackedKeys = Math.max(1, maxTrackedKeys);
+    }
+
+    /**
+     * 记录一次访问
+     *
+     * @param key 缓存键
+     */
+    public void record(String key) {
+        LongAdder counter = pending.get(key);
+        if (counter == null) {
+            // 本次合并周期内新键过多时放弃记录，避免内存无限增长
+            if (pending.size() >= maxTrackedKeys) {
+                return;
+            }
+            counter = pending.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * 将本地计数合并到Redis
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            RBatch batch = redissonClient.createBatch();
+            RScoredSortedSetAsync<String> frequencies = batch.getScoredSortedSet(name, StringCodec.INSTANCE);
+            Iterator<Map.Entry<String, LongAdder>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, LongAdder> entry = iterator.next();
+                iterator.remove();
+                long count = entry.getValue().sum();
+                if (count > 0) {
+                    frequencies.addScoreAsync(entry.getKey(), count);
+                }
+            }
+            // 只保留频率最高的键
+            frequencies.removeRangeByRankAsync(0, -(maxTrackedKeys + 1));
+            batch.execute();
+        } catch (Exception e) {
+            log.warn("Error flushing access frequencies: {}", name, e);
+        }
+    }
+
+    /**
+     * 获取访问频率最高的键
+     *
+     * @param limit 最大数量
+     * @return 按频率从高到低排列的键
+     */
+    public Collection<String> getHottestKeys(int limit) {
+        return redissonClient.<String>getScoredSortedSet(name, StringCodec.INSTANCE)
+                .valueRangeReversed(0, Math.max(0, limit - 1));
+    }
+}
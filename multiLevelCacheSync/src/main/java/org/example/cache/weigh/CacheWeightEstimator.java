@@ -0,0 +1,26 @@
+package org.example.cache.weigh;
+
+/**
+ * 缓存条目权重估算器
+ * 本地缓存按内存预算限制容量时，用于估算每个条目占用的字节数。
+ * 估算在写入本地缓存时同步执行，实现应足够轻量
+ */
+public interface CacheWeightEstimator {
+
+    /**
+     * 是否为指定缓存估算权重
+     *
+     * @param cacheName 缓存名称
+     * @return 是否支持
+     */
+    boolean supports(String cacheName);
+
+    /**
+     * 估算条目占用的字节数
+     *
+     * @param key 缓存键
+     * @param value 本地缓存中保存的对象
+     * @return 估算字节数，不小于0
+     */
+    int estimate(Object key, Object value);
+}
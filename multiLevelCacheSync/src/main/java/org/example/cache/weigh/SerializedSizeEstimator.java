@@ -0,0 +1,55 @@
+package org.example.cache.weigh;
+
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.client.codec.Codec;
+
+/**
+ * 按序列化大小估算条目权重
+ * 使用与L2相同的值编码器序列化条目，序列化字节数加上键和对象头的固定开销作为权重。
+ * 序列化大小与堆内占用并不相等，但与之成比例，足以区分单个对象和大列表
+ */
+@Slf4j
+public class SerializedSizeEstimator implements CacheWeightEstimator {
+
+    /**
+     * 条目、引用和对象头的固定开销
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    /**
+     * 无法序列化时使用的权重
+     */
+    private static final int DEFAULT_WEIGHT = 1024;
+
+    private final Codec codec;
+
+    /**
+     * @param codec 值编码器，通常与L2使用的编码器一致
+     */
+    public SerializedSizeEstimator(Codec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public boolean supports(String cacheName) {
+        return true;
+    }
+
+    @Override
+    public int estimate(Object key, Object value) {
+        int keySize = key instanceof String stringKey ? stringKey.length() * 2 : 16;
+        ByteBuf buf = null;
+        try {
+            buf = codec.getValueEncoder().encode(value);
+            return ENTRY_OVERHEAD + keySize + buf.readableBytes();
+        } catch (Exception e) {
+            log.debug("Error estimating entry size, key: {}", key, e);
+            return ENTRY_OVERHEAD + keySize + DEFAULT_WEIGHT;
+        } finally {
+            if (buf != null) {
+                buf.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package org.example.cache.writebehind;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.version.CacheEntry;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * L2延迟写入队列
+ * 写入只进入本地队列，同一键的多次写入合并为最后一次，达到批量大小或刷新间隔时按批写出。
+ * 待写入条目数有上限，超过上限时由写入线程同步写出一批；
+ * 写出过程持有刷新锁，删除操作先获取刷新锁再丢弃待写入条目，避免已删除的键被正在写出的旧值覆盖
+ */
+@Slf4j
+public class WriteBehindQueue {
+
+    private final String name;
+    private final Consumer<Map<String, Object>> writer;
+    private final int maxPending;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledFuture<?> flushTask;
+
+    // 按首次入队顺序排列的待写入条目，最早入队的在前
+    private final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+
+    // 写出锁，保证同一时间只有一个批次在写出
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long lastFlushLag;
+
+    /**
+     * 待写入条目
+     *
+     * @param stored 存储对象
+     * @param enqueuedAt 该键最早一次未写出的写入时间（毫秒）
+     */
+    private record Pending(Object stored, long enqueuedAt) {
+    }
+
+    /**
+     * @param name 缓存名称
+     * @param writer 批量写出，参数为缓存键和存储对象
+     * @param maxPending 最大待写入条目数
+     * @param batchSize 每批写出的最大条目数
+     * @param flushIntervalMillis 定时写出间隔（毫秒）
+     * @param scheduler 写出调度线程
+     */
+    public WriteBehindQueue(String name, Consumer<Map<String, Object>> writer, int maxPending, int batchSize,
+                            long flushIntervalMillis, ScheduledExecutorService scheduler) {
+        this.name = name;
+        this.writer = writer;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = Math.max(this.batchSize, maxPending);
+        this.scheduler = scheduler;
+        long interval = Math.max(1, flushIntervalMillis);
+        this.flushTask = scheduler.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 加入待写入队列，已有更高版本的待写入条目时不覆盖
+     *
+     * @param cacheKey 缓存键
+     * @param stored 存储对象
+     */
+    public void enqueue(String cacheKey, Object stored) {
+        if (offer(cacheKey, stored)) {
+            return;
+        }
+        // 队列已满时由写入线程同步写出一批，限制内存占用；仍无法入队（Redis不可用）时放弃本次L2写入
+        flushBatch();
+        if (!offer(cacheKey, stored)) {
+            dropped.increment();
+            log.warn("Write-behind queue full, dropped L2 write, cache: {}, key: {}", name, cacheKey);
+        }
+    }
+
+    /**
+     * 尝试入队，达到批量大小时触发一次异步写出
+     *
+     * @return 是否已入队或合并到已有条目
+     */
+    private boolean offer(String cacheKey, Object stored) {
+        int size;
+        synchronized (this) {
+            Pending current = pending.get(cacheKey);
+            if (current != null) {
+                if (CacheEntry.versionOf(current.stored()) <= CacheEntry.versionOf(stored)) {
+                    pending.put(cacheKey, new Pending(stored, current.enqueuedAt()));
+                }
+                return true;
+            }
+            if (pending.size() >= maxPending) {
+                return false;
+            }
+            pending.put(cacheKey, new Pending(stored, System.currentTimeMillis()));
+            size = pending.size();
+        }
+
+        if (size >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushScheduled.set(false);
+                flushSafely();
+            });
+        }
+        return true;
+    }
+
+    /**
+     * 获取尚未写出的存储对象
+     *
+     * @param cacheKey 缓存键
+     * @return 存储对象，不存在时返回null
+     */
+    public synchronized Object get(String cacheKey) {
+        Pending current = pending.get(cacheKey);
+        return current != null ? current.stored() : null;
+    }
+
+    /**
+     * 丢弃待写入条目，等待正在写出的批次完成后返回
+     *
+     * @param cacheKey 缓存键
+     */
+    public void discard(String cacheKey) {
+        synchronized (flushLock) {
+            synchronized (this) {
+                pending.remove(cacheKey);
+            }
+        }
+    }
+
+    /**
+     * 丢弃版本不高于指定版本的待写入条目
+     *
+     * @param cacheKey 缓存键
+     * @param version 版本
+     */
+    public void discard(String cacheKey, long version) {
+        synchronized (flushLock) {
+            synchronized (this) {
+                Pending current = pending.get(cacheKey);
+                if (current != null && CacheEntry.versionOf(current.stored()) <= version) {
+                    pending.remove(cacheKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * 丢弃匹配条件的待写入条目
+     *
+     * @param keyFilter 键过滤条件
+     */
+    public void discardIf(Predicate<Object> keyFilter) {
+        synchronized (flushLock) {
+            synchronized (this) {
+                pending.keySet().removeIf(keyFilter);
+            }
+        }
+    }
+
+    /**
+     * 写出所有待写入条目
+     */
+    public void flush() {
+        while (flushBatch() > 0) {
+            // 逐批写出直到队列为空
+        }
+    }
+
+    /**
+     * 停止定时写出并写出剩余条目
+     */
+    public void shutdown() {
+        flushTask.cancel(false);
+        flush();
+    }
+
+    /**
+     * 待写入条目数
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 最早一个待写入条目已等待的时间（毫秒），队列为空时为0
+     */
+    public synchronized long getFlushLag() {
+        if (pending.isEmpty()) {
+            return 0L;
+        }
+        return System.currentTimeMillis() - pending.values().iterator().next().enqueuedAt();
+    }
+
+    /**
+     * 最近一次写出的批次中最早条目从入队到写出的时间（毫秒）
+     */
+    public long getLastFlushLag() {
+        return lastFlushLag;
+    }
+
+    /**
+     * 已写出的条目数
+     */
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    /**
+     * 因队列已满或写出失败后无法重新入队而丢弃的条目数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Error flushing write-behind queue for cache: " + name, e);
+        }
+    }
+
+    /**
+     * 写出一批最早入队的条目，失败时将未被新写入覆盖的条目重新入队
+     *
+     * @return 本批条目数
+     */
+    private int flushBatch() {
+        synchronized (flushLock) {
+            Map<String, Object> batch = new LinkedHashMap<>();
+            long oldest = 0L;
+            synchronized (this) {
+                Iterator<Map.Entry<String, Pending>> iterator = pending.entrySet().iterator();
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    Map.Entry<String, Pending> entry = iterator.next();
+                    iterator.remove();
+                    if (oldest == 0L) {
+                        oldest = entry.getValue().enqueuedAt();
+                    }
+                    batch.put(entry.getKey(), entry.getValue().stored());
+                }
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                writer.accept(batch);
+                flushed.add(batch.size());
+                lastFlushLag = System.currentTimeMillis() - oldest;
+                log.debug("Flushed write-behind batch, cache: {}, size: {}", name, batch.size());
+            } catch (Exception e) {
+                log.error("Error writing write-behind batch for cache: " + name + ", size: " + batch.size(), e);
+                requeue(batch, oldest);
+                // 重新入队的条目留待下次定时写出，避免在Redis不可用时循环重试
+                return 0;
+            }
+            return batch.size();
+        }
+    }
+
+    private synchronized void requeue(Map<String, Object> batch, long enqueuedAt) {
+        batch.forEach((cacheKey, stored) -> {
+            if (pending.containsKey(cacheKey)) {
+                return;
+            }
+            if (pending.size() >= maxPending) {
+                dropped.increment();
+                return;
+            }
+            pending.put(cacheKey, new Pending(stored, enqueuedAt));
+        });
+    }
+}
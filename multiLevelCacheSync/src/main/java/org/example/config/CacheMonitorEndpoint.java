@@ -44,7 +44,7 @@ public class CacheMonitorEndpoint {
     @ReadOperation
     public CacheStats getCacheStats(@Selector String cacheName) {
         Map<String, CacheStats> statsMap = cacheManager.getCacheStats();
-        return statsMap.getOrDefault(cacheName, CacheStats.builder().cacheName(cacheName).build());
+        return statsMap.getOrDefault(cacheName, new CacheStats(cacheName));
     }
 
     /**
@@ -1,11 +1,14 @@
 package org.example.config;
 
 import lombok.Data;
+import org.redisson.api.LocalCachedMapOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -67,6 +70,11 @@ public class CacheProperties {
      */
     private BatchProperties batch = new BatchProperties();
 
+    /**
+     * 本地缓存快照配置
+     */
+    private SnapshotProperties snapshot = new SnapshotProperties();
+
     /**
      * 默认缓存配置
      */
@@ -234,6 +242,11 @@ public class CacheProperties {
          * 队列容量
          */
         private int queueCapacity = 1000;
+
+        /**
+         * 事件合并时间窗口（毫秒），小于等于0时每个事件立即发布
+         */
+        private long windowMillis = 5;
     }
 
     /**
@@ -350,17 +363,59 @@ public class CacheProperties {
          */
         private int maxSize = 100;
 
+        /**
+         * 同时执行的分块数，1表示按顺序逐块执行
+         */
+        private int parallelism = 1;
+
         /**
          * 超时时间（毫秒）
          */
         private long timeout = 5000;
     }
 
+    /**
+     * 本地缓存快照配置
+     * 正常关闭时将各缓存最热的本地条目写入本地文件，启动时异步加载并与Redis核对
+     */
+    @Data
+    public static class SnapshotProperties {
+        /**
+         * 是否启用本地缓存快照
+         */
+        private boolean enabled = false;
+
+        /**
+         * 快照目录
+         */
+        private String directory = "cache-snapshot";
+
+        /**
+         * 每个缓存写入快照的最大条目数
+         */
+        private int maxEntries = 1000;
+
+        /**
+         * 快照最长有效期（秒），超过后启动时不再加载
+         */
+        private long maxAge = 600;
+    }
+
     /**
      * 单个缓存的配置
      */
     @Data
     public static class CacheConfig {
+        /**
+         * 缓存引擎
+         */
+        private CacheEngine engine = CacheEngine.MULTI_LEVEL;
+
+        /**
+         * 近缓存配置（仅LOCAL_CACHED_MAP引擎使用）
+         */
+        private NearCacheConfig nearCache = new NearCacheConfig();
+
         /**
          * 本地缓存配置
          */
@@ -381,6 +436,26 @@ public class CacheProperties {
          */
         private CacheSyncConfig sync = new CacheSyncConfig();
 
+        /**
+         * 提前刷新配置
+         */
+        private RefreshConfig refresh = new RefreshConfig();
+
+        /**
+         * 热点键配置
+         */
+        private HotKeyConfig hotKey = new HotKeyConfig();
+
+        /**
+         * 堆外缓存（L1.5）配置
+         */
+        private OffHeapConfig offHeap = new OffHeapConfig();
+
+        /**
+         * L2延迟写入配置
+         */
+        private WriteBehindConfig writeBehind = new WriteBehindConfig();
+
         /**
          * 本地缓存配置
          */
@@ -396,6 +471,11 @@ public class CacheProperties {
              */
             private int maximumSize = 1000;
 
+            /**
+             * 内存预算（字节），大于0时按条目估算大小限制容量，不再使用最大条目数
+             */
+            private long maximumWeightBytes = 0;
+
             /**
              * 写入后过期时间（秒）
              */
@@ -416,6 +496,45 @@ public class CacheProperties {
              * 过期时间（秒）
              */
             private long timeToLive = 1800;
+
+            /**
+             * L2存储模式
+             */
+            private StorageMode storageMode = StorageMode.MAP_CACHE;
+
+            /**
+             * L2键名后缀（布局版本），实际的Redis键名为"缓存名称:后缀"。
+             * 键编码或条目格式变化时更换后缀，滚动发布期间新旧版本节点读写各自的键，
+             * 不会把对方的数据当作自身格式解析；旧键不再被访问，按原有过期时间自然失效。
+             * 置为空字符串时直接使用缓存名称，仅用于确认没有旧版本节点和旧数据的部署
+             */
+            private String keyVersion = "v2";
+
+            /**
+             * 维护前缀索引的键前缀，按这些前缀进行模式删除时只遍历索引
+             */
+            private List<String> indexedPrefixes = new ArrayList<>();
+
+            /**
+             * 桶数量，大于1时条目按键哈希分散到多个Redis键，每个桶独立过期；
+             * 修改后原有桶中的条目不再被访问，只能等待其过期
+             */
+            private int buckets = 1;
+
+            /**
+             * L2存储模式枚举
+             */
+            public enum StorageMode {
+                /**
+                 * 单个Hash存储，所有条目共享整个Hash的过期时间
+                 */
+                HASH,
+
+                /**
+                 * RMapCache存储，每个条目独立过期
+                 */
+                MAP_CACHE
+            }
         }
 
         /**
@@ -432,6 +551,204 @@ public class CacheProperties {
              * 是否启用锁防护
              */
             private boolean lockEnabled = true;
+
+            /**
+             * 缓存击穿防护模式
+             */
+            private StampedeMode stampedeMode = StampedeMode.LOCK;
+
+            /**
+             * XFetch提前过期系数，越大越倾向于提前重新计算
+             */
+            private double xfetchBeta = 1.0;
+
+            /**
+             * 布隆过滤器配置，用于拦截一定不存在的键
+             */
+            private BloomFilterConfig bloomFilter = new BloomFilterConfig();
+
+            /**
+             * 布隆过滤器配置
+             */
+            @Data
+            public static class BloomFilterConfig {
+                /**
+                 * 是否启用，需要同时提供该缓存的键来源
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * 预期元素数量
+                 */
+                private long expectedInsertions = 1000000;
+
+                /**
+                 * 误判率
+                 */
+                private double falsePositiveProbability = 0.01;
+
+                /**
+                 * 本地副本刷新间隔（秒）
+                 */
+                private long refreshInterval = 30;
+            }
+
+            /**
+             * 缓存击穿防护模式枚举
+             */
+            public enum StampedeMode {
+                /**
+                 * 未命中时通过分布式锁保证只有一个请求加载
+                 */
+                LOCK,
+
+                /**
+                 * 概率提前过期（XFetch），临近过期时由少量命中请求无锁提前重新计算，未命中仍通过分布式锁加载
+                 */
+                XFETCH
+            }
+        }
+
+        /**
+         * 提前刷新配置
+         */
+        @Data
+        public static class RefreshConfig {
+            /**
+             * 是否启用提前刷新
+             */
+            private boolean enabled = false;
+
+            /**
+             * 触发刷新的TTL比例，条目存活超过该比例后读取时触发一次后台刷新
+             */
+            private double aheadFraction = 0.8;
+
+            /**
+             * 过期后继续返回旧值的宽限期（秒），期间由后台刷新加载新值
+             */
+            private long staleGrace = 0;
+        }
+
+        /**
+         * 热点键配置
+         */
+        @Data
+        public static class HotKeyConfig {
+            /**
+             * 是否启用热点键探测
+             */
+            private boolean enabled = true;
+
+            /**
+             * 保留的热点键数量
+             */
+            private int topK = 20;
+
+            /**
+             * 成为热点的最小估算访问次数
+             */
+            private long minFrequency = 100;
+
+            /**
+             * 采样窗口，累计访问达到该次数后频率减半
+             */
+            private int sampleSize = 100000;
+
+            /**
+             * 是否将热点键固定在本地保护区，不受普通本地缓存淘汰影响
+             */
+            private boolean pinEnabled = false;
+
+            /**
+             * 保护区最大条目数
+             */
+            private int pinnedSize = 100;
+
+            /**
+             * 保护区条目的过期时间（秒）
+             */
+            private long pinnedTtl = 3600;
+        }
+
+        /**
+         * 堆外缓存（L1.5）配置
+         */
+        @Data
+        public static class OffHeapConfig {
+            /**
+             * 是否启用堆外缓存，启用后从本地缓存淘汰的条目降级到堆外，命中后提升回本地缓存
+             */
+            private boolean enabled = false;
+
+            /**
+             * 堆外内存容量（字节）
+             */
+            private long capacityBytes = 64L * 1024 * 1024;
+
+            /**
+             * 堆外内存块大小（字节）
+             */
+            private int blockSize = 512;
+        }
+
+        /**
+         * L2延迟写入配置
+         * 适用于可以重建的缓存值：写入只更新本地缓存并进入队列，由后台按批写入Redis，
+         * 写出后才发布同步事件；写出前节点异常退出时未写出的条目丢失
+         */
+        @Data
+        public static class WriteBehindConfig {
+            /**
+             * 是否启用延迟写入
+             */
+            private boolean enabled = false;
+
+            /**
+             * 最大待写入条目数，超过时由写入线程同步写出一批
+             */
+            private int maxPending = 10000;
+
+            /**
+             * 每批写出的最大条目数
+             */
+            private int batchSize = 500;
+
+            /**
+             * 定时写出间隔（毫秒）
+             */
+            private long flushInterval = 1000;
+        }
+
+        /**
+         * 缓存引擎枚举
+         */
+        public enum CacheEngine {
+            /**
+             * Caffeine本地缓存 + Redis存储 + 自定义发布订阅同步
+             */
+            MULTI_LEVEL,
+
+            /**
+             * Redisson RLocalCachedMap，使用其内置的失效/更新策略
+             */
+            LOCAL_CACHED_MAP
+        }
+
+        /**
+         * 近缓存配置
+         */
+        @Data
+        public static class NearCacheConfig {
+            /**
+             * 本地缓存同步策略
+             */
+            private LocalCachedMapOptions.SyncStrategy syncStrategy = LocalCachedMapOptions.SyncStrategy.INVALIDATE;
+
+            /**
+             * 断线重连策略
+             */
+            private LocalCachedMapOptions.ReconnectionStrategy reconnectionStrategy = LocalCachedMapOptions.ReconnectionStrategy.CLEAR;
         }
 
         /**
@@ -443,6 +760,26 @@ public class CacheProperties {
              * 是否启用同步
              */
             private boolean enabled = true;
+
+            /**
+             * 同步模式
+             */
+            private SyncMode mode = SyncMode.FULL;
+
+            /**
+             * 同步模式枚举
+             */
+            public enum SyncMode {
+                /**
+                 * 同步事件携带缓存值，其他节点直接写入本地缓存
+                 */
+                FULL,
+
+                /**
+                 * 同步事件只携带键和版本，其他节点失效本地缓存，下次访问时从Redis读取
+                 */
+                INVALIDATE
+            }
         }
     }
 
@@ -1,9 +1,13 @@
 package org.example.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.cache.bloom.BloomFilterKeySource;
+import org.example.cache.tag.CacheTagResolver;
+import org.example.cache.weigh.CacheWeightEstimator;
 import org.example.listener.CacheEventListener;
 import org.example.listener.RedissonCacheEventListener;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -50,12 +54,18 @@ public class MultiLevelCacheAutoConfiguration {
     public CacheManager cacheManager(
             RedissonClient redissonClient,
             CacheProperties cacheProperties,
-            @Lazy CacheEventListener cacheEventListener) {
+            @Lazy CacheEventListener cacheEventListener,
+            ObjectProvider<CacheTagResolver> tagResolvers,
+            ObjectProvider<BloomFilterKeySource> bloomFilterKeySources,
+            ObjectProvider<CacheWeightEstimator> weightEstimators) {
         log.info("Configuring MultiLevelCacheManager");
         return new MultiLevelCacheManager(
                 redissonClient,
                 cacheProperties,
-                cacheEventListener
+                cacheEventListener,
+                tagResolvers.orderedStream().toList(),
+                bloomFilterKeySources.orderedStream().toList(),
+                weightEstimators.orderedStream().toList()
         );
     }
 
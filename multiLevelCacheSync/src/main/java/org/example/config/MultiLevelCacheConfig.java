@@ -4,10 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.example.cache.bloom.BloomFilterKeySource;
+import org.example.cache.tag.CacheTagResolver;
+import org.example.cache.weigh.CacheWeightEstimator;
 import org.example.listener.CacheEventListener;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCache;
@@ -66,9 +70,15 @@ public class MultiLevelCacheConfig {
      */
     @Bean
     @Primary
-    public CacheManager cacheManager(RedissonClient redissonClient, CacheProperties properties, CacheEventListener cacheEventListener) {
+    public CacheManager cacheManager(RedissonClient redissonClient, CacheProperties properties, CacheEventListener cacheEventListener,
+                                     ObjectProvider<CacheTagResolver> tagResolvers,
+                                     ObjectProvider<BloomFilterKeySource> bloomFilterKeySources,
+                                     ObjectProvider<CacheWeightEstimator> weightEstimators) {
         log.info("初始化多级缓存管理器...");
-        MultiLevelCacheManager cacheManager = new MultiLevelCacheManager(redissonClient, properties, cacheEventListener);
+        MultiLevelCacheManager cacheManager = new MultiLevelCacheManager(redissonClient, properties, cacheEventListener,
+                tagResolvers.orderedStream().toList(),
+                bloomFilterKeySources.orderedStream().toList(),
+                weightEstimators.orderedStream().toList());
         
         // 预初始化所有缓存
         for (String cacheName : CACHE_NAMES) {
@@ -2,42 +2,121 @@ package org.example.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import lombok.extern.slf4j.Slf4j;
+import org.example.cache.LocalCachedMapCache;
+import org.example.cache.MonitoredCache;
 import org.example.cache.MultiLevelCache;
+import org.example.cache.hotkey.HotKeyDetector;
+import org.example.cache.offheap.OffHeapStore;
+import org.example.cache.snapshot.LocalCacheSnapshot;
+import org.example.cache.bloom.BloomFilterKeySource;
+import org.example.cache.bloom.CacheBloomFilter;
+import org.example.cache.event.CacheEventCoalescer;
+import org.example.cache.version.HybridLogicalClock;
+import org.example.cache.warm.AccessFrequencyRecorder;
+import org.example.cache.store.HashRedisCacheStore;
+import org.example.cache.store.MapCacheRedisCacheStore;
+import org.example.cache.store.PrefixIndexedRedisCacheStore;
+import org.example.cache.store.RedisCacheStore;
+import org.example.cache.store.ShardedRedisCacheStore;
+import org.example.cache.tag.CacheTagResolver;
+import org.example.cache.weigh.CacheWeightEstimator;
+import org.example.cache.weigh.SerializedSizeEstimator;
 import org.example.listener.CacheEventListener;
 import org.example.endpoint.CacheStats;
+import org.redisson.api.LocalCachedMapOptions;
+import org.redisson.api.RLocalCachedMap;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CompositeCodec;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cache.support.AbstractCacheManager;
 import org.springframework.util.StringUtils;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 多级缓存管理器
  * 管理本地缓存和分布式缓存的协同工作
  */
 @Slf4j
-public class MultiLevelCacheManager extends AbstractCacheManager {
+public class MultiLevelCacheManager extends AbstractCacheManager implements DisposableBean {
+
+    /**
+     * 访问频率合并到Redis的间隔（秒）
+     */
+    private static final long FREQUENCY_FLUSH_INTERVAL_SECONDS = 10;
 
     private final RedissonClient redissonClient;
     private final CacheProperties cacheProperties;
     private final CacheEventListener cacheEventListener;
-    private final Map<String, MultiLevelCache> cacheMap = new ConcurrentHashMap<>();
+    private final Map<String, org.springframework.cache.Cache> cacheMap = new ConcurrentHashMap<>();
     private final String nodeId;
+    private final CacheEventCoalescer eventCoalescer;
+    private final HybridLogicalClock clock = new HybridLogicalClock();
+    private final ThreadPoolExecutor refreshExecutor = createRefreshExecutor();
+    private final ThreadPoolExecutor asyncExecutor = createAsyncExecutor();
+    private final ThreadPoolExecutor batchExecutor = createBatchExecutor();
+    private final List<CacheTagResolver> tagResolvers;
+    private final List<BloomFilterKeySource> bloomFilterKeySources;
+    private final List<CacheWeightEstimator> weightEstimators;
+    private final LocalCacheSnapshot localSnapshot;
+    private final ScheduledExecutorService maintenanceScheduler = createMaintenanceScheduler();
+    private final ScheduledExecutorService writeBehindScheduler = createWriteBehindScheduler();
 
     public MultiLevelCacheManager(
             RedissonClient redissonClient,
             CacheProperties cacheProperties,
             CacheEventListener cacheEventListener) {
+        this(redissonClient, cacheProperties, cacheEventListener, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public MultiLevelCacheManager(
+            RedissonClient redissonClient,
+            CacheProperties cacheProperties,
+            CacheEventListener cacheEventListener,
+            List<CacheTagResolver> tagResolvers,
+            List<BloomFilterKeySource> bloomFilterKeySources) {
+        this(redissonClient, cacheProperties, cacheEventListener, tagResolvers, bloomFilterKeySources,
+                Collections.emptyList());
+    }
+
+    public MultiLevelCacheManager(
+            RedissonClient redissonClient,
+            CacheProperties cacheProperties,
+            CacheEventListener cacheEventListener,
+            List<CacheTagResolver> tagResolvers,
+            List<BloomFilterKeySource> bloomFilterKeySources,
+            List<CacheWeightEstimator> weightEstimators) {
         this.redissonClient = redissonClient;
+        this.tagResolvers = tagResolvers;
+        this.bloomFilterKeySources = bloomFilterKeySources;
+        this.weightEstimators = weightEstimators;
+        this.localSnapshot = cacheProperties.getSnapshot().isEnabled()
+                ? new LocalCacheSnapshot(Path.of(cacheProperties.getSnapshot().getDirectory()),
+                        redissonClient.getConfig().getCodec())
+                : null;
         this.cacheProperties = cacheProperties;
         this.cacheEventListener = cacheEventListener;
         this.nodeId = generateNodeId();
+        this.eventCoalescer = new CacheEventCoalescer(
+                cacheProperties.getSync(), cacheEventListener::publishEvent, nodeId);
 
         // 启动缓存事件监听器
         this.cacheEventListener.start();
@@ -52,7 +131,20 @@ public class MultiLevelCacheManager extends AbstractCacheManager {
 
     @Override
     protected org.springframework.cache.Cache getMissingCache(String name) {
-        return cacheMap.computeIfAbsent(name, this::createMultiLevelCache);
+        return cacheMap.computeIfAbsent(name, this::createCache);
+    }
+
+    /**
+     * 根据缓存配置的引擎创建缓存
+     * @param name 缓存名称
+     * @return 缓存实例
+     */
+    private org.springframework.cache.Cache createCache(String name) {
+        CacheProperties.CacheConfig cacheConfig = cacheProperties.getCacheConfig(name);
+        return switch (cacheConfig.getEngine()) {
+            case MULTI_LEVEL -> createMultiLevelCache(name);
+            case LOCAL_CACHED_MAP -> createLocalCachedMapCache(name, cacheConfig);
+        };
     }
 
     /**
@@ -64,35 +156,82 @@ public class MultiLevelCacheManager extends AbstractCacheManager {
         log.info("Creating multi-level cache: {}", name);
 
         // 获取缓存特定配置
-        CacheProperties.CacheConfig cacheConfig = cacheProperties.getCaches().getOrDefault(
-                name, cacheProperties.getDefaultConfig());
+        CacheProperties.CacheConfig cacheConfig = cacheProperties.getCacheConfig(name);
 
         // 创建Caffeine缓存
-        Cache<Object, Object> caffeineCache = createCaffeineCache(name, cacheConfig);
+        CacheWeightEstimator weightEstimator = findWeightEstimator(name);
+        OffHeapStore offHeapStore = createOffHeapStore(name, cacheConfig);
+        Cache<Object, Object> caffeineCache = createCaffeineCache(name, cacheConfig, weightEstimator, offHeapStore);
+
+        // 创建Redis存储
+        RedisCacheStore redisStore = createRedisStore(name, cacheConfig);
 
         // 创建多级缓存
         MultiLevelCache multiLevelCache = new MultiLevelCache(
                 name,
                 caffeineCache,
                 redissonClient,
+                redisStore,
                 cacheProperties,
+                cacheConfig,
                 nodeId,
                 event -> {
-                    cacheEventListener.publishEvent(event);
+                    eventCoalescer.submit(event);
                     return null;
-                }
+                },
+                clock,
+                refreshExecutor,
+                asyncExecutor,
+                batchExecutor,
+                findTagResolver(name),
+                createBloomFilter(name, cacheConfig),
+                createFrequencyRecorder(name, cacheConfig),
+                createHotKeyDetector(cacheConfig),
+                createPinnedCache(cacheConfig),
+                weightEstimator,
+                offHeapStore,
+                writeBehindScheduler
         );
+        restoreSnapshot(multiLevelCache);
 
         return multiLevelCache;
     }
 
+    /**
+     * 创建基于RLocalCachedMap的近缓存
+     * @param name 缓存名称
+     * @param cacheConfig 缓存配置
+     * @return 近缓存实例
+     */
+    private LocalCachedMapCache createLocalCachedMapCache(String name, CacheProperties.CacheConfig cacheConfig) {
+        log.info("Creating local cached map cache: {}", name);
+
+        CacheProperties.CacheConfig.LocalCacheConfig localConfig = cacheConfig.getLocal();
+        LocalCachedMapOptions<String, Object> options = LocalCachedMapOptions.<String, Object>defaults()
+                .cacheProvider(LocalCachedMapOptions.CacheProvider.CAFFEINE)
+                .cacheSize(localConfig.getMaximumSize())
+                .evictionPolicy(LocalCachedMapOptions.EvictionPolicy.LRU)
+                .timeToLive(localConfig.getExpireAfterWrite(), TimeUnit.SECONDS)
+                .maxIdle(localConfig.getExpireAfterAccess(), TimeUnit.SECONDS)
+                .syncStrategy(cacheConfig.getNearCache().getSyncStrategy())
+                .reconnectionStrategy(cacheConfig.getNearCache().getReconnectionStrategy());
+
+        RLocalCachedMap<String, Object> map = redissonClient.getLocalCachedMap(
+                storeName(name, cacheConfig), createCodec(), options);
+        return new LocalCachedMapCache(name, map, redissonClient, cacheProperties, cacheConfig);
+    }
+
     /**
      * 创建Caffeine本地缓存
      * @param name 缓存名称
      * @param cacheConfig 缓存配置
+     * @param weightEstimator 条目权重估算器，配置了内存预算时使用
+     * @param offHeapStore 堆外缓存，不为null时按容量淘汰的条目降级到堆外
      * @return Caffeine缓存实例
      */
-    private Cache<Object, Object> createCaffeineCache(String name, CacheProperties.CacheConfig cacheConfig) {
+    private Cache<Object, Object> createCaffeineCache(String name, CacheProperties.CacheConfig cacheConfig,
+                                                      CacheWeightEstimator weightEstimator,
+                                                      OffHeapStore offHeapStore) {
         Caffeine<Object, Object> caffeineBuilder = Caffeine.newBuilder();
 
         // 设置初始容量
@@ -100,20 +239,33 @@ public class MultiLevelCacheManager extends AbstractCacheManager {
             caffeineBuilder.initialCapacity(cacheConfig.getLocal().getInitialCapacity());
         }
 
-        // 设置最大容量
-        if (cacheConfig.getLocal().getMaximumSize() > 0) {
+        // 设置最大容量：配置了内存预算时按估算字节数限制，否则按条目数限制
+        long maximumWeightBytes = cacheConfig.getLocal().getMaximumWeightBytes();
+        if (maximumWeightBytes > 0) {
+            caffeineBuilder.maximumWeight(maximumWeightBytes)
+                    .weigher((key, value) -> weightEstimator.estimate(key, value));
+            log.info("Local cache sized by weight, cache: {}, maximumWeightBytes: {}", name, maximumWeightBytes);
+        } else if (cacheConfig.getLocal().getMaximumSize() > 0) {
             caffeineBuilder.maximumSize(cacheConfig.getLocal().getMaximumSize());
         }
 
-        // 设置过期时间
+        // 设置过期时间（配置单位为秒）
         if (cacheConfig.getLocal().getExpireAfterWrite() > 0) {
-            caffeineBuilder.expireAfterWrite(cacheConfig.getLocal().getExpireAfterWrite(), TimeUnit.MILLISECONDS);
+            caffeineBuilder.expireAfterWrite(cacheConfig.getLocal().getExpireAfterWrite(), TimeUnit.SECONDS);
         }
 
         if (cacheConfig.getLocal().getExpireAfterAccess() > 0) {
-            caffeineBuilder.expireAfterAccess(cacheConfig.getLocal().getExpireAfterAccess(), TimeUnit.MILLISECONDS);
+            caffeineBuilder.expireAfterAccess(cacheConfig.getLocal().getExpireAfterAccess(), TimeUnit.SECONDS);
         }
 
+        // 按容量淘汰的条目降级到堆外缓存，过期和显式删除的条目不降级
+        if (offHeapStore != null) {
+            caffeineBuilder.evictionListener((Object key, Object value, RemovalCause cause) -> {
+                if (cause == RemovalCause.SIZE && key != null && value != null) {
+                    offHeapStore.put(key, value);
+                }
+            });
+        }
 
         // 设置统计收集
         caffeineBuilder.recordStats();
@@ -121,6 +273,251 @@ public class MultiLevelCacheManager extends AbstractCacheManager {
         return caffeineBuilder.build();
     }
 
+    /**
+     * 创建Redis存储
+     * @param name 缓存名称
+     * @param cacheConfig 缓存配置
+     * @return Redis存储实例
+     */
+    private RedisCacheStore createRedisStore(String name, CacheProperties.CacheConfig cacheConfig) {
+        Codec codec = createCodec();
+        CacheProperties.CacheConfig.RedisCacheConfig.StorageMode storageMode = cacheConfig.getRedis().getStorageMode();
+        int bucketCount = cacheConfig.getRedis().getBuckets();
+        String storeName = storeName(name, cacheConfig);
+        List<String> indexedPrefixes = cacheConfig.getRedis().getIndexedPrefixes();
+        if (bucketCount > 1) {
+            // 前缀索引按桶维护，与所在桶的条目一同拆分
+            List<RedisCacheStore> buckets = new ArrayList<>(bucketCount);
+            for (int i = 0; i < bucketCount; i++) {
+                buckets.add(indexPrefixes(createBucketStore(ShardedRedisCacheStore.bucketName(storeName, i),
+                        storageMode, codec), indexedPrefixes));
+            }
+            log.info("Sharded L2 store created, cache: {}, buckets: {}", name, bucketCount);
+            return new ShardedRedisCacheStore(storeName, buckets, batchExecutor);
+        }
+        return indexPrefixes(createBucketStore(storeName, storageMode, codec), indexedPrefixes);
+    }
+
+    /**
+     * 配置了索引前缀时为存储添加前缀索引
+     */
+    private RedisCacheStore indexPrefixes(RedisCacheStore store, List<String> indexedPrefixes) {
+        if (indexedPrefixes == null || indexedPrefixes.isEmpty()) {
+            return store;
+        }
+        return new PrefixIndexedRedisCacheStore(store, redissonClient, indexedPrefixes);
+    }
+
+    /**
+     * L2的Redis键名：缓存名称加布局版本后缀，与旧版本节点使用的键隔离
+     * @param name 缓存名称
+     * @param cacheConfig 缓存配置
+     * @return Redis键名
+     */
+    private static String storeName(String name, CacheProperties.CacheConfig cacheConfig) {
+        String keyVersion = cacheConfig.getRedis().getKeyVersion();
+        return StringUtils.hasText(keyVersion) ? name + ":" + keyVersion : name;
+    }
+
+    /**
+     * 按存储模式创建单个Redis键的存储
+     * @param name Redis键名
+     * @param storageMode 存储模式
+     * @param codec 编码器
+     * @return Redis存储实例
+     */
+    private RedisCacheStore createBucketStore(String name,
+                                              CacheProperties.CacheConfig.RedisCacheConfig.StorageMode storageMode,
+                                              Codec codec) {
+        return switch (storageMode) {
+            case HASH -> new HashRedisCacheStore(name, redissonClient, codec);
+            case MAP_CACHE -> new MapCacheRedisCacheStore(name, redissonClient, codec);
+        };
+    }
+
+    /**
+     * 在后台加载缓存的本地快照，加载后与Redis核对版本
+     * 快照超过有效期时直接丢弃；加载期间到达的同步事件按版本正常合并
+     * @param cache 多级缓存
+     */
+    private void restoreSnapshot(MultiLevelCache cache) {
+        if (localSnapshot == null) {
+            return;
+        }
+        maintenanceScheduler.execute(() -> {
+            try {
+                LocalCacheSnapshot.Snapshot snapshot = localSnapshot.read(cache.getName());
+                if (snapshot == null) {
+                    return;
+                }
+                long age = System.currentTimeMillis() - snapshot.createdAt();
+                if (age > cacheProperties.getSnapshot().getMaxAge() * 1000) {
+                    log.info("Discarded expired cache snapshot, cache: {}, age: {}ms", cache.getName(), age);
+                    return;
+                }
+                long start = System.currentTimeMillis();
+                int restored = cache.restoreLocal(snapshot.entries());
+                int changed = cache.reconcileLocal(snapshot.entries(),
+                        Math.max(1, cacheProperties.getBatch().getMaxSize()));
+                log.info("Cache snapshot restored, cache: {}, restored: {}, reconciled: {}, cost: {}ms",
+                        cache.getName(), restored, changed, System.currentTimeMillis() - start);
+            } catch (Exception e) {
+                log.error("Error restoring cache snapshot: " + cache.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * 将各多级缓存最热的本地条目写入快照
+     */
+    private void saveSnapshots() {
+        if (localSnapshot == null) {
+            return;
+        }
+        int maxEntries = cacheProperties.getSnapshot().getMaxEntries();
+        for (org.springframework.cache.Cache cache : cacheMap.values()) {
+            if (!(cache instanceof MultiLevelCache multiLevelCache)) {
+                continue;
+            }
+            try {
+                int written = localSnapshot.write(cache.getName(), multiLevelCache.snapshotLocal(maxEntries));
+                log.info("Cache snapshot written, cache: {}, entries: {}", cache.getName(), written);
+            } catch (Exception e) {
+                log.error("Error writing cache snapshot: " + cache.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 创建堆外缓存（L1.5），条目使用L2的值编码器序列化
+     * @param name 缓存名称
+     * @param cacheConfig 缓存配置
+     * @return 堆外缓存，未启用时返回null
+     */
+    private OffHeapStore createOffHeapStore(String name, CacheProperties.CacheConfig cacheConfig) {
+        CacheProperties.CacheConfig.OffHeapConfig config = cacheConfig.getOffHeap();
+        if (!config.isEnabled()) {
+            return null;
+        }
+        OffHeapStore offHeapStore = new OffHeapStore(name, redissonClient.getConfig().getCodec(),
+                config.getCapacityBytes(), config.getBlockSize());
+        log.info("Off-heap store created, cache: {}, capacityBytes: {}", name, offHeapStore.getCapacityBytes());
+        return offHeapStore;
+    }
+
+    /**
+     * 查找支持指定缓存的权重估算器，没有时按L2编码器的序列化大小估算
+     * @param name 缓存名称
+     * @return 权重估算器
+     */
+    private CacheWeightEstimator findWeightEstimator(String name) {
+        return weightEstimators.stream()
+                .filter(estimator -> estimator.supports(name))
+                .findFirst()
+                .orElseGet(() -> new SerializedSizeEstimator(redissonClient.getConfig().getCodec()));
+    }
+
+    /**
+     * 查找支持指定缓存的标签解析器
+     * @param name 缓存名称
+     * @return 标签解析器，没有时返回null
+     */
+    private CacheTagResolver findTagResolver(String name) {
+        return tagResolvers.stream()
+                .filter(resolver -> resolver.supports(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * 创建缓存的布隆过滤器，后台初始化并定期合并Redis中的位图
+     * @param name 缓存名称
+     * @param cacheConfig 缓存配置
+     * @return 布隆过滤器，未启用或没有键来源时返回null
+     */
+    private CacheBloomFilter createBloomFilter(String name, CacheProperties.CacheConfig cacheConfig) {
+        CacheProperties.CacheConfig.CacheProtectionConfig.BloomFilterConfig config =
+                cacheConfig.getProtection().getBloomFilter();
+        if (!config.isEnabled()) {
+            return null;
+        }
+        BloomFilterKeySource keySource = bloomFilterKeySources.stream()
+                .filter(source -> source.supports(name))
+                .findFirst()
+                .orElse(null);
+        if (keySource == null) {
+            log.warn("Bloom filter enabled but no key source found, cache: {}", name);
+            return null;
+        }
+
+        CacheBloomFilter bloomFilter = new CacheBloomFilter(name, redissonClient, keySource,
+                config.getExpectedInsertions(), config.getFalsePositiveProbability());
+        long interval = Math.max(1, config.getRefreshInterval());
+        maintenanceScheduler.execute(() -> {
+            try {
+                bloomFilter.seed();
+            } catch (Exception e) {
+                log.error("Error seeding bloom filter for cache: " + name, e);
+            }
+        });
+        maintenanceScheduler.scheduleWithFixedDelay(bloomFilter::refresh, interval, interval, TimeUnit.SECONDS);
+        log.info("Bloom filter created, cache: {}, bits: {}, hashes: {}",
+                name, bloomFilter.getBitSize(), bloomFilter.getHashCount());
+        return bloomFilter;
+    }
+
+    /**
+     * 创建访问频率记录器，定期合并到Redis供预热使用
+     * @param name 缓存名称
+     * @param cacheConfig 缓存配置
+     * @return 访问频率记录器
+     */
+    private AccessFrequencyRecorder createFrequencyRecorder(String name, CacheProperties.CacheConfig cacheConfig) {
+        AccessFrequencyRecorder recorder = new AccessFrequencyRecorder(
+                name, redissonClient, cacheConfig.getLocal().getMaximumSize() * 2);
+        maintenanceScheduler.scheduleWithFixedDelay(recorder::flush,
+                FREQUENCY_FLUSH_INTERVAL_SECONDS, FREQUENCY_FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        return recorder;
+    }
+
+    /**
+     * 创建热点键探测器
+     * @param cacheConfig 缓存配置
+     * @return 热点键探测器，未启用时返回null
+     */
+    private HotKeyDetector createHotKeyDetector(CacheProperties.CacheConfig cacheConfig) {
+        CacheProperties.CacheConfig.HotKeyConfig config = cacheConfig.getHotKey();
+        if (!config.isEnabled()) {
+            return null;
+        }
+        return new HotKeyDetector(config.getTopK(), config.getMinFrequency(), config.getSampleSize());
+    }
+
+    /**
+     * 创建热点键保护区，容量较小且过期时间长于普通本地缓存
+     * @param cacheConfig 缓存配置
+     * @return 保护区缓存，未启用时返回null
+     */
+    private Cache<Object, Object> createPinnedCache(CacheProperties.CacheConfig cacheConfig) {
+        CacheProperties.CacheConfig.HotKeyConfig config = cacheConfig.getHotKey();
+        if (!config.isEnabled() || !config.isPinEnabled()) {
+            return null;
+        }
+        return Caffeine.newBuilder()
+                .maximumSize(Math.max(1, config.getPinnedSize()))
+                .expireAfterWrite(config.getPinnedTtl(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 创建L2编码器：键使用字符串编码，值沿用Redisson全局编码
+     * @return 编码器
+     */
+    private Codec createCodec() {
+        Codec valueCodec = redissonClient.getConfig().getCodec();
+        return new CompositeCodec(StringCodec.INSTANCE, valueCodec, valueCodec);
+    }
+
     /**
      * 生成唯一的节点ID
      * @return 节点ID
@@ -154,9 +551,8 @@ public class MultiLevelCacheManager extends AbstractCacheManager {
         
         cacheMap.forEach((cacheName, cache) -> {
             try {
-                if (cache instanceof MultiLevelCache) {
-                    MultiLevelCache multiLevelCache = (MultiLevelCache) cache;
-                    CacheStats stats = multiLevelCache.getCacheStats();
+                if (cache instanceof MonitoredCache monitoredCache) {
+                    CacheStats stats = monitoredCache.getCacheStats();
                     if (stats != null) {
                         // 确保设置了缓存名称
                         stats.setCacheName(cacheName);
@@ -169,7 +565,7 @@ public class MultiLevelCacheManager extends AbstractCacheManager {
                         statsMap.put(cacheName, emptyStats);
                     }
                 } else {
-                    log.warn("Cache {} is not an instance of MultiLevelCache", cacheName);
+                    log.warn("Cache {} does not provide statistics", cacheName);
                 }
             } catch (Exception e) {
                 log.error("Error getting stats for cache: " + cacheName, e);
@@ -188,7 +584,126 @@ public class MultiLevelCacheManager extends AbstractCacheManager {
      */
     public void clearAll() {
         log.info("Clearing all caches");
-        cacheMap.values().forEach(MultiLevelCache::clear);
+        cacheMap.values().forEach(org.springframework.cache.Cache::clear);
+    }
+
+    /**
+     * 关闭时写出延迟写入的条目，再发布尚在合并窗口内的同步事件
+     */
+    @Override
+    public void destroy() {
+        log.info("Flushing pending cache writes and events before shutdown");
+        flushWriteBehind();
+        shutdownAsyncExecutor();
+        eventCoalescer.shutdown();
+        saveSnapshots();
+        refreshExecutor.shutdown();
+        batchExecutor.shutdown();
+        maintenanceScheduler.shutdown();
+        writeBehindScheduler.shutdown();
+    }
+
+    /**
+     * 停止各多级缓存的延迟写入，并将剩余条目写入Redis
+     */
+    private void flushWriteBehind() {
+        for (org.springframework.cache.Cache cache : cacheMap.values()) {
+            if (!(cache instanceof MultiLevelCache multiLevelCache)) {
+                continue;
+            }
+            try {
+                multiLevelCache.shutdownWriteBehind();
+            } catch (Exception e) {
+                log.error("Error flushing write-behind queue: " + cache.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 创建后台刷新线程池
+     * 刷新是尽力而为的操作，队列满时直接放弃本次刷新
+     */
+    private static ThreadPoolExecutor createRefreshExecutor() {
+        int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1000),
+                r -> {
+                    Thread thread = new Thread(r, "cache-refresh-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 创建异步读写的后续处理线程池
+     * Redis异步操作完成后的本地缓存更新和事件发布在此执行，队列满时由调用线程执行，不丢弃写入
+     */
+    private static ThreadPoolExecutor createAsyncExecutor() {
+        int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(10000),
+                r -> {
+                    Thread thread = new Thread(r, "cache-async-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 创建批量操作线程池，执行分块写入的并发线路和分桶存储在各桶上的阻塞调用
+     * 不排队：线程均忙时由提交的线程自己执行，线程池内的任务再次并发提交时也不会互相等待而死锁
+     */
+    private static ThreadPoolExecutor createBatchExecutor() {
+        int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "cache-batch-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 等待已提交的异步后续处理完成，使其发布的事件在合并器关闭前进入缓冲
+     */
+    private void shutdownAsyncExecutor() {
+        asyncExecutor.shutdown();
+        try {
+            if (!asyncExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Timed out waiting for async cache operations to complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 创建后台维护任务的调度线程，用于布隆过滤器刷新、访问频率合并等
+     */
+    private static ScheduledExecutorService createMaintenanceScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 创建L2延迟写入的调度线程，与维护任务分开，避免布隆过滤器初始化等长任务推迟写出
+     */
+    private static ScheduledExecutorService createWriteBehindScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cache-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
 //    /**
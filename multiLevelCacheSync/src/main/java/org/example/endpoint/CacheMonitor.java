@@ -2,7 +2,7 @@ package org.example.endpoint;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.cache.MultiLevelCache;
+import org.example.cache.MonitoredCache;
 import org.example.config.MultiLevelCacheManager;
 import org.springframework.cache.Cache;
 import org.springframework.stereotype.Component;
@@ -43,8 +43,8 @@ public class CacheMonitor {
      */
     public CacheStats getCacheStats(String cacheName) {
         Cache cache = cacheManager.getCache(cacheName);
-        if (cache instanceof MultiLevelCache multiLevelCache) {
-            return multiLevelCache.getStats();
+        if (cache instanceof MonitoredCache monitoredCache) {
+            return monitoredCache.getCacheStats();
         }
         return null;
     }
@@ -87,8 +87,8 @@ public class CacheMonitor {
      */
     public List<String> getCacheKeys(String cacheName, int page, int pageSize) {
         Cache cache = cacheManager.getCache(cacheName);
-        if (cache instanceof MultiLevelCache multiLevelCache) {
-            return multiLevelCache.getKeys()
+        if (cache instanceof MonitoredCache monitoredCache) {
+            return monitoredCache.getKeys()
                     .stream()
                     .skip((long) (page - 1) * pageSize)
                     .limit(pageSize)
@@ -97,13 +97,24 @@ public class CacheMonitor {
         return Collections.emptyList();
     }
 
+    /**
+     * 获取指定缓存的热点键
+     */
+    public Map<String, Long> getHotKeys(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof MonitoredCache monitoredCache) {
+            return monitoredCache.getHotKeys();
+        }
+        return Collections.emptyMap();
+    }
+
     /**
      * 获取指定缓存的大小
      */
     public long getCacheSize(String cacheName) {
         Cache cache = cacheManager.getCache(cacheName);
-        if (cache instanceof MultiLevelCache multiLevelCache) {
-            return multiLevelCache.size();
+        if (cache instanceof MonitoredCache monitoredCache) {
+            return monitoredCache.size();
         }
         return 0;
     }
@@ -117,8 +128,8 @@ public class CacheMonitor {
     public boolean resetStats(String cacheName) {
         try {
             Cache cache = cacheManager.getCache(cacheName);
-            if (cache instanceof MultiLevelCache multiLevelCache) {
-                multiLevelCache.getStats().resetStats();
+            if (cache instanceof MonitoredCache monitoredCache) {
+                monitoredCache.resetStats();
                 return true;
             }
             return false;
@@ -158,10 +169,10 @@ public class CacheMonitor {
         
         for (String cacheName : cacheNames) {
             Cache cache = cacheManager.getCache(cacheName);
-            if (cache instanceof MultiLevelCache multiLevelCache) {
+            if (cache instanceof MonitoredCache monitoredCache) {
                 Map<String, Object> cacheStatus = new HashMap<>();
-                long size = multiLevelCache.size();
-                CacheStats stats = multiLevelCache.getStats();
+                long size = monitoredCache.size();
+                CacheStats stats = monitoredCache.getCacheStats();
                 
                 totalEntries += size;
                 activeCaches++;
@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.endpoint.CacheMonitor;
 import org.example.endpoint.CacheStats;
 import org.example.endpoint.CacheWarmer;
+import org.example.listener.RedissonCacheEventListener;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,6 +31,7 @@ public class CacheMonitorEndpoint {
 
     private final CacheMonitor cacheMonitor;
     private final CacheWarmer cacheWarmer;
+    private final RedissonCacheEventListener cacheEventListener;
 
     @GetMapping("/stats")
     @Operation(summary = "获取缓存统计信息", description = "获取所有缓存的统计信息，包括命中率、访问次数等")
@@ -200,6 +202,26 @@ public class CacheMonitorEndpoint {
         }
     }
 
+    @GetMapping("/hot-keys/{cacheName}")
+    @Operation(summary = "获取热点键", description = "获取指定缓存当前探测到的热点键及估算访问频率")
+    public ResponseEntity<Map<String, Object>> getHotKeys(
+            @Parameter(description = "缓存名称") @PathVariable String cacheName) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", new Date());
+        response.put("cacheName", cacheName);
+
+        try {
+            response.put("hotKeys", cacheMonitor.getHotKeys(cacheName));
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error getting hot keys for: {}", cacheName, e);
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     @GetMapping("/health")
     @Operation(summary = "获取缓存健康状态", description = "获取所有缓存的健康状态信息")
     public ResponseEntity<Map<String, Object>> getCacheHealth() {
@@ -219,6 +241,24 @@ public class CacheMonitorEndpoint {
         }
     }
 
+    @GetMapping("/events/metrics")
+    @Operation(summary = "获取同步事件处理指标", description = "获取远程缓存事件的队列深度、应用耗时和过载次数")
+    public ResponseEntity<Map<String, Object>> getEventMetrics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", new Date());
+
+        try {
+            response.put("metrics", cacheEventListener.getDispatcherMetrics());
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error getting cache event metrics", e);
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     @PostMapping("/stats/reset/{cacheName}")
     @Operation(summary = "重置指定缓存的统计信息", description = "重置指定缓存的所有统计数据")
     public ResponseEntity<Map<String, Object>> resetCacheStats(
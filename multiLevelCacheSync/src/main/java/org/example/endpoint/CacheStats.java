@@ -1,74 +1,211 @@
 package org.example.endpoint;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.example.cache.MultiLevelCache;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 缓存统计信息
  * 用于收集和展示缓存使用情况的统计数据
+ * 热路径上只做按级别、按操作的LongAdder累加，汇总值和比率在读取时计算。
+ * 存储层级（L1、L1_5堆外、L2）之外的级别（布隆过滤器拦截、XFetch、刷新、批量加载等）
+ * 单独展示，不计入请求数、命中数和命中率
  */
-@Slf4j
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
 public class CacheStats {
 
+    /**
+     * 参与请求、命中、写入和驱逐汇总的存储层级
+     */
+    public static final Set<String> STORAGE_LEVELS = Set.of("L1", "L1_5", "L2");
+
     private String cacheName;
-    private Map<String, CacheStatInfo> cacheStats = new ConcurrentHashMap<>();
-    private long totalRequests;
-    private long totalHits;
-    private long totalMisses;
-    private long totalLoads;
-    private long totalEvictions;
-    private double hitRatio;
-    private long totalLoadTime;
-    private double averageLoadPenalty;
+    private final Map<String, CacheStatInfo> cacheStats = new ConcurrentHashMap<>();
+
+    /**
+     * Caffeine原生统计信息（仅展示，不参与汇总）
+     */
+    private volatile CacheStatInfo caffeineStats;
+
+    /**
+     * L2延迟写入的待写入条目数、最早待写入条目的等待时间（毫秒）和丢弃的写入数，未启用延迟写入时为0
+     */
+    private long pendingWrites;
+    private long writeFlushLag;
+    private long droppedWrites;
+
+    public CacheStats() {
+    }
+
+    public CacheStats(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /**
+     * 获取各存储层级的统计信息
+     */
+    public Map<String, CacheStatInfo> getCacheStats() {
+        return filterLevels(true);
+    }
 
     /**
-     * 获取指定缓存的统计信息
-     * @param cacheName 缓存名称
+     * 获取存储层级之外的统计信息，如布隆过滤器拦截次数和按来源统计的加载次数
+     */
+    public Map<String, CacheStatInfo> getOperationStats() {
+        return filterLevels(false);
+    }
+
+    private Map<String, CacheStatInfo> filterLevels(boolean storage) {
+        Map<String, CacheStatInfo> levels = new TreeMap<>();
+        cacheStats.forEach((level, statInfo) -> {
+            if (STORAGE_LEVELS.contains(level) == storage) {
+                levels.put(level, statInfo);
+            }
+        });
+        return levels;
+    }
+
+    public CacheStatInfo getCaffeineStats() {
+        return caffeineStats;
+    }
+
+    public long getPendingWrites() {
+        return pendingWrites;
+    }
+
+    public void setPendingWrites(long pendingWrites) {
+        this.pendingWrites = pendingWrites;
+    }
+
+    public long getWriteFlushLag() {
+        return writeFlushLag;
+    }
+
+    public void setWriteFlushLag(long writeFlushLag) {
+        this.writeFlushLag = writeFlushLag;
+    }
+
+    public long getDroppedWrites() {
+        return droppedWrites;
+    }
+
+    public void setDroppedWrites(long droppedWrites) {
+        this.droppedWrites = droppedWrites;
+    }
+
+    /**
+     * 获取指定级别的统计信息
+     * @param level 缓存级别名称
      * @return 缓存统计信息
      */
-    public CacheStatInfo getCacheStatInfo(String cacheName) {
-        return cacheStats.computeIfAbsent(cacheName, name -> new CacheStatInfo(name));
+    public CacheStatInfo getCacheStatInfo(String level) {
+        CacheStatInfo statInfo = cacheStats.get(level);
+        if (statInfo != null) {
+            return statInfo;
+        }
+        return cacheStats.computeIfAbsent(level, CacheStatInfo::new);
+    }
+
+    /**
+     * 获取总请求数，只统计存储层级
+     */
+    public long getTotalRequests() {
+        long total = 0;
+        for (CacheStatInfo statInfo : getCacheStats().values()) {
+            total += statInfo.getRequestCount();
+        }
+        return total;
+    }
+
+    /**
+     * 获取总命中数，只统计存储层级
+     */
+    public long getTotalHits() {
+        long total = 0;
+        for (CacheStatInfo statInfo : getCacheStats().values()) {
+            total += statInfo.getHitCount();
+        }
+        return total;
     }
 
     /**
-     * 更新总体统计信息
+     * 获取总未命中数，只统计存储层级
      */
-    public void updateTotalStats() {
-        totalRequests = 0;
-        totalHits = 0;
-        totalMisses = 0;
-        totalLoads = 0;
-        totalEvictions = 0;
-        totalLoadTime = 0;
+    public long getTotalMisses() {
+        long total = 0;
+        for (CacheStatInfo statInfo : getCacheStats().values()) {
+            total += statInfo.getMissCount();
+        }
+        return total;
+    }
 
+    /**
+     * 获取总加载次数
+     */
+    public long getTotalLoads() {
+        long total = 0;
         for (CacheStatInfo statInfo : cacheStats.values()) {
-            totalRequests += statInfo.getRequestCount();
-            totalHits += statInfo.getHitCount();
-            totalMisses += statInfo.getMissCount();
-            totalLoads += statInfo.getLoads().sum();
-            totalEvictions += statInfo.getEvictionCount();
-            totalLoadTime += statInfo.getTotalLoadTime();
+            total += statInfo.getLoadCount();
         }
+        return total;
+    }
+
+    /**
+     * 获取总写入次数，只统计存储层级
+     */
+    public long getTotalPuts() {
+        long total = 0;
+        for (CacheStatInfo statInfo : getCacheStats().values()) {
+            total += statInfo.getPutCount();
+        }
+        return total;
+    }
+
+    /**
+     * 获取总驱逐次数，只统计存储层级
+     */
+    public long getTotalEvictions() {
+        long total = 0;
+        for (CacheStatInfo statInfo : getCacheStats().values()) {
+            total += statInfo.getEvictionCount();
+        }
+        return total;
+    }
+
+    /**
+     * 获取总加载耗时（纳秒）
+     */
+    public long getTotalLoadTime() {
+        long total = 0;
+        for (CacheStatInfo statInfo : cacheStats.values()) {
+            total += statInfo.getTotalLoadTime();
+        }
+        return total;
+    }
+
+    /**
+     * 获取命中率，只统计存储层级
+     */
+    public double getHitRatio() {
+        long totalRequests = getTotalRequests();
+        return totalRequests == 0 ? 0.0 : (double) getTotalHits() / totalRequests;
+    }
 
-        hitRatio = totalRequests == 0 ? 0.0 : (double) totalHits / totalRequests;
-        averageLoadPenalty = totalLoads == 0 ? 0.0 : (double) totalLoadTime / totalLoads;
+    /**
+     * 获取平均加载耗时（纳秒）
+     */
+    public double getAverageLoadPenalty() {
+        long totalLoads = getTotalLoads();
+        return totalLoads == 0 ? 0.0 : (double) getTotalLoadTime() / totalLoads;
     }
 
     /**
@@ -76,14 +213,21 @@ public class CacheStats {
      */
     public void resetStats() {
         cacheStats.values().forEach(CacheStatInfo::reset);
-        totalRequests = 0;
-        totalHits = 0;
-        totalMisses = 0;
-        totalLoads = 0;
-        totalEvictions = 0;
-        totalLoadTime = 0;
-        hitRatio = 0.0;
-        averageLoadPenalty = 0.0;
+        caffeineStats = null;
+    }
+
+    /**
+     * 创建当前统计信息的快照
+     * @return 与当前实例互不影响的统计信息副本
+     */
+    public CacheStats snapshot() {
+        CacheStats snapshot = new CacheStats(cacheName);
+        cacheStats.forEach((level, statInfo) -> snapshot.cacheStats.put(level, statInfo.snapshot()));
+        CacheStatInfo currentCaffeineStats = caffeineStats;
+        if (currentCaffeineStats != null) {
+            snapshot.caffeineStats = currentCaffeineStats.snapshot();
+        }
+        return snapshot;
     }
 
     /**
@@ -91,9 +235,7 @@ public class CacheStats {
      * @param caffeineStats Caffeine缓存统计信息
      */
     public void updateCaffeineStats(com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats) {
-        CacheStatInfo statInfo = getCacheStatInfo(cacheName);
-        statInfo.updateCaffeineStats(caffeineStats);
-        updateTotalStats();
+        this.caffeineStats = CacheStatInfo.of("caffeine", caffeineStats);
     }
 
     /**
@@ -101,9 +243,7 @@ public class CacheStats {
      * @param level 缓存级别名称
      */
     public void recordHit(String level) {
-        CacheStatInfo statInfo = getCacheStatInfo(level);
-        statInfo.recordHit();
-        updateTotalStats();
+        getCacheStatInfo(level).recordHit();
     }
 
     /**
@@ -111,9 +251,7 @@ public class CacheStats {
      * @param level 缓存级别名称
      */
     public void recordMiss(String level) {
-        CacheStatInfo statInfo = getCacheStatInfo(level);
-        statInfo.recordMiss();
-        updateTotalStats();
+        getCacheStatInfo(level).recordMiss();
     }
 
     /**
@@ -121,9 +259,16 @@ public class CacheStats {
      * @param level 缓存级别名称
      */
     public void recordLoad(String level) {
-        CacheStatInfo statInfo = getCacheStatInfo(level);
-        statInfo.recordLoad();
-        updateTotalStats();
+        getCacheStatInfo(level).recordLoad(0);
+    }
+
+    /**
+     * 记录缓存加载及耗时
+     * @param level 缓存级别名称
+     * @param loadTime 加载耗时（纳秒）
+     */
+    public void recordLoad(String level, long loadTime) {
+        getCacheStatInfo(level).recordLoad(loadTime);
     }
 
     /**
@@ -131,9 +276,7 @@ public class CacheStats {
      * @param level 缓存级别名称
      */
     public void recordPut(String level) {
-        CacheStatInfo statInfo = getCacheStatInfo(level);
-        statInfo.recordPut();
-        updateTotalStats();
+        getCacheStatInfo(level).recordPut();
     }
 
     /**
@@ -141,9 +284,18 @@ public class CacheStats {
      * @param level 缓存级别名称
      */
     public void recordEviction(String level) {
-        CacheStatInfo statInfo = getCacheStatInfo(level);
-        statInfo.recordEviction();
-        updateTotalStats();
+        getCacheStatInfo(level).recordEvictions(1);
+    }
+
+    /**
+     * 批量记录缓存驱逐操作
+     * @param level 缓存级别名称
+     * @param count 驱逐数量
+     */
+    public void recordEvictions(String level, long count) {
+        if (count > 0) {
+            getCacheStatInfo(level).recordEvictions(count);
+        }
     }
 
     /**
@@ -152,126 +304,163 @@ public class CacheStats {
      */
     public void merge(CacheStats other) {
         if (other == null) return;
-        
-        other.getCacheStats().forEach((level, otherStats) -> {
-            CacheStatInfo currentStats = getCacheStatInfo(level);
-            currentStats.merge(otherStats);
-        });
-        
-        updateTotalStats();
+
+        other.cacheStats.forEach((level, otherStats) -> getCacheStatInfo(level).merge(otherStats));
     }
 
     /**
-     * 单个缓存的统计信息
+     * 单个缓存级别的统计信息
      */
-    @Data
     public static class CacheStatInfo {
-        private String name;
-        private long hitCount;
-        private long missCount;
-        private long requestCount;
-        private long evictionCount;
-        private long loadSuccessCount;
-        private long loadFailureCount;
-        private long totalLoadTime;
-        private double hitRate;
-        private double averageLoadPenalty;
-        private long estimatedSize;
-        private final LongAdder loads = new LongAdder();
+        private final String name;
         private final LongAdder hits = new LongAdder();
         private final LongAdder misses = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadTime = new LongAdder();
         private final LongAdder puts = new LongAdder();
         private final LongAdder evictions = new LongAdder();
+        private volatile long estimatedSize;
+        private volatile long estimatedBytes;
+        private volatile long maximumBytes;
 
         public CacheStatInfo(String name) {
             this.name = name;
         }
 
         /**
-         * 记录缓存放入操作
+         * 从Caffeine统计信息创建
          */
+        public static CacheStatInfo of(String name, com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats) {
+            CacheStatInfo statInfo = new CacheStatInfo(name);
+            statInfo.hits.add(caffeineStats.hitCount());
+            statInfo.misses.add(caffeineStats.missCount());
+            statInfo.loads.add(caffeineStats.loadCount());
+            statInfo.loadTime.add(caffeineStats.totalLoadTime());
+            statInfo.evictions.add(caffeineStats.evictionCount());
+            return statInfo;
+        }
+
+        public void recordHit() {
+            hits.increment();
+        }
+
+        public void recordMiss() {
+            misses.increment();
+        }
+
+        public void recordLoad(long loadTimeNanos) {
+            loads.increment();
+            if (loadTimeNanos > 0) {
+                loadTime.add(loadTimeNanos);
+            }
+        }
+
         public void recordPut() {
             puts.increment();
         }
 
-        /**
-         * 记录缓存驱逐操作
-         */
-        public void recordEviction() {
-            evictions.increment();
-            this.evictionCount = evictions.sum();
+        public void recordEvictions(long count) {
+            evictions.add(count);
         }
 
-        /**
-         * 合并另一个CacheStatInfo实例的统计信息
-         * @param other 要合并的CacheStatInfo实例
-         */
-        public void merge(CacheStatInfo other) {
-            if (other == null) return;
-            
-            // 合并计数器
-            for (long i = 0; i < other.hits.sum(); i++) hits.increment();
-            for (long i = 0; i < other.misses.sum(); i++) misses.increment();
-            for (long i = 0; i < other.loads.sum(); i++) loads.increment();
-            for (long i = 0; i < other.puts.sum(); i++) puts.increment();
-            for (long i = 0; i < other.evictions.sum(); i++) evictions.increment();
-            
-            // 合并其他统计信息
-            this.loadSuccessCount += other.loadSuccessCount;
-            this.loadFailureCount += other.loadFailureCount;
-            this.totalLoadTime += other.totalLoadTime;
-            
-            // 更新统计数据
-            updateStats();
+        public String getName() {
+            return name;
         }
 
-        /**
-         * 记录缓存命中
-         */
-        public void recordHit() {
-            hits.increment();
-            updateStats();
+        public long getHitCount() {
+            return hits.sum();
+        }
+
+        public long getMissCount() {
+            return misses.sum();
+        }
+
+        public long getRequestCount() {
+            return hits.sum() + misses.sum();
+        }
+
+        public long getLoadCount() {
+            return loads.sum();
+        }
+
+        public long getTotalLoadTime() {
+            return loadTime.sum();
+        }
+
+        public long getPutCount() {
+            return puts.sum();
+        }
+
+        public long getEvictionCount() {
+            return evictions.sum();
+        }
+
+        public double getHitRate() {
+            long hitCount = hits.sum();
+            long requestCount = hitCount + misses.sum();
+            return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+        }
+
+        public double getAverageLoadPenalty() {
+            long loadCount = loads.sum();
+            return loadCount == 0 ? 0.0 : (double) loadTime.sum() / loadCount;
+        }
+
+        public long getEstimatedSize() {
+            return estimatedSize;
+        }
+
+        public void setEstimatedSize(long estimatedSize) {
+            this.estimatedSize = estimatedSize;
         }
 
         /**
-         * 记录缓存未命中
+         * 估算的内存占用（字节）
          */
-        public void recordMiss() {
-            misses.increment();
-            updateStats();
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+
+        public void setEstimatedBytes(long estimatedBytes) {
+            this.estimatedBytes = estimatedBytes;
         }
 
         /**
-         * 记录缓存加载
+         * 内存预算（字节），未按内存预算限制容量时为0
          */
-        public void recordLoad() {
-            loads.increment();
+        public long getMaximumBytes() {
+            return maximumBytes;
+        }
+
+        public void setMaximumBytes(long maximumBytes) {
+            this.maximumBytes = maximumBytes;
         }
 
         /**
-         * 更新统计信息
+         * 合并另一个CacheStatInfo实例的统计信息
+         * @param other 要合并的CacheStatInfo实例
          */
-        private void updateStats() {
-            this.requestCount = hits.sum() + misses.sum();
-            this.hitCount = hits.sum();
-            this.missCount = misses.sum();
-            this.evictionCount = evictions.sum();
-            this.hitRate = requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+        public void merge(CacheStatInfo other) {
+            if (other == null) return;
+
+            hits.add(other.hits.sum());
+            misses.add(other.misses.sum());
+            loads.add(other.loads.sum());
+            loadTime.add(other.loadTime.sum());
+            puts.add(other.puts.sum());
+            evictions.add(other.evictions.sum());
         }
 
         /**
-         * 更新Caffeine缓存统计信息
+         * 创建快照
          */
-        public void updateCaffeineStats(com.github.benmanes.caffeine.cache.stats.CacheStats caffeineStats) {
-            this.hitCount = caffeineStats.hitCount();
-            this.missCount = caffeineStats.missCount();
-            this.requestCount = caffeineStats.requestCount();
-            this.loadSuccessCount = caffeineStats.loadSuccessCount();
-            this.loadFailureCount = caffeineStats.loadFailureCount();
-            this.totalLoadTime = caffeineStats.totalLoadTime();
-            this.evictionCount = caffeineStats.evictionCount();
-            this.hitRate = caffeineStats.hitRate();
-            this.averageLoadPenalty = caffeineStats.averageLoadPenalty();
+        public CacheStatInfo snapshot() {
+            CacheStatInfo snapshot = new CacheStatInfo(name);
+            snapshot.merge(this);
+            snapshot.estimatedSize = estimatedSize;
+            snapshot.estimatedBytes = estimatedBytes;
+            snapshot.maximumBytes = maximumBytes;
+            return snapshot;
         }
 
         /**
@@ -281,16 +470,12 @@ public class CacheStats {
             hits.reset();
             misses.reset();
             loads.reset();
-            hitCount = 0;
-            missCount = 0;
-            requestCount = 0;
-            loadSuccessCount = 0;
-            loadFailureCount = 0;
-            totalLoadTime = 0;
-            evictionCount = 0;
-            hitRate = 0.0;
-            averageLoadPenalty = 0.0;
+            loadTime.reset();
+            puts.reset();
+            evictions.reset();
             estimatedSize = 0;
+            estimatedBytes = 0;
+            maximumBytes = 0;
         }
     }
 }
@@ -1,22 +1,24 @@
 package org.example.endpoint;
 
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RBloomFilter;
-import org.redisson.api.RedissonClient;
+import org.example.cache.MultiLevelCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationListener;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 缓存预热器
@@ -35,33 +37,36 @@ public class CacheWarmer implements ApplicationListener<ApplicationStartedEvent>
 
     private final int timeoutSeconds;
 
+
+    private final int chunkSize;
+
     private final CacheManager multiLevelCacheManager;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final RedissonClient redissonClient;
     private final ExecutorService executorService;
 
+    // 按块加载条目的线程池，与缓存级别的预热任务分开，避免相互等待
+    private final ExecutorService loaderExecutor;
+
     // 预热进度跟踪
     private final ConcurrentMap<String, WarmupProgress> warmupProgress = new ConcurrentHashMap<>();
 
     @Autowired
     public CacheWarmer(CacheManager multiLevelCacheManager,
-                      RedisTemplate<String, Object> redisTemplate,
-                      RedissonClient redissonClient,
                        @Value("${cache.warmer.enabled:true}") boolean warmEnabled,
                        @Value("${cache.warmer.thread-pool-size:4}") int threadPoolSize,
-                       @Value("${cache.warmer.timeout-seconds:300}") int timeoutSeconds) {
+                       @Value("${cache.warmer.timeout-seconds:300}") int timeoutSeconds,
+                       @Value("${cache.warmer.chunk-size:500}") int chunkSize) {
         this.multiLevelCacheManager = multiLevelCacheManager;
-        this.redisTemplate = redisTemplate;
-        this.redissonClient = redissonClient;
 
         this.warmEnabled = warmEnabled;
         this.threadPoolSize = threadPoolSize;
         this.timeoutSeconds = timeoutSeconds;
+        this.chunkSize = Math.max(1, chunkSize);
 
         log.info("Cache warmup enabled: {}", warmEnabled);
         log.info("Cache warmup thread pool size: {}", threadPoolSize);
         log.info("Cache warmup timeout: {} seconds", timeoutSeconds);
         this.executorService = Executors.newFixedThreadPool(threadPoolSize);
+        this.loaderExecutor = Executors.newFixedThreadPool(threadPoolSize);
     }
 
     @Override
@@ -119,6 +124,8 @@ public class CacheWarmer implements ApplicationListener<ApplicationStartedEvent>
 
     /**
      * 预热指定缓存
+     * 先按访问频率从高到低加载热点键，再通过HSCAN游标增量遍历L2，
+     * 按块批量读取并由多个线程并行写入本地缓存，直到达到本地缓存容量
      */
     @Async
     public String warmupCache(String cacheName) {
@@ -134,56 +141,55 @@ public class CacheWarmer implements ApplicationListener<ApplicationStartedEvent>
         WarmupProgress progress = new WarmupProgress(cacheName);
         warmupProgress.put(cacheName, progress);
 
+        if (!(cache instanceof MultiLevelCache multiLevelCache)) {
+            log.info("Cache does not support warmup, skipped: {}", cacheName);
+            progress.setStatus(WarmupStatus.COMPLETED);
+            return cacheName;
+        }
+
         try {
-            // 获取布隆过滤器
-            RBloomFilter<String> bloomFilter = redissonClient.getBloomFilter("bf:" + cacheName);
-
-            // 获取所有相关的Redis键
-            String keyPattern = "cache:" + cacheName + "::*";
-            long totalKeys = redisTemplate.keys(keyPattern).size();
-            progress.setTotalItems((int) totalKeys);
-
-            // 批量处理键
-            redisTemplate.keys(keyPattern).forEach(key -> {
-                try {
-                    // 从Redis获取值
-                    Object value = redisTemplate.opsForValue().get(key);
-                    if (value != null) {
-                        // 提取实际的缓存键
-                        String actualKey = key.toString().substring(("cache:" + cacheName + "::").length());
-
-                        // 更新本地缓存
-                        cache.put(actualKey, value);
-
-                        // 更新布隆过滤器
-                        bloomFilter.add(actualKey);
-
-                        // 更新进度
-                        progress.incrementProcessed();
-
-                        if (progress.getProcessedItems() % 100 == 0) {
-                            log.debug("Warmed up {} items for cache: {}",
-                                    progress.getProcessedItems(), cacheName);
-                        }
-                    }
-                } catch (Exception e) {
-                    progress.incrementErrors();
-                    log.error("Error warming up key: {} in cache: {}", key, cacheName, e);
+            int capacity = multiLevelCache.getLocalMaximumSize();
+            progress.setTotalItems((int) Math.min(capacity, multiLevelCache.size()));
+
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            Semaphore inFlight = new Semaphore(threadPoolSize * 2);
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            List<String> chunk = new ArrayList<>(chunkSize);
+
+            // 1. 热点键优先，再按HSCAN游标遍历其余键
+            Iterator<String> candidates = Stream.concat(
+                    multiLevelCache.getHottestKeys(capacity).stream(),
+                    StreamSupport.stream(multiLevelCache.scanKeys(chunkSize).spliterator(), false)).iterator();
+            while (candidates.hasNext()) {
+                String key = candidates.next();
+                if (seen.size() >= capacity) {
+                    break;
                 }
-            });
+                if (!seen.add(key)) {
+                    continue;
+                }
+                chunk.add(key);
+                if (chunk.size() >= chunkSize) {
+                    futures.add(submitChunk(multiLevelCache, chunk, inFlight, progress));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                futures.add(submitChunk(multiLevelCache, chunk, inFlight, progress));
+            }
+
+            // 2. 等待所有块加载完成
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
 
             log.info("Completed warmup for cache: {}. Processed: {}, Errors: {}",
                     cacheName, progress.getProcessedItems(), progress.getErrors());
-
-
-
         } catch (Exception e) {
             log.error("Error during cache warmup for: {}", cacheName, e);
             progress.setStatus(WarmupStatus.FAILED);
             return null;
-        } finally {
-            progress.setStatus(WarmupStatus.COMPLETED);
         }
+        progress.setStatus(WarmupStatus.COMPLETED);
+
         // 如果没有错误，则返回缓存名称
         if (progress.getErrors() == 0) {
             return cacheName;
@@ -191,6 +197,26 @@ public class CacheWarmer implements ApplicationListener<ApplicationStartedEvent>
         return null;
     }
 
+    /**
+     * 提交一块键的加载任务，同时在途的块数量受限，避免扫描速度远超加载速度时堆积
+     */
+    private CompletableFuture<Void> submitChunk(MultiLevelCache cache, List<String> keys,
+                                                Semaphore inFlight, WarmupProgress progress) {
+        inFlight.acquireUninterruptibly();
+        return CompletableFuture.runAsync(() -> {
+            try {
+                int loaded = cache.loadLocal(keys);
+                progress.addProcessed(loaded);
+                log.debug("Warmed up {} items for cache: {}", progress.getProcessedItems(), cache.getName());
+            } catch (Exception e) {
+                progress.addErrors(keys.size());
+                log.error("Error warming up {} keys in cache: {}", keys.size(), cache.getName(), e);
+            } finally {
+                inFlight.release();
+            }
+        }, loaderExecutor);
+    }
+
     /**
      * 获取预热进度
      */
@@ -230,6 +256,14 @@ public class CacheWarmer implements ApplicationListener<ApplicationStartedEvent>
             errors.incrementAndGet();
         }
 
+        public void addProcessed(int count) {
+            processedItems.addAndGet(count);
+        }
+
+        public void addErrors(int count) {
+            errors.addAndGet(count);
+        }
+
         public void setTotalItems(int totalItems) {
             this.totalItems = totalItems;
         }
@@ -0,0 +1,180 @@
+package org.example.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.MultiLevelCache;
+import org.example.cache.event.CacheEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 远程缓存事件分发器
+ * 事件按 缓存名称+键 的哈希分配到固定数量的单线程通道执行，同一键的事件保持到达顺序；
+ * 作用于整个缓存的事件（清空、模式删除）会拆分到每个通道，各通道只处理归属于自己的键，
+ * 从而与该通道上排队的单键事件保持顺序。
+ * 通道队列已满时放弃该事件，并清空对应缓存的本地缓存，下次访问从Redis重新加载
+ */
+@Slf4j
+public class CacheEventDispatcher {
+
+    private final ThreadPoolExecutor[] lanes;
+    private final LongAdder dispatchedCount = new LongAdder();
+    private final LongAdder appliedCount = new LongAdder();
+    private final LongAdder applyTime = new LongAdder();
+    private final AtomicLong maxApplyTime = new AtomicLong();
+    private final LongAdder overloadCount = new LongAdder();
+
+    /**
+     * @param laneCount 通道数（线程数）
+     * @param queueCapacity 每个通道的队列容量
+     */
+    public CacheEventDispatcher(int laneCount, int queueCapacity) {
+        int count = Math.max(1, laneCount);
+        this.lanes = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            String threadName = "cache-event-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+                    r -> {
+                        Thread thread = new Thread(r, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * 分发事件到对应通道
+     * @param event 缓存事件
+     * @param cache 目标缓存
+     */
+    public void dispatch(CacheEvent event, MultiLevelCache cache) {
+        dispatchedCount.increment();
+        String cacheName = event.getCacheName();
+
+        switch (event.getEventType()) {
+            case PUT, REMOVE, INVALIDATE, EXPIRE ->
+                    submit(laneOf(cacheName, event.getKey()), cache, () -> cache.handleCacheEvent(event));
+            case BATCH -> {
+                Map<Integer, List<CacheEvent>> slices = new HashMap<>();
+                for (CacheEvent nested : event.getEvents()) {
+                    slices.computeIfAbsent(laneOf(cacheName, nested.getKey()), lane -> new ArrayList<>()).add(nested);
+                }
+                slices.forEach((lane, events) -> {
+                    CacheEvent slice = CacheEvent.createBatchEvent(cacheName, events, event.getSourceNodeId());
+                    submit(lane, cache, () -> cache.handleCacheEvent(slice));
+                });
+            }
+            case BATCH_PUT -> {
+                Map<Integer, Map<Object, Object>> slices = new HashMap<>();
+                event.getEntries().forEach((key, value) -> slices
+                        .computeIfAbsent(laneOf(cacheName, key), lane -> new LinkedHashMap<>())
+                        .put(key, value));
+                slices.forEach((lane, entries) -> {
+                    CacheEvent slice = CacheEvent.createBatchPutEvent(cacheName, entries, event.getSourceNodeId(), event.getTtl());
+                    slice.setVersion(event.getVersion());
+                    submit(lane, cache, () -> cache.handleCacheEvent(slice));
+                });
+            }
+            case BATCH_REMOVE -> {
+                Map<Integer, List<Object>> slices = new HashMap<>();
+                event.getKeys().forEach(key -> slices
+                        .computeIfAbsent(laneOf(cacheName, key), lane -> new ArrayList<>())
+                        .add(key));
+                slices.forEach((lane, keys) -> {
+                    CacheEvent slice = CacheEvent.createBatchRemoveEvent(cacheName, keys, event.getSourceNodeId());
+                    slice.setVersion(event.getVersion());
+                    submit(lane, cache, () -> cache.handleCacheEvent(slice));
+                });
+            }
+            default -> {
+                // 作用于整个缓存的事件：每个通道只处理归属于自己的键
+                for (int i = 0; i < lanes.length; i++) {
+                    int lane = i;
+                    submit(lane, cache, () -> cache.handleCacheEvent(event, key -> laneOf(cacheName, key) == lane));
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取分发器指标
+     * @return 各通道队列深度、应用耗时等指标
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        List<Integer> queueDepths = new ArrayList<>(lanes.length);
+        int totalDepth = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            int depth = lane.getQueue().size();
+            queueDepths.add(depth);
+            totalDepth += depth;
+        }
+        long applied = appliedCount.sum();
+        long totalApplyTime = applyTime.sum();
+
+        metrics.put("lanes", lanes.length);
+        metrics.put("queueDepths", queueDepths);
+        metrics.put("totalQueueDepth", totalDepth);
+        metrics.put("dispatchedEvents", dispatchedCount.sum());
+        metrics.put("appliedTasks", applied);
+        metrics.put("averageApplyTimeMicros", applied == 0 ? 0.0 : totalApplyTime / 1000.0 / applied);
+        metrics.put("maxApplyTimeMicros", maxApplyTime.get() / 1000.0);
+        metrics.put("overloads", overloadCount.sum());
+        return metrics;
+    }
+
+    /**
+     * 停止所有通道，等待已排队事件处理完成
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                if (!lane.awaitTermination(5, TimeUnit.SECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    private void submit(int lane, MultiLevelCache cache, Runnable task) {
+        try {
+            lanes[lane].execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    task.run();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    appliedCount.increment();
+                    applyTime.add(elapsed);
+                    maxApplyTime.accumulateAndGet(elapsed, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            overloadCount.increment();
+            log.warn("Cache event lane {} is overloaded, clearing local cache: {}", lane, cache.getName());
+            cache.invalidateLocal();
+        }
+    }
+
+    private int laneOf(String cacheName, Object key) {
+        return Math.floorMod(Objects.hash(cacheName, key == null ? null : key.toString()), lanes.length);
+    }
+}
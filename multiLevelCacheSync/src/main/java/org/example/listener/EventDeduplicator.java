@@ -0,0 +1,120 @@
+package org.example.listener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于时间桶环的事件去重器
+ * 将去重窗口切分为固定数量的时间桶，新事件ID写入当前桶；
+ * 时间推进到下一个桶时整桶清空最旧的记录，插入和检查均为O(桶数)的常数时间。
+ * 记录总数超过上限时提前清空最旧的桶
+ */
+public class EventDeduplicator {
+
+    private static final int DEFAULT_BUCKET_COUNT = 8;
+
+    private final int bucketCount;
+    private final long bucketMillis;
+    private final int maxSize;
+    private final Set<String>[] buckets;
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile long currentEpoch;
+
+    /**
+     * @param windowMillis 去重窗口（毫秒），事件ID至少保留该时长
+     * @param maxSize 最多保留的事件ID数量
+     */
+    public EventDeduplicator(long windowMillis, int maxSize) {
+        this(windowMillis, maxSize, DEFAULT_BUCKET_COUNT);
+    }
+
+    @SuppressWarnings("unchecked")
+    public EventDeduplicator(long windowMillis, int maxSize, int bucketCount) {
+        if (bucketCount < 2) {
+            throw new IllegalArgumentException("bucketCount must be at least 2");
+        }
+        this.bucketCount = bucketCount;
+        // 当前桶之外的桶覆盖完整窗口，保证记录至少保留windowMillis
+        this.bucketMillis = Math.max(1, windowMillis / (bucketCount - 1));
+        this.maxSize = maxSize;
+        this.buckets = new Set[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.currentEpoch = System.currentTimeMillis() / bucketMillis;
+    }
+
+    /**
+     * 标记事件已处理
+     * @param eventId 事件ID
+     * @return 首次出现返回true，窗口内重复出现返回false
+     */
+    public boolean markProcessed(String eventId) {
+        rotateIfNeeded(System.currentTimeMillis());
+
+        for (Set<String> bucket : buckets) {
+            if (bucket.contains(eventId)) {
+                return false;
+            }
+        }
+
+        if (!buckets[bucketIndex(currentEpoch)].add(eventId)) {
+            return false;
+        }
+        if (size.incrementAndGet() > maxSize) {
+            evictOldest();
+        }
+        return true;
+    }
+
+    /**
+     * 当前保留的事件ID数量
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 时间进入新桶时整桶清空已过期的记录
+     */
+    private void rotateIfNeeded(long now) {
+        long epoch = now / bucketMillis;
+        if (epoch <= currentEpoch) {
+            return;
+        }
+
+        synchronized (this) {
+            long previous = currentEpoch;
+            if (epoch <= previous) {
+                return;
+            }
+            long steps = Math.min(epoch - previous, bucketCount);
+            for (long i = 1; i <= steps; i++) {
+                clearBucket(bucketIndex(previous + i));
+            }
+            currentEpoch = epoch;
+        }
+    }
+
+    /**
+     * 记录数超过上限时，从最旧的桶开始整桶清空
+     */
+    private synchronized void evictOldest() {
+        long epoch = currentEpoch;
+        for (int i = bucketCount - 1; i >= 0 && size.get() > maxSize; i--) {
+            clearBucket(bucketIndex(epoch - i));
+        }
+    }
+
+    private void clearBucket(int index) {
+        Set<String> bucket = buckets[index];
+        int removed = bucket.size();
+        bucket.clear();
+        size.addAndGet(-removed);
+    }
+
+    private int bucketIndex(long epoch) {
+        return (int) Math.floorMod(epoch, (long) bucketCount);
+    }
+}
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.cache.MultiLevelCache;
 import org.example.config.CacheProperties;
 import org.example.cache.event.CacheEvent;
+import org.example.cache.event.CacheEventCodec;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.ObjectProvider;
@@ -11,9 +12,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -30,8 +31,8 @@ public class RedissonCacheEventListener implements CacheEventListener {
     private final String nodeId;
     private final String topicName;
     private final AtomicBoolean running = new AtomicBoolean(false);
-    private final Set<String> processedEvents = ConcurrentHashMap.newKeySet();
-    private final Map<String, Long> eventTimestamps = new ConcurrentHashMap<>();
+    private final EventDeduplicator eventDeduplicator;
+    private final CacheEventDispatcher eventDispatcher;
 
     private RTopic topic;
     private int listenerId;
@@ -46,6 +47,12 @@ public class RedissonCacheEventListener implements CacheEventListener {
         this.cacheProperties = cacheProperties;
         this.nodeId = nodeId;
         this.topicName = cacheProperties.getTopicName();
+        this.eventDeduplicator = new EventDeduplicator(
+                cacheProperties.getEventTtl(),
+                cacheProperties.getEvent().getDedup().getMaxSize());
+        this.eventDispatcher = new CacheEventDispatcher(
+                cacheProperties.getEvent().getHandler().getPoolSize(),
+                cacheProperties.getEvent().getHandler().getQueueCapacity());
     }
 
     @Override
@@ -57,16 +64,20 @@ public class RedissonCacheEventListener implements CacheEventListener {
 
         // 检查事件是否已处理（防止重复处理）
         String eventKey = event.getEventId();
-        if (processedEvents.contains(eventKey)) {
+        if (cacheProperties.getEvent().getDedup().isEnabled()
+                && eventKey != null
+                && !eventDeduplicator.markProcessed(eventKey)) {
             log.debug("Ignoring already processed event: {}", eventKey);
             return;
         }
 
-        try {
-            // 记录已处理事件
-            processedEvents.add(eventKey);
-            eventTimestamps.put(eventKey, System.currentTimeMillis());
+        // 缓存名称哈希无法解析，说明本节点没有该缓存，无需处理
+        if (event.getCacheName() == null) {
+            log.debug("Ignoring event for cache unknown to this node: {}", eventKey);
+            return;
+        }
 
+        try {
             // 获取对应的缓存实例
             CacheManager cacheManager = cacheManagerProvider.getObject();
             if (cacheManager == null) {
@@ -76,17 +87,14 @@ public class RedissonCacheEventListener implements CacheEventListener {
             
             Object cache = cacheManager.getCache(event.getCacheName());
             if (cache instanceof MultiLevelCache multiLevelCache) {
-                // 处理缓存事件
-                multiLevelCache.handleCacheEvent(event);
+                // 交给分发器在事件通道上处理，避免阻塞订阅线程
+                eventDispatcher.dispatch(event, multiLevelCache);
             } else {
                 log.warn("Cache not found or not a MultiLevelCache: {}", event.getCacheName());
             }
         } catch (Exception e) {
             log.error("Error handling cache event: " + event, e);
         }
-
-        // 清理过期的事件记录
-        cleanupProcessedEvents();
     }
 
     @Override
@@ -98,7 +106,9 @@ public class RedissonCacheEventListener implements CacheEventListener {
     public void start() {
         if (running.compareAndSet(false, true)) {
             log.info("Starting RedissonCacheEventListener on topic: {}", topicName);
-            topic = redissonClient.getTopic(topicName);
+            topic = redissonClient.getTopic(topicName,
+                    new CacheEventCodec(redissonClient.getConfig().getCodec(), nodeId,
+                            cacheProperties.getCaches().keySet(), this::localCacheNames));
             listenerId = topic.addListener(CacheEvent.class, (channel, event) -> onEvent(event));
         }
     }
@@ -110,9 +120,26 @@ public class RedissonCacheEventListener implements CacheEventListener {
             if (topic != null) {
                 topic.removeListener(listenerId);
             }
+            eventDispatcher.shutdown();
         }
     }
 
+    /**
+     * 获取事件分发指标
+     * @return 通道队列深度、应用耗时、过载次数等指标
+     */
+    public Map<String, Object> getDispatcherMetrics() {
+        return eventDispatcher.getMetrics();
+    }
+
+    /**
+     * 本节点已创建的缓存名称，供编码器解析字典外的名称哈希
+     */
+    private Collection<String> localCacheNames() {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        return cacheManager != null ? cacheManager.getCacheNames() : List.of();
+    }
+
     @Override
     public void publishEvent(CacheEvent event) {
         if (!running.get()) {
@@ -133,21 +160,4 @@ public class RedissonCacheEventListener implements CacheEventListener {
             log.error("Error publishing cache event: " + event, e);
         }
     }
-
-    /**
-     * 清理过期的事件记录
-     * 防止内存泄漏
-     */
-    private void cleanupProcessedEvents() {
-        long now = System.currentTimeMillis();
-        long expiryTime = cacheProperties.getEventTtl();
-
-        eventTimestamps.entrySet().removeIf(entry -> {
-            if (now - entry.getValue() > expiryTime) {
-                processedEvents.remove(entry.getKey());
-                return true;
-            }
-            return false;
-        });
-    }
 }
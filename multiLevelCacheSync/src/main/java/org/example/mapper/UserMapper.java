@@ -30,4 +30,12 @@ public interface UserMapper extends BaseMapper<User> {
      */
     @Select("SELECT COUNT(*) FROM t_user WHERE deleted = 0")
     int countUsers();
+
+    /**
+     * 查询最大用户ID
+     *
+     * @return 最大用户ID，没有用户时返回-1
+     */
+    @Select("SELECT COALESCE(MAX(id), -1) FROM t_user WHERE deleted = 0")
+    long selectMaxId();
 }
@@ -0,0 +1,57 @@
+package org.example.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.RequiredArgsConstructor;
+import org.example.cache.bloom.BloomFilterKeySource;
+import org.example.entity.User;
+import org.example.mapper.UserMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * 用户缓存布隆过滤器键来源
+ * 只覆盖按用户ID缓存的键，按用户名、邮箱等条件缓存的键不做存在性判断
+ */
+@Component
+@RequiredArgsConstructor
+public class UserBloomFilterKeySource implements BloomFilterKeySource {
+
+    private static final Pattern ID_KEY = Pattern.compile("\\d+");
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final UserMapper userMapper;
+
+    @Override
+    public boolean supports(String cacheName) {
+        return UserCacheTagResolver.CACHE_NAME.equals(cacheName);
+    }
+
+    @Override
+    public boolean covers(String key) {
+        return ID_KEY.matcher(key).matches();
+    }
+
+    @Override
+    public void forEachKey(Consumer<String> consumer) {
+        // 按ID游标分页读取，避免一次加载全部用户
+        long lastId = 0;
+        while (true) {
+            List<Object> ids = userMapper.selectObjs(new LambdaQueryWrapper<User>()
+                    .select(User::getId)
+                    .gt(User::getId, lastId)
+                    .orderByAsc(User::getId)
+                    .last("LIMIT " + PAGE_SIZE));
+            for (Object id : ids) {
+                consumer.accept(id.toString());
+                lastId = ((Number) id).longValue();
+            }
+            if (ids.size() < PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.service.impl;
+
+import org.example.cache.collection.SegmentedCollectionCache;
+import org.example.cache.tag.CacheTagResolver;
+import org.example.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 用户缓存标签解析器
+ * 包含某个用户的条目（按ID、邮箱、列表等）都带有 user:{id} 标签；
+ * 列表、统计等查询结果以及空值额外带有 users:query 标签，任意用户新增或变更都需要失效
+ */
+@Component
+public class UserCacheTagResolver implements CacheTagResolver {
+
+    public static final String CACHE_NAME = "users";
+
+    /**
+     * 查询结果标签
+     */
+    public static final String QUERY_TAG = "users:query";
+
+    /**
+     * 全部用户分段集合名称，段信息由集合自行修补，不参与标签失效
+     */
+    public static final String ALL_USERS = "all";
+
+    @Override
+    public boolean supports(String cacheName) {
+        return CACHE_NAME.equals(cacheName);
+    }
+
+    @Override
+    public Collection<String> resolveTags(String key, Object value) {
+        if (SegmentedCollectionCache.isSegmentKey(ALL_USERS, key)) {
+            return Collections.emptySet();
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        if (value instanceof User user) {
+            tags.add(userTag(user.getId()));
+        } else {
+            if (value instanceof Collection<?> collection) {
+                for (Object element : collection) {
+                    if (element instanceof User user) {
+                        tags.add(userTag(user.getId()));
+                    }
+                }
+            }
+            tags.add(QUERY_TAG);
+        }
+        return tags;
+    }
+
+    /**
+     * 获取用户标签
+     * @param id 用户ID
+     * @return 标签
+     */
+    public static String userTag(Long id) {
+        return "user:" + id;
+    }
+}
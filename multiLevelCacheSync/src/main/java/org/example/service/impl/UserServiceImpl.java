@@ -6,22 +6,32 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import jakarta.annotation.PostConstruct;
+import org.example.cache.MultiLevelCache;
+import org.example.cache.collection.SegmentedCollectionCache;
 import org.example.entity.User;
 import org.example.exception.BusinessException;
 import org.example.mapper.UserMapper;
 import org.example.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * 用户服务实现类
@@ -31,6 +41,31 @@ import java.util.Map;
 @Service
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
+    /**
+     * 全部用户分段集合每段覆盖的ID数量
+     */
+    private static final int ALL_USERS_SEGMENT_SIZE = 500;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private SegmentedCollectionCache<User> allUsersCache;
+
+    @PostConstruct
+    public void init() {
+        allUsersCache = new SegmentedCollectionCache<>(
+                cacheManager.getCache(UserCacheTagResolver.CACHE_NAME),
+                UserCacheTagResolver.ALL_USERS,
+                ALL_USERS_SEGMENT_SIZE,
+                User.class,
+                User::getId,
+                (fromId, toId) -> list(new LambdaQueryWrapper<User>()
+                        .ge(User::getId, fromId)
+                        .lt(User::getId, toId)),
+                () -> baseMapper.selectMaxId()
+        );
+    }
+
     /**
      * 根据ID获取用户
      * 使用多级缓存，key为用户ID
@@ -45,14 +80,12 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     /**
      * 获取所有用户
-     * 使用多级缓存，key为固定值"all"
+     * 使用分段集合缓存，按ID区间分段缓存用户ID，用户实体复用按ID的缓存
      * 注意：当数据量大时不建议使用此方法，应使用分页查询
      */
-    @Cacheable(cacheNames = "users", key = "'all'")
     @Override
     public List<User> getAllUsers() {
-        log.info("从数据库查询所有用户");
-        return list();
+        return allUsersCache.getAll();
     }
 
     /**
@@ -101,25 +134,13 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     /**
      * 清除指定用户的缓存
-     * 包括ID、用户名和邮箱相关的缓存
+     * 包括ID、邮箱以及包含该用户的列表缓存
      */
     @Override
-    @Transactional(rollbackFor = Exception.class)
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "users", key = "#id"),
-            @CacheEvict(cacheNames = "users", key = "'all'")
-    })
     public void clearCache(Long id) {
         Assert.notNull(id, "用户ID不能为空");
         log.info("清除用户缓存, id: {}", id);
-        
-        // 获取用户信息，用于清除用户名和邮箱相关的缓存
-        User user = getById(id);
-        if (user != null) {
-            // 清除用户名和邮箱相关缓存
-            cacheEvict("users", "'username:' + '" + user.getUsername() + "'");
-            cacheEvict("users", "'email:' + '" + user.getEmail() + "'");
-        }
+        evictCacheTags(UserCacheTagResolver.userTag(id));
     }
 
     /**
@@ -210,16 +231,6 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      */
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @Caching(
-        put = {
-            @CachePut(cacheNames = "users", key = "#result.id")
-        },
-        evict = {
-            @CacheEvict(cacheNames = "users", key = "'all'"),
-            @CacheEvict(cacheNames = "users", key = "'username:' + @userMapper.selectById(#id).username"),
-            @CacheEvict(cacheNames = "users", key = "'email:' + @userMapper.selectById(#id).email")
-        }
-    )
     public User updateStatus(Long id, boolean enabled) {
         Assert.notNull(id, "用户ID不能为空");
         log.info("更新用户状态, id: {}, enabled: {}", id, enabled);
@@ -234,7 +245,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         user.setStatus(enabled ? 1 : 0);
         user.setUpdateTime(LocalDateTime.now());
         updateById(user);
-        
+
+        evictCacheTags(UserCacheTagResolver.userTag(id), UserCacheTagResolver.QUERY_TAG);
         return user;
     }
 
@@ -282,20 +294,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     /**
      * 创建用户
-     * 更新相关缓存
+     * 清除查询结果缓存，用户缓存在首次查询时加载
      */
     @Transactional(rollbackFor = Exception.class)
-    @Caching(
-            put = {
-                    @CachePut(cacheNames = "users", key = "#result.id")
-            },
-            evict = {
-                    @CacheEvict(cacheNames = "users", key = "'all'"),
-                    @CacheEvict(cacheNames = "users", key = "'username:' + #user.username"),
-                    @CacheEvict(cacheNames = "users", key = "'email:' + #user.email"),
-                    @CacheEvict(cacheNames = "users", key = "'count'")
-            }
-    )
     @Override
     public User createUser(User user) {
         // 参数校验
@@ -326,24 +327,19 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         
         // 保存用户
         save(user);
+
+        // 提交返回前登记到布隆过滤器，提交后立即到达的查询不会被判定为不存在
+        registerUsers(List.of(user.getId()));
+        onUsersAdded(List.of(user.getId()));
+        evictCacheTags(UserCacheTagResolver.QUERY_TAG);
         return user;
     }
 
     /**
      * 更新用户
-     * 更新相关缓存
+     * 按用户标签清除相关缓存，包括按ID缓存的条目
      */
     @Transactional(rollbackFor = Exception.class)
-    @Caching(
-            put = {
-                    @CachePut(cacheNames = "users", key = "#user.id")
-            },
-            evict = {
-                    @CacheEvict(cacheNames = "users", key = "'all'"),
-                    @CacheEvict(cacheNames = "users", key = "'username:' + #user.username"),
-                    @CacheEvict(cacheNames = "users", key = "'email:' + #user.email")
-            }
-    )
     @Override
     public User updateUser(User user) {
         // 参数校验
@@ -368,8 +364,6 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             if (count(usernameWrapper) > 0) {
                 throw new BusinessException("用户名已被其他用户使用");
             }
-            // 清除原用户名的缓存
-            cacheEvict("users", "'username:' + " + oldUser.getUsername());
         }
         
         // 检查邮箱是否被其他用户使用
@@ -380,8 +374,6 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             if (count(emailWrapper) > 0) {
                 throw new BusinessException("邮箱已被其他用户使用");
             }
-            // 清除原邮箱的缓存
-            cacheEvict("users", "'email:' + " + oldUser.getEmail());
         }
         
         // 设置更新时间
@@ -391,7 +383,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         
         // 更新用户
         updateById(user);
-        
+
+        // 原用户名、原邮箱等缓存均带有该用户标签
+        evictCacheTags(UserCacheTagResolver.userTag(user.getId()), UserCacheTagResolver.QUERY_TAG);
         return user;
     }
 
@@ -400,35 +394,26 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
      * 清除相关缓存
      */
     @Transactional(rollbackFor = Exception.class)
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "users", key = "#id"),
-            @CacheEvict(cacheNames = "users", key = "'all'"),
-            @CacheEvict(cacheNames = "users", key = "'count'")
-    })
     @Override
     public boolean deleteUser(Long id) {
         Assert.notNull(id, "用户ID不能为空");
         log.info("删除用户: {}", id);
         
-        // 获取用户信息（用于清除用户名和邮箱相关缓存）
-        User user = getById(id);
-        if (user == null) {
+        if (getById(id) == null) {
             throw new BusinessException("用户不存在: " + id);
         }
-        
-        // 清除用户名和邮箱相关缓存
-        cacheEvict("users", "'username:' + '" + user.getUsername() + "'");
-        cacheEvict("users", "'email:' + '" + user.getEmail() + "'");
-        
-        return removeById(id);
+
+        boolean removed = removeById(id);
+        onUsersRemoved(List.of(id));
+        evictCacheTags(UserCacheTagResolver.userTag(id), UserCacheTagResolver.QUERY_TAG);
+        return removed;
     }
 
     /**
      * 批量创建用户
-     * 清除所有相关缓存
+     * 清除查询结果缓存
      */
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = "users", allEntries = true)
     @Override
     public List<User> batchCreateUsers(List<User> users) {
         Assert.notEmpty(users, "用户列表不能为空");
@@ -472,16 +457,20 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         
         log.info("批量创建用户, 数量: {}", users.size());
         saveBatch(users);
-        
+
+        // 提交返回前登记到布隆过滤器，提交后再写入缓存
+        registerUsers(users.stream().map(User::getId).toList());
+        cacheUsers(users);
+        onUsersAdded(users.stream().map(User::getId).toList());
+        evictCacheTags(UserCacheTagResolver.QUERY_TAG);
         return users;
     }
 
     /**
      * 批量删除用户
-     * 清除所有相关缓存
+     * 清除这些用户及查询结果的缓存
      */
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = "users", allEntries = true)
     @Override
     public boolean batchDeleteUsers(List<Long> ids) {
         Assert.notEmpty(ids, "用户ID列表不能为空");
@@ -496,15 +485,17 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
         
         log.info("批量删除用户, ID列表: {}", ids);
-        return removeByIds(ids);
+        boolean removed = removeByIds(ids);
+        onUsersRemoved(ids);
+        evictCacheTags(userTags(ids));
+        return removed;
     }
 
     /**
      * 批量更新用户
-     * 清除所有相关缓存
+     * 清除这些用户及查询结果的缓存
      */
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = "users", allEntries = true)
     @Override
     public boolean batchUpdateUsers(List<User> users) {
         Assert.notEmpty(users, "用户列表不能为空");
@@ -533,7 +524,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         users.forEach(user -> user.setUpdateTime(now));
         
         log.info("批量更新用户, 数量: {}", users.size());
-        return updateBatchById(users);
+        boolean updated = updateBatchById(users);
+        evictCacheTags(userTags(userIds));
+        return updated;
     }
 
     /**
@@ -582,9 +575,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     /**
      * 批量查询用户
-     * 使用多级缓存，key为用户ID列表的hash值
+     * 按用户ID逐个使用多级缓存，两级缓存均未命中的ID通过一次批量查询加载并写回缓存
      */
-    @Cacheable(cacheNames = "users", key = "'batch:' + T(org.springframework.util.DigestUtils).md5DigestAsHex(T(java.util.Arrays).toString(#ids).getBytes())")
     @Override
     public List<User> batchGetUsers(List<Long> ids) {
         Assert.notEmpty(ids, "用户ID列表不能为空");
@@ -593,16 +585,108 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         }
         
         log.info("批量查询用户, ID列表: {}", ids);
-        return listByIds(ids);
+        Cache cache = cacheManager.getCache(UserCacheTagResolver.CACHE_NAME);
+        if (!(cache instanceof MultiLevelCache multiLevelCache)) {
+            return listByIds(ids);
+        }
+        Map<Long, User> users = multiLevelCache.getAll(ids, missedIds -> {
+            log.info("从数据库批量查询用户, ID列表: {}", missedIds);
+            Map<Long, User> loaded = new LinkedHashMap<>();
+            baseMapper.selectBatchIds(missedIds).forEach(user -> loaded.put(user.getId(), user));
+            return loaded;
+        });
+        return ids.stream()
+                .distinct()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 按标签清除用户缓存，在事务提交后执行
+     * 一次删除Redis中所有关联条目，并通过一条同步消息失效各节点本地缓存
+     */
+    private void evictCacheTags(String... tags) {
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(UserCacheTagResolver.CACHE_NAME);
+            if (cache instanceof MultiLevelCache multiLevelCache) {
+                multiLevelCache.evictByTags(Arrays.asList(tags));
+            } else if (cache != null) {
+                // 不支持标签的缓存实现退化为清空
+                cache.clear();
+            }
+        });
+    }
+
+    /**
+     * 按ID批量写入用户缓存及其标签索引，在事务提交后执行
+     */
+    private void cacheUsers(List<User> users) {
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(UserCacheTagResolver.CACHE_NAME);
+            if (cache instanceof MultiLevelCache multiLevelCache) {
+                Map<Object, Object> entries = new LinkedHashMap<>();
+                users.forEach(user -> entries.put(user.getId(), user));
+                multiLevelCache.putAll(entries);
+            } else if (cache != null) {
+                users.forEach(user -> cache.put(user.getId(), user));
+            }
+        });
+    }
+
+    /**
+     * 将新用户ID登记到用户缓存的布隆过滤器，在事务提交前执行
+     */
+    private void registerUsers(List<Long> ids) {
+        Cache cache = cacheManager.getCache(UserCacheTagResolver.CACHE_NAME);
+        if (cache instanceof MultiLevelCache multiLevelCache) {
+            multiLevelCache.registerKeys(ids);
+        }
+    }
+
+    /**
+     * 用户新增后失效全部用户集合中所在的段，在事务提交后执行
+     */
+    private void onUsersAdded(List<Long> ids) {
+        afterCommit(() -> ids.forEach(allUsersCache::onAdded));
+    }
+
+    /**
+     * 用户删除后失效全部用户集合中所在的段，在事务提交后执行
+     */
+    private void onUsersRemoved(List<Long> ids) {
+        afterCommit(() -> ids.forEach(allUsersCache::onRemoved));
+    }
+
+    /**
+     * 在当前事务提交后执行缓存操作，事务回滚时不执行，避免其他请求在提交前把旧数据重新加载进缓存；
+     * 不在事务中时立即执行。缓存操作失败只记录日志，不影响已提交的事务
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.error("提交后更新用户缓存失败", e);
+                }
+            }
+        });
     }
 
     /**
-     * 手动清除缓存
-     * 这个方法会被CacheSyncAspect拦截并同步到其他节点
+     * 生成用户标签及查询结果标签
      */
-    @CacheEvict(cacheNames = "#cacheName", key = "#key")
-    protected void cacheEvict(String cacheName, String key) {
-        log.debug("手动清除缓存: {}, key: {}", cacheName, key);
+    private String[] userTags(List<Long> ids) {
+        List<String> tags = new ArrayList<>(ids.size() + 1);
+        ids.forEach(id -> tags.add(UserCacheTagResolver.userTag(id)));
+        tags.add(UserCacheTagResolver.QUERY_TAG);
+        return tags.toArray(new String[0]);
     }
 
     /**
@@ -70,8 +70,8 @@ public class CacheSyncUtil {
         // 生成唯一的节点ID
         this.nodeId = java.util.UUID.randomUUID().toString();
 
-        // 创建Topic并订阅
-        this.topic = redissonClient.getTopic(cacheProperties.getTopicName());
+        // 创建Topic并订阅，消息为JSON字符串，不与使用二进制编码的缓存同步事件共用主题
+        this.topic = redissonClient.getTopic(cacheProperties.getTopicName() + ":util");
 
         // 订阅缓存同步消息
         this.topic.addListener(String.class, (channel, msg) -> {
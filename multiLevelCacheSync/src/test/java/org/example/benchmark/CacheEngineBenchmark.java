@@ -0,0 +1,134 @@
+package org.example.benchmark;
+
+import org.example.config.CacheProperties;
+import org.example.config.MultiLevelCacheManager;
+import org.example.listener.RedissonCacheEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两种缓存引擎的对比基准：本地命中延迟，以及一个节点写入后另一个节点读到新值的失效传播延迟
+ * 同一进程内模拟两个节点，各自持有独立的Redisson连接和缓存管理器。
+ * 需要本地Redis（默认redis://127.0.0.1:6379，可通过-Dbenchmark.redis覆盖），运行方式：
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.1.0:exec -Dexec.executable=java
+ * -Dexec.classpathScope=test -Dexec.args="-cp %classpath org.openjdk.jmh.Main CacheEngineBenchmark"
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CacheEngineBenchmark {
+
+    private static final String CACHE_NAME = "benchmark";
+    private static final String KEY = "key";
+    private static final long PROPAGATION_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @Param({"MULTI_LEVEL", "LOCAL_CACHED_MAP"})
+    private CacheProperties.CacheConfig.CacheEngine engine;
+
+    private Node writer;
+    private Node reader;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = new Node("benchmark-writer", engine);
+        reader = new Node("benchmark-reader", engine);
+        writer.cache.clear();
+        writer.cache.put(KEY, 0L);
+        // 预热读取节点的本地缓存
+        reader.cache.get(KEY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writer.cache.clear();
+        writer.close();
+        reader.close();
+    }
+
+    /**
+     * 本地缓存命中的读取延迟
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object hit() {
+        return reader.cache.get(KEY);
+    }
+
+    /**
+     * 写入节点更新后，读取节点读到新值所需的时间
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object invalidationFanOut() {
+        Long value = ++sequence;
+        writer.cache.put(KEY, value);
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT_NANOS;
+        while (true) {
+            Cache.ValueWrapper wrapper = reader.cache.get(KEY);
+            if (wrapper != null && value.equals(wrapper.get())) {
+                return wrapper;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Update not propagated within timeout, engine: " + engine);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 模拟的单个节点
+     */
+    private static final class Node {
+
+        private final RedissonClient redissonClient;
+        private final MultiLevelCacheManager cacheManager;
+        private final Cache cache;
+
+        private Node(String nodeId, CacheProperties.CacheConfig.CacheEngine engine) {
+            Config config = new Config();
+            config.useSingleServer().setAddress(System.getProperty("benchmark.redis", "redis://127.0.0.1:6379"));
+            this.redissonClient = Redisson.create(config);
+
+            CacheProperties cacheProperties = new CacheProperties();
+            cacheProperties.setNodeId(nodeId);
+            CacheProperties.CacheConfig cacheConfig = new CacheProperties.CacheConfig();
+            cacheConfig.setEngine(engine);
+            cacheProperties.getCaches().put(CACHE_NAME, cacheConfig);
+
+            StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+            RedissonCacheEventListener listener = new RedissonCacheEventListener(
+                    redissonClient, beanFactory.getBeanProvider(CacheManager.class), cacheProperties, nodeId);
+            this.cacheManager = new MultiLevelCacheManager(redissonClient, cacheProperties, listener);
+            beanFactory.addBean("cacheManager", cacheManager);
+            this.cache = cacheManager.getCache(CACHE_NAME);
+        }
+
+        private void close() {
+            cacheManager.destroy();
+            redissonClient.shutdown();
+        }
+    }
+}
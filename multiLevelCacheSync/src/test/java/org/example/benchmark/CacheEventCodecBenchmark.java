@@ -0,0 +1,93 @@
+package org.example.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import org.example.cache.event.CacheEvent;
+import org.example.cache.event.CacheEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.Kryo5Codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同步事件编码对比基准：紧凑二进制编码与Redisson默认编码（Kryo5）的编解码耗时，编码后大小在启动时输出
+ * 不依赖Redis，运行方式同 {@link CacheEngineBenchmark}，参数改为 CacheEventCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheEventCodecBenchmark {
+
+    private static final String CACHE_NAME = "users";
+    private static final String NODE_ID = "multi-level-cache-demo-7f9c4d";
+
+    /**
+     * 批次中的事件数，1表示单个事件
+     */
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private Codec defaultCodec;
+    private CacheEventCodec compactCodec;
+    private CacheEvent event;
+
+    @Setup
+    public void setUp() throws IOException {
+        defaultCodec = new Kryo5Codec();
+        compactCodec = new CacheEventCodec(defaultCodec, NODE_ID, Set.of(CACHE_NAME));
+
+        List<CacheEvent> events = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            events.add(CacheEvent.createInvalidateEvent(CACHE_NAME, "user:" + i, System.currentTimeMillis() << 16, NODE_ID));
+        }
+        event = batchSize == 1 ? events.get(0) : CacheEvent.createBatchEvent(CACHE_NAME, events, NODE_ID);
+
+        System.out.printf("%nbatchSize=%d, default codec: %d bytes, compact codec: %d bytes%n",
+                batchSize, encodedSize(defaultCodec), encodedSize(compactCodec));
+    }
+
+    @Benchmark
+    public Object defaultCodecRoundTrip() throws IOException {
+        return roundTrip(defaultCodec);
+    }
+
+    @Benchmark
+    public Object compactCodecRoundTrip() throws IOException {
+        return roundTrip(compactCodec);
+    }
+
+    private Object roundTrip(Codec codec) throws IOException {
+        ByteBuf encoded = codec.getValueEncoder().encode(event);
+        try {
+            return codec.getValueDecoder().decode(encoded, null);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private int encodedSize(Codec codec) throws IOException {
+        ByteBuf encoded = codec.getValueEncoder().encode(event);
+        try {
+            return encoded.readableBytes();
+        } finally {
+            encoded.release();
+        }
+    }
+}
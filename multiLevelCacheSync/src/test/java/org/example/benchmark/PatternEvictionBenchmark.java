@@ -0,0 +1,131 @@
+package org.example.benchmark;
+
+import org.example.cache.MultiLevelCache;
+import org.example.config.CacheProperties;
+import org.example.config.MultiLevelCacheManager;
+import org.example.listener.RedissonCacheEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模式删除基准：在大量键中删除一个前缀下的少量键
+ * FULL_KEYSET为原有做法（拉取全部键、逐个String.matches、逐个删除），
+ * SCAN为HSCAN MATCH游标加分批删除，PREFIX_INDEX为按前缀索引遍历。
+ * 需要本地Redis（默认redis://127.0.0.1:6379，可通过-Dbenchmark.redis覆盖），运行方式：
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.1.0:exec -Dexec.executable=java
+ * -Dexec.classpathScope=test -Dexec.args="-cp %classpath org.openjdk.jmh.Main PatternEvictionBenchmark"
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PatternEvictionBenchmark {
+
+    private static final String CACHE_NAME = "benchmark-pattern";
+    private static final String PREFIX = "username:";
+    private static final String PATTERN = "username:.*";
+
+    public enum Strategy {
+        FULL_KEYSET, SCAN, PREFIX_INDEX
+    }
+
+    @Param({"FULL_KEYSET", "SCAN", "PREFIX_INDEX"})
+    private Strategy strategy;
+
+    @Param({"100000"})
+    private int keyCount;
+
+    // 匹配模式的键所占比例（百分比）
+    @Param({"1"})
+    private int matchPercent;
+
+    private RedissonClient redissonClient;
+    private MultiLevelCacheManager cacheManager;
+    private MultiLevelCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Config config = new Config();
+        config.useSingleServer().setAddress(System.getProperty("benchmark.redis", "redis://127.0.0.1:6379"));
+        redissonClient = Redisson.create(config);
+
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setNodeId("benchmark-pattern");
+        CacheProperties.CacheConfig cacheConfig = new CacheProperties.CacheConfig();
+        if (strategy == Strategy.PREFIX_INDEX) {
+            cacheConfig.getRedis().setIndexedPrefixes(List.of(PREFIX));
+        }
+        cacheProperties.getCaches().put(CACHE_NAME, cacheConfig);
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        RedissonCacheEventListener listener = new RedissonCacheEventListener(
+                redissonClient, beanFactory.getBeanProvider(CacheManager.class), cacheProperties, "benchmark-pattern");
+        cacheManager = new MultiLevelCacheManager(redissonClient, cacheProperties, listener);
+        beanFactory.addBean("cacheManager", cacheManager);
+        cache = (MultiLevelCache) cacheManager.getCache(CACHE_NAME);
+        cache.clear();
+
+        // 不匹配的键只写入一次，每次测量前补回被删除的匹配键
+        Map<Object, Object> others = new LinkedHashMap<>();
+        for (int i = 0; i < keyCount - matchingCount(); i++) {
+            others.put("id:" + i, i);
+        }
+        cache.putAll(others);
+    }
+
+    @Setup(Level.Invocation)
+    public void refill() {
+        Map<Object, Object> matching = new LinkedHashMap<>();
+        for (int i = 0; i < matchingCount(); i++) {
+            matching.put(PREFIX + i, i);
+        }
+        cache.putAll(matching);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache.clear();
+        cacheManager.destroy();
+        redissonClient.shutdown();
+    }
+
+    @Benchmark
+    public void evictByPattern() {
+        if (strategy == Strategy.FULL_KEYSET) {
+            for (String key : cache.getKeys()) {
+                if (key.matches(PATTERN)) {
+                    cache.evict(key);
+                }
+            }
+        } else {
+            cache.evictByPattern(PATTERN);
+        }
+    }
+
+    private int matchingCount() {
+        return Math.max(1, keyCount * matchPercent / 100);
+    }
+}
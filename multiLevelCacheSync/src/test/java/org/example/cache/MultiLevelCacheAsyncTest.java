@@ -0,0 +1,126 @@
+package org.example.cache;
+
+import org.example.cache.event.CacheEvent;
+import org.example.cache.store.RedisCacheStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 异步读写的完成语义：Future完成时本地缓存已更新，Redis失败时不更新本地缓存也不发布事件，
+ * 后续处理在缓存的异步线程池中执行
+ */
+class MultiLevelCacheAsyncTest {
+
+    private static final String ASYNC_THREAD = "test-cache-async";
+
+    private final List<CacheEvent> events = new CopyOnWriteArrayList<>();
+    private final AtomicReference<String> publishThread = new AtomicReference<>();
+    private ExecutorService asyncExecutor;
+    private RedisCacheStore redisStore;
+    private MultiLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        asyncExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, ASYNC_THREAD));
+        redisStore = mock(RedisCacheStore.class);
+        cache = TestMultiLevelCacheBuilder.builder()
+                .redisStore(redisStore)
+                .eventPublisher(event -> {
+                    publishThread.set(Thread.currentThread().getName());
+                    events.add(event);
+                    return null;
+                })
+                .asyncExecutor(asyncExecutor)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncExecutor.shutdownNow();
+    }
+
+    @Test
+    void putAsyncCompletesAfterRedisWriteAndLocalUpdate() throws Exception {
+        CompletableFuture<Void> redisWrite = new CompletableFuture<>();
+        when(redisStore.putAsync(anyString(), any(), anyLong())).thenReturn(redisWrite);
+
+        CompletableFuture<Void> put = cache.putAsync("1", "alice");
+        assertThat(put).isNotDone();
+        assertThat(events).isEmpty();
+
+        redisWrite.complete(null);
+        put.get(5, TimeUnit.SECONDS);
+
+        // Future完成后立即读取，不应再访问Redis
+        assertThat(cache.get("1")).isNotNull();
+        assertThat(cache.get("1").get()).isEqualTo("alice");
+        assertThat(events).hasSize(1);
+        assertThat(publishThread.get()).isEqualTo(ASYNC_THREAD);
+    }
+
+    @Test
+    void putAsyncFailsWithoutLocalUpdateOrEvent() {
+        when(redisStore.putAsync(anyString(), any(), anyLong()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("redis down")));
+
+        CompletableFuture<Void> put = cache.putAsync("1", "alice");
+
+        assertThatThrownBy(put::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("1")).isNull();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void evictAsyncInvalidatesLocalBeforeCompleting() throws Exception {
+        when(redisStore.putAsync(anyString(), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+        cache.putAsync("1", "alice").get(5, TimeUnit.SECONDS);
+        events.clear();
+
+        CompletableFuture<Void> redisRemove = new CompletableFuture<>();
+        when(redisStore.removeAsync("1")).thenReturn(redisRemove);
+
+        CompletableFuture<Void> evict = cache.evictAsync("1");
+        assertThat(evict).isNotDone();
+
+        redisRemove.complete(null);
+        evict.get(5, TimeUnit.SECONDS);
+
+        assertThat(cache.get("1")).isNull();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getEventType()).isEqualTo(CacheEvent.EventType.REMOVE);
+        assertThat(publishThread.get()).isEqualTo(ASYNC_THREAD);
+    }
+
+    @Test
+    void evictAsyncFailureKeepsLocalEntry() throws Exception {
+        when(redisStore.putAsync(anyString(), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+        cache.putAsync("1", "alice").get(5, TimeUnit.SECONDS);
+        events.clear();
+        when(redisStore.removeAsync("1"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("redis down")));
+
+        assertThatThrownBy(() -> cache.evictAsync("1").join()).isInstanceOf(CompletionException.class);
+        assertThat(cache.get("1").get()).isEqualTo("alice");
+        assertThat(events).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.cache;
+
+import org.example.cache.bloom.CacheBloomFilter;
+import org.example.cache.store.RedisCacheStore;
+import org.example.cache.version.CacheEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 布隆过滤器只在两级缓存均未命中后判断：过滤器副本过时不影响已缓存的键，确认不存在的键不回源
+ */
+class MultiLevelCacheBloomTest {
+
+    private RedisCacheStore redisStore;
+    private CacheBloomFilter bloomFilter;
+    private MultiLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisStore = mock(RedisCacheStore.class);
+        bloomFilter = mock(CacheBloomFilter.class);
+        // 过滤器对所有键都判定不存在，模拟本地副本过时
+        when(bloomFilter.mightContain(anyString())).thenReturn(false);
+        when(bloomFilter.mightContainAsync(anyString())).thenReturn(CompletableFuture.completedFuture(false));
+        cache = TestMultiLevelCacheBuilder.builder()
+                .redisStore(redisStore)
+                .bloomFilter(bloomFilter)
+                .build();
+    }
+
+    @Test
+    void redisEntryIsServedEvenIfFilterSaysAbsent() {
+        when(redisStore.get("1")).thenReturn(new CacheEntry("alice", 1L, System.currentTimeMillis() + 60_000L));
+
+        ValueWrapper wrapper = cache.get("1");
+
+        assertThat(wrapper).isNotNull();
+        assertThat(wrapper.get()).isEqualTo("alice");
+        verify(bloomFilter, never()).mightContain(anyString());
+    }
+
+    @Test
+    void confirmedAbsentKeySkipsLoaderAfterRedisMiss() {
+        AtomicInteger loads = new AtomicInteger();
+
+        Object value = cache.get("2", () -> {
+            loads.incrementAndGet();
+            return "loaded";
+        });
+
+        assertThat(value).isNull();
+        assertThat(loads).hasValue(0);
+        verify(redisStore).get("2");
+    }
+
+    @Test
+    void asyncLookupReadsRedisBeforeFilter() {
+        when(redisStore.getAsync("3")).thenReturn(CompletableFuture.completedFuture(
+                new CacheEntry("carol", 1L, System.currentTimeMillis() + 60_000L)));
+
+        ValueWrapper wrapper = cache.getAsync("3").join();
+
+        assertThat(wrapper).isNotNull();
+        assertThat(wrapper.get()).isEqualTo("carol");
+        verify(bloomFilter, never()).mightContainAsync(anyString());
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.cache.store.RedisCacheStore;
+import org.example.cache.version.CacheEntry;
+import org.example.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.spring.cache.NullValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量读取与单键读取使用同一查找路径：检查逻辑过期、缓存的空值不返回给调用方、只加载真正未命中的键
+ */
+class MultiLevelCacheBulkTest {
+
+    private final Map<String, Object> redis = new HashMap<>();
+    private Cache<Object, Object> caffeineCache;
+    private RedisCacheStore redisStore;
+    private final AtomicInteger batchTasks = new AtomicInteger();
+    private CacheProperties properties;
+    private MultiLevelCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        caffeineCache = Caffeine.newBuilder().maximumSize(100).build();
+        properties = new CacheProperties();
+        redisStore = mock(RedisCacheStore.class);
+        when(redisStore.getAll(anySet())).thenAnswer(invocation -> {
+            Map<String, Object> values = new HashMap<>();
+            for (String key : (Set<String>) invocation.getArgument(0)) {
+                if (redis.containsKey(key)) {
+                    values.put(key, redis.get(key));
+                }
+            }
+            return values;
+        });
+        cache = TestMultiLevelCacheBuilder.builder()
+                .caffeineCache(caffeineCache)
+                .redisStore(redisStore)
+                .properties(properties)
+                .batchExecutor(task -> {
+                    batchTasks.incrementAndGet();
+                    task.run();
+                })
+                .build();
+    }
+
+    @Test
+    void expiredLocalEntryIsReadFromRedis() {
+        long now = System.currentTimeMillis();
+        caffeineCache.put("1", new CacheEntry("stale", 1L, now - 1000L));
+        redis.put("1", new CacheEntry("fresh", 2L, now + 60_000L));
+
+        Map<Object, Object> values = cache.getAll(Set.of("1"));
+
+        assertThat(values).containsEntry("1", "fresh");
+        verify(redisStore).getAll(Set.of("1"));
+    }
+
+    @Test
+    void cachedNullValueIsNotReturned() {
+        long now = System.currentTimeMillis();
+        caffeineCache.put("1", new CacheEntry(NullValue.INSTANCE, 1L, now + 60_000L));
+        caffeineCache.put("2", new CacheEntry("bob", 1L, now + 60_000L));
+
+        Map<Object, Object> values = cache.getAll(Set.<Object>of("1", "2"));
+
+        assertThat(values).containsOnlyKeys("2");
+        assertThat(values).containsEntry("2", "bob");
+    }
+
+    @Test
+    void bulkLoaderReceivesOnlyRealMisses() {
+        long now = System.currentTimeMillis();
+        caffeineCache.put("1", new CacheEntry("alice", 1L, now + 60_000L));
+        caffeineCache.put("2", new CacheEntry("stale", 1L, now - 1000L));
+        redis.put("3", new CacheEntry("carol", 1L, now + 60_000L));
+        redis.put("4", new CacheEntry("expired", 1L, now - 1000L));
+        caffeineCache.put("5", new CacheEntry(NullValue.INSTANCE, 1L, now + 60_000L));
+        List<Set<String>> loads = new CopyOnWriteArrayList<>();
+
+        Map<String, String> values = cache.getAll(List.of("1", "2", "3", "4", "5"), missed -> {
+            loads.add(missed);
+            Map<String, String> loaded = new HashMap<>();
+            missed.forEach(key -> loaded.put(key, "loaded-" + key));
+            return loaded;
+        });
+
+        assertThat(loads).containsExactly(Set.of("2", "4"));
+        assertThat(values).containsExactly(
+                Map.entry("1", "alice"),
+                Map.entry("2", "loaded-2"),
+                Map.entry("3", "carol"),
+                Map.entry("4", "loaded-4"));
+    }
+
+    @Test
+    void putAllRunsExtraLanesOnBatchExecutor() {
+        properties.getBatch().setMaxSize(2);
+        properties.getBatch().setParallelism(3);
+        Map<Object, Object> entries = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            entries.put(String.valueOf(i), "user-" + i);
+        }
+
+        cache.putAll(entries);
+
+        // 5个分块分配到3条线路，第一条在调用线程上执行
+        assertThat(batchTasks).hasValue(2);
+        verify(redisStore, times(5)).putAll(anyMap(), any());
+        assertThat(cache.getAll(entries.keySet())).isEqualTo(entries);
+    }
+}
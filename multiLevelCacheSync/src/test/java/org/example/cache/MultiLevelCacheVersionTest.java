@@ -0,0 +1,134 @@
+package org.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.cache.event.CacheEvent;
+import org.example.cache.version.CacheEntry;
+import org.example.cache.version.HybridLogicalClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 带版本的同步事件：乱序到达的旧写入被丢弃，删除墓碑和清空水位拒绝晚到的旧写入
+ */
+class MultiLevelCacheVersionTest {
+
+    private static final String REMOTE_NODE = "node-2";
+    private static final long TTL = 60_000L;
+
+    private final HybridLogicalClock clock = new HybridLogicalClock();
+    private Cache<Object, Object> caffeineCache;
+    private MultiLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        caffeineCache = Caffeine.newBuilder().maximumSize(100).build();
+        cache = TestMultiLevelCacheBuilder.builder()
+                .caffeineCache(caffeineCache)
+                .clock(clock)
+                .build();
+    }
+
+    @Test
+    void olderRemotePutDoesNotOverwriteNewerEntry() {
+        long older = clock.tick();
+        long newer = clock.tick();
+        caffeineCache.put("1", new CacheEntry("newer", newer));
+
+        cache.handleCacheEvent(CacheEvent.createPutEvent("users", "1", "older", REMOTE_NODE, TTL, older));
+
+        assertThat(valueOf("1")).isEqualTo("newer");
+    }
+
+    @Test
+    void newerRemotePutReplacesEntry() {
+        long older = clock.tick();
+        long newer = clock.tick();
+        caffeineCache.put("1", new CacheEntry("older", older));
+
+        cache.handleCacheEvent(CacheEvent.createPutEvent("users", "1", "newer", REMOTE_NODE, TTL, newer));
+
+        assertThat(valueOf("1")).isEqualTo("newer");
+    }
+
+    @Test
+    void tombstoneRejectsLateOlderPut() {
+        long putVersion = clock.tick();
+        long removeVersion = clock.tick();
+
+        // 删除先于更早的写入到达
+        cache.handleCacheEvent(CacheEvent.createRemoveEvent("users", "1", REMOTE_NODE, removeVersion));
+        cache.handleCacheEvent(CacheEvent.createPutEvent("users", "1", "stale", REMOTE_NODE, TTL, putVersion));
+
+        assertThat(caffeineCache.getIfPresent("1")).isNull();
+    }
+
+    @Test
+    void putNewerThanTombstoneIsApplied() {
+        long removeVersion = clock.tick();
+        long putVersion = clock.tick();
+
+        cache.handleCacheEvent(CacheEvent.createRemoveEvent("users", "1", REMOTE_NODE, removeVersion));
+        cache.handleCacheEvent(CacheEvent.createPutEvent("users", "1", "fresh", REMOTE_NODE, TTL, putVersion));
+
+        assertThat(valueOf("1")).isEqualTo("fresh");
+    }
+
+    @Test
+    void olderRemoveKeepsNewerEntry() {
+        long removeVersion = clock.tick();
+        long putVersion = clock.tick();
+        caffeineCache.put("1", new CacheEntry("newer", putVersion));
+
+        cache.handleCacheEvent(CacheEvent.createRemoveEvent("users", "1", REMOTE_NODE, removeVersion));
+
+        assertThat(valueOf("1")).isEqualTo("newer");
+    }
+
+    @Test
+    void clearRejectsLateOlderPut() {
+        long putVersion = clock.tick();
+        long clearVersion = clock.tick();
+        CacheEvent clear = CacheEvent.createClearEvent("users", REMOTE_NODE);
+        clear.setVersion(clearVersion);
+
+        // 清空先于更早的写入到达
+        cache.handleCacheEvent(clear);
+        cache.handleCacheEvent(CacheEvent.createPutEvent("users", "1", "stale", REMOTE_NODE, TTL, putVersion));
+
+        assertThat(caffeineCache.getIfPresent("1")).isNull();
+    }
+
+    @Test
+    void putNewerThanClearIsApplied() {
+        CacheEvent clear = CacheEvent.createClearEvent("users", REMOTE_NODE);
+        clear.setVersion(clock.tick());
+        cache.handleCacheEvent(clear);
+
+        cache.handleCacheEvent(CacheEvent.createPutEvent("users", "1", "fresh", REMOTE_NODE, TTL, clock.tick()));
+
+        assertThat(valueOf("1")).isEqualTo("fresh");
+    }
+
+    @Test
+    void remoteVersionAdvancesLocalClock() {
+        long remote = (System.currentTimeMillis() + 60_000L) << 16;
+
+        cache.handleCacheEvent(CacheEvent.createRemoveEvent("users", "1", REMOTE_NODE, remote));
+
+        assertThat(clock.tick()).isGreaterThan(remote);
+    }
+
+    @Test
+    void ownEventsAreIgnored() {
+        cache.handleCacheEvent(CacheEvent.createPutEvent("users", "1", "self", "node-1", TTL, clock.tick()));
+
+        assertThat(caffeineCache.getIfPresent("1")).isNull();
+    }
+
+    private Object valueOf(String key) {
+        return CacheEntry.unwrap(caffeineCache.getIfPresent(key));
+    }
+}
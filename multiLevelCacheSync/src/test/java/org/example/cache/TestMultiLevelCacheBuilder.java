@@ -0,0 +1,91 @@
+package org.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.cache.bloom.CacheBloomFilter;
+import org.example.cache.event.CacheEvent;
+import org.example.cache.store.RedisCacheStore;
+import org.example.cache.version.HybridLogicalClock;
+import org.example.config.CacheProperties;
+import org.redisson.api.RedissonClient;
+
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 测试用的MultiLevelCache构建器
+ * 默认使用名称users、节点node-1、模拟的Redis、同步执行的线程池，不启用可选组件，测试只覆盖需要的参数
+ */
+class TestMultiLevelCacheBuilder {
+
+    private Cache<Object, Object> caffeineCache = Caffeine.newBuilder().maximumSize(100).build();
+    private RedisCacheStore redisStore = mock(RedisCacheStore.class);
+    private CacheProperties properties = new CacheProperties();
+    private Function<CacheEvent, Void> eventPublisher = event -> null;
+    private HybridLogicalClock clock = new HybridLogicalClock();
+    private Executor asyncExecutor = Runnable::run;
+    private Executor batchExecutor = Runnable::run;
+    private CacheBloomFilter bloomFilter;
+
+    static TestMultiLevelCacheBuilder builder() {
+        return new TestMultiLevelCacheBuilder();
+    }
+
+    TestMultiLevelCacheBuilder caffeineCache(Cache<Object, Object> caffeineCache) {
+        this.caffeineCache = caffeineCache;
+        return this;
+    }
+
+    TestMultiLevelCacheBuilder redisStore(RedisCacheStore redisStore) {
+        this.redisStore = redisStore;
+        return this;
+    }
+
+    TestMultiLevelCacheBuilder properties(CacheProperties properties) {
+        this.properties = properties;
+        return this;
+    }
+
+    TestMultiLevelCacheBuilder eventPublisher(Function<CacheEvent, Void> eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        return this;
+    }
+
+    TestMultiLevelCacheBuilder clock(HybridLogicalClock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    TestMultiLevelCacheBuilder asyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    TestMultiLevelCacheBuilder batchExecutor(Executor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+        return this;
+    }
+
+    TestMultiLevelCacheBuilder bloomFilter(CacheBloomFilter bloomFilter) {
+        this.bloomFilter = bloomFilter;
+        return this;
+    }
+
+    MultiLevelCache build() {
+        return new MultiLevelCache("users",
+                caffeineCache,
+                mock(RedissonClient.class),
+                redisStore,
+                properties,
+                new CacheProperties.CacheConfig(),
+                "node-1",
+                eventPublisher,
+                clock,
+                Runnable::run,
+                asyncExecutor,
+                batchExecutor,
+                null, bloomFilter, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.cache.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentedCollectionCacheTest {
+
+    private static final int SEGMENT_SIZE = 10;
+
+    private record Item(long id) {
+    }
+
+    // 模拟数据源
+    private final NavigableSet<Long> table = new ConcurrentSkipListSet<>();
+    private final AtomicInteger segmentLoads = new AtomicInteger();
+    private SegmentedCollectionCache<Item> collection;
+
+    @BeforeEach
+    void setUp() {
+        collection = new SegmentedCollectionCache<>(
+                new ConcurrentMapCache("items"),
+                "items:all",
+                SEGMENT_SIZE,
+                Item.class,
+                Item::id,
+                (fromId, toId) -> {
+                    segmentLoads.incrementAndGet();
+                    return table.subSet(fromId, true, toId, false).stream().map(Item::new).toList();
+                },
+                () -> table.isEmpty() ? -1L : table.last());
+    }
+
+    @Test
+    void loadsSegmentsLazilyInIdOrder() {
+        for (long id = 25; id >= 0; id -= 5) {
+            table.add(id);
+        }
+
+        assertThat(collection.getAll()).extracting(Item::id).containsExactly(0L, 5L, 10L, 15L, 20L, 25L);
+        int loads = segmentLoads.get();
+
+        // 再次读取命中缓存
+        collection.getAll();
+        assertThat(segmentLoads.get()).isEqualTo(loads);
+    }
+
+    @Test
+    void addAndRemoveOnlyReloadTheAffectedSegment() {
+        for (long id = 0; id < 30; id++) {
+            table.add(id);
+        }
+        collection.getAll();
+        int loads = segmentLoads.get();
+
+        table.remove(12L);
+        collection.onRemoved(12L);
+        table.add(35L);
+        collection.onAdded(35L);
+
+        assertThat(collection.getAll()).extracting(Item::id).doesNotContain(12L).contains(35L).hasSize(30);
+        // 段1重新加载，新增的段3首次加载
+        assertThat(segmentLoads.get() - loads).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentAddsAndRemovesAreNotLost() throws Exception {
+        for (long id = 0; id < 100; id += 2) {
+            table.add(id);
+        }
+        collection.getAll();
+
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        // 所有线程修改同一批段：奇数ID新增，偶数ID删除
+                        long added = 2L * (thread * perThread + i) % 100 + 1;
+                        long removed = added - 1;
+                        table.add(added);
+                        collection.onAdded(added);
+                        table.remove(removed);
+                        collection.onRemoved(removed);
+                    }
+                    return null;
+                }));
+            }
+            // 同时不断读取，读取会把段重新写回缓存
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    collection.getAll();
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(collection.getAll()).extracting(Item::id).containsExactlyElementsOf(table);
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.cache.event;
+
+import org.example.config.CacheProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheEventCoalescerTest {
+
+    private static final String CACHE = "users";
+    private static final String NODE = "node-1";
+
+    private final List<CacheEvent> published = new CopyOnWriteArrayList<>();
+    private CacheProperties.SyncProperties syncProperties;
+    private CacheEventCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        syncProperties = new CacheProperties.SyncProperties();
+        // 窗口足够长，由测试显式触发发布
+        syncProperties.setWindowMillis(60_000);
+        coalescer = new CacheEventCoalescer(syncProperties, published::add, NODE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void keepsLastOperationPerKeyInSubmissionOrder() {
+        coalescer.submit(CacheEvent.createPutEvent(CACHE, "1", "a", NODE, 1000L, 1L));
+        coalescer.submit(CacheEvent.createPutEvent(CACHE, "2", "b", NODE, 1000L, 2L));
+        coalescer.submit(CacheEvent.createPutEvent(CACHE, "1", "c", NODE, 1000L, 3L));
+        coalescer.flushAll();
+
+        List<CacheEvent> events = singleBatch();
+        assertThat(events).extracting(CacheEvent::getKey).containsExactly("2", "1");
+        assertThat(events.get(1).getValue()).isEqualTo("c");
+        assertThat(coalescer.getPendingCount()).isZero();
+    }
+
+    @Test
+    void expireDoesNotOverrideRemove() {
+        coalescer.submit(CacheEvent.createRemoveEvent(CACHE, "1", NODE, 5L));
+        coalescer.submit(CacheEvent.createExpireEvent(CACHE, "1", 1000L, NODE));
+        coalescer.flushAll();
+
+        assertThat(published).singleElement().satisfies(event ->
+                assertThat(event.getEventType()).isEqualTo(CacheEvent.EventType.REMOVE));
+    }
+
+    @Test
+    void expireUpdatesTtlOfPendingPut() {
+        coalescer.submit(CacheEvent.createPutEvent(CACHE, "1", "a", NODE, 1000L, 1L));
+        coalescer.submit(CacheEvent.createExpireEvent(CACHE, "1", 5000L, NODE));
+        coalescer.flushAll();
+
+        assertThat(published).singleElement().satisfies(event -> {
+            assertThat(event.getEventType()).isEqualTo(CacheEvent.EventType.PUT);
+            assertThat(event.getTtl()).isEqualTo(5000L);
+        });
+    }
+
+    @Test
+    void olderPutDoesNotOverrideRemove() {
+        coalescer.submit(CacheEvent.createRemoveEvent(CACHE, "1", NODE, 5L));
+        coalescer.submit(CacheEvent.createPutEvent(CACHE, "1", "stale", NODE, 1000L, 4L));
+        coalescer.flushAll();
+
+        assertThat(published).singleElement().satisfies(event ->
+                assertThat(event.getEventType()).isEqualTo(CacheEvent.EventType.REMOVE));
+    }
+
+    @Test
+    void newerPutReplacesRemove() {
+        coalescer.submit(CacheEvent.createRemoveEvent(CACHE, "1", NODE, 5L));
+        coalescer.submit(CacheEvent.createPutEvent(CACHE, "1", "fresh", NODE, 1000L, 6L));
+        coalescer.flushAll();
+
+        assertThat(published).singleElement().satisfies(event ->
+                assertThat(event.getValue()).isEqualTo("fresh"));
+    }
+
+    @Test
+    void clearDiscardsBufferedEvents() {
+        coalescer.submit(CacheEvent.createPutEvent(CACHE, "1", "a", NODE, 1000L, 1L));
+        coalescer.submit(CacheEvent.createClearEvent(CACHE, NODE));
+        coalescer.flushAll();
+
+        assertThat(published).singleElement().satisfies(event ->
+                assertThat(event.getEventType()).isEqualTo(CacheEvent.EventType.CLEAR));
+        assertThat(coalescer.getPendingCount()).isZero();
+    }
+
+    @Test
+    void patternEventIsPublishedAfterBufferedEvents() {
+        coalescer.submit(CacheEvent.createPutEvent(CACHE, "1", "a", NODE, 1000L, 1L));
+        coalescer.submit(CacheEvent.createRemovePatternEvent(CACHE, "user:*", NODE));
+
+        assertThat(published).extracting(CacheEvent::getEventType)
+                .containsExactly(CacheEvent.EventType.PUT, CacheEvent.EventType.REMOVE_PATTERN);
+    }
+
+    @Test
+    void submitIsNotBlockedWhilePublishing() throws Exception {
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CacheEventCoalescer blocking = new CacheEventCoalescer(syncProperties, event -> {
+            publishing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, NODE);
+        try {
+            blocking.submit(CacheEvent.createPutEvent(CACHE, "1", "a", NODE, 1000L, 1L));
+            Thread flusher = new Thread(blocking::flushAll);
+            flusher.start();
+            assertThat(publishing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 发布阻塞期间仍可向同一缓存提交事件
+            blocking.submit(CacheEvent.createPutEvent(CACHE, "2", "b", NODE, 1000L, 2L));
+            assertThat(blocking.getPendingCount()).isEqualTo(1);
+
+            release.countDown();
+            flusher.join(5000);
+        } finally {
+            release.countDown();
+            blocking.shutdown();
+        }
+    }
+
+    private List<CacheEvent> singleBatch() {
+        assertThat(published).singleElement().satisfies(event ->
+                assertThat(event.getEventType()).isEqualTo(CacheEvent.EventType.BATCH));
+        return published.get(0).getEvents();
+    }
+}
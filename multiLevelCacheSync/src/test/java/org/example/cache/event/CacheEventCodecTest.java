@@ -0,0 +1,178 @@
+package org.example.cache.event;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.jupiter.api.Test;
+import org.redisson.codec.SerializationCodec;
+
+import java.io.IOException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheEventCodecTest {
+
+    private static final String CACHE = "users";
+    private static final String NODE = "node-1";
+
+    private final SerializationCodec valueCodec = new SerializationCodec();
+    private final CacheEventCodec codec = new CacheEventCodec(valueCodec, NODE, Set.of(CACHE, "orders"));
+
+    @Test
+    void roundTripsSingleEvent() throws IOException {
+        ArrayList<String> value = new ArrayList<>(List.of("a", "b"));
+        CacheEvent event = CacheEvent.createPutEvent(CACHE, "user:1", value, NODE, 1800_000L, 42L);
+
+        CacheEvent decoded = roundTrip(codec, event);
+
+        assertThat(decoded.getEventType()).isEqualTo(CacheEvent.EventType.PUT);
+        assertThat(decoded.getCacheName()).isEqualTo(CACHE);
+        assertThat(decoded.getKey()).isEqualTo("user:1");
+        assertThat(decoded.getValue()).isEqualTo(value);
+        assertThat(decoded.getTtl()).isEqualTo(1800_000L);
+        assertThat(decoded.getVersion()).isEqualTo(42L);
+        assertThat(decoded.getEventId()).isEqualTo(event.getEventId());
+        assertThat(decoded.getSourceNodeId()).isEqualTo(NODE);
+        assertThat(decoded.getTimestamp()).isEqualTo(event.getTimestamp().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    void roundTripsBatchPutAndNumericKeys() throws IOException {
+        Map<Object, Object> entries = new LinkedHashMap<>();
+        entries.put(1L, "one");
+        entries.put(2, "two");
+        entries.put("three", null);
+        CacheEvent event = CacheEvent.createBatchPutEvent(CACHE, entries, NODE, 1000L);
+
+        CacheEvent decoded = roundTrip(codec, event);
+
+        assertThat(decoded.getEntries()).containsExactlyEntriesOf(entries);
+    }
+
+    @Test
+    void nestedEventsInheritBatchHeader() throws IOException {
+        List<CacheEvent> events = List.of(
+                CacheEvent.createPutEvent(CACHE, "1", "a", NODE, 1000L, 1L),
+                CacheEvent.createRemoveEvent(CACHE, "2", NODE, 2L),
+                CacheEvent.createInvalidateEvent(CACHE, "3", 3L, NODE));
+        CacheEvent batch = CacheEvent.createBatchEvent(CACHE, events, NODE);
+
+        CacheEvent decoded = roundTrip(codec, batch);
+
+        assertThat(decoded.getEvents()).hasSize(3);
+        assertThat(decoded.getEvents()).allSatisfy(nested -> {
+            assertThat(nested.getCacheName()).isEqualTo(CACHE);
+            assertThat(nested.getSourceNodeId()).isEqualTo(NODE);
+            assertThat(nested.getTimestamp()).isEqualTo(decoded.getTimestamp());
+        });
+        assertThat(decoded.getEvents()).extracting(CacheEvent::getEventType).containsExactly(
+                CacheEvent.EventType.PUT, CacheEvent.EventType.REMOVE, CacheEvent.EventType.INVALIDATE);
+        assertThat(decoded.getEvents()).extracting(CacheEvent::getVersion).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void batchHeaderIsWrittenOnce() throws IOException {
+        List<CacheEvent> events = new ArrayList<>();
+        int singles = 0;
+        for (int i = 0; i < 10; i++) {
+            CacheEvent event = CacheEvent.createRemoveEvent(CACHE, "user:" + i, NODE, (long) i);
+            events.add(event);
+            singles += encodedSize(codec, event);
+        }
+        int batch = encodedSize(codec, CacheEvent.createBatchEvent(CACHE, events, NODE));
+
+        // 每个子事件至少省去8字节的节点哈希
+        assertThat(batch).isLessThan(singles - 10 * 8);
+    }
+
+    @Test
+    void dictionaryNamesAreShorterOnTheWire() throws IOException {
+        CacheEventCodec withoutDictionary = new CacheEventCodec(valueCodec, NODE);
+        CacheEvent event = CacheEvent.createRemoveEvent("orders", "1", NODE, 1L);
+
+        assertThat(encodedSize(codec, event)).isLessThan(encodedSize(withoutDictionary, event));
+    }
+
+    @Test
+    void namesOutsideDictionaryAreWrittenAsStrings() throws IOException {
+        CacheEvent event = CacheEvent.createRemoveEvent("products", "1", NODE, 1L);
+
+        CacheEvent decoded = roundTrip(codec, event);
+
+        assertThat(decoded.getCacheName()).isEqualTo("products");
+    }
+
+    @Test
+    void idOutsideDictionaryIsResolvedFromLocalCaches() throws IOException {
+        CacheEventCodec receiver = new CacheEventCodec(valueCodec, NODE, Set.of(), () -> List.of("orders", CACHE));
+
+        CacheEvent decoded = decode(receiver, codec, CacheEvent.createRemoveEvent(CACHE, "1", NODE, 1L));
+
+        assertThat(decoded.getCacheName()).isEqualTo(CACHE);
+        assertThat(decoded.getKey()).isEqualTo("1");
+    }
+
+    @Test
+    void idLearnedFromInlineNameIsResolved() throws IOException {
+        CacheEventCodec receiver = new CacheEventCodec(valueCodec, NODE);
+        CacheEventCodec inlineSender = new CacheEventCodec(valueCodec, NODE);
+        decode(receiver, inlineSender, CacheEvent.createClearEvent(CACHE, NODE));
+
+        CacheEvent decoded = decode(receiver, codec, CacheEvent.createRemoveEvent(CACHE, "1", NODE, 1L));
+
+        assertThat(decoded.getCacheName()).isEqualTo(CACHE);
+    }
+
+    @Test
+    void unresolvedIdStillDecodesEvent() throws IOException {
+        CacheEventCodec receiver = new CacheEventCodec(valueCodec, NODE);
+
+        CacheEvent decoded = decode(receiver, codec, CacheEvent.createRemoveEvent(CACHE, "1", NODE, 7L));
+
+        assertThat(decoded.getCacheName()).isNull();
+        assertThat(decoded.getEventType()).isEqualTo(CacheEvent.EventType.REMOVE);
+        assertThat(decoded.getKey()).isEqualTo("1");
+        assertThat(decoded.getVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void otherObjectsUseValueCodec() throws IOException {
+        ByteBuf encoded = codec.getValueEncoder().encode("plain message");
+        try {
+            assertThat(codec.getValueDecoder().decode(encoded, null)).isEqualTo("plain message");
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private static CacheEvent roundTrip(CacheEventCodec codec, CacheEvent event) throws IOException {
+        ByteBuf encoded = codec.getValueEncoder().encode(event);
+        try {
+            return (CacheEvent) codec.getValueDecoder().decode(encoded, null);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private static CacheEvent decode(CacheEventCodec receiver, CacheEventCodec sender, CacheEvent event) throws IOException {
+        ByteBuf encoded = sender.getValueEncoder().encode(event);
+        try {
+            return (CacheEvent) receiver.getValueDecoder().decode(encoded, null);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private static int encodedSize(CacheEventCodec codec, CacheEvent event) throws IOException {
+        ByteBuf encoded = codec.getValueEncoder().encode(event);
+        try {
+            return encoded.readableBytes();
+        } finally {
+            encoded.release();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.cache.hotkey;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Count-Min Sketch热点探测：估算不低于真实频率，只保留前K个热点，计数随采样窗口衰减
+ */
+class HotKeyDetectorTest {
+
+    @Test
+    void estimateNeverUnderCounts() {
+        HotKeyDetector detector = new HotKeyDetector(10, 1_000_000, 1_000_000);
+        Map<String, Integer> actual = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            String key = "user:" + random.nextInt(5_000);
+            actual.merge(key, 1, Integer::sum);
+            detector.record(key);
+        }
+
+        actual.forEach((key, count) -> assertThat(detector.estimate(key)).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    void detectsHeavyKeysAmongUniformTraffic() {
+        HotKeyDetector detector = new HotKeyDetector(3, 500, 1_000_000);
+        Random random = new Random(7);
+        List<String> hot = List.of("user:hot-1", "user:hot-2", "user:hot-3");
+        for (int i = 0; i < 300_000; i++) {
+            // 约10%的访问落在3个热点键上，其余均匀分布在1万个键上
+            String key = random.nextInt(10) == 0
+                    ? hot.get(random.nextInt(hot.size()))
+                    : "user:" + random.nextInt(10_000);
+            detector.record(key);
+        }
+
+        assertThat(detector.getHotKeys().keySet()).containsExactlyInAnyOrderElementsOf(hot);
+        hot.forEach(key -> assertThat(detector.isHot(key)).isTrue());
+        assertThat(detector.isHot("user:1")).isFalse();
+    }
+
+    @Test
+    void keepsOnlyTopKSortedByFrequency() {
+        HotKeyDetector detector = new HotKeyDetector(2, 10, 1_000_000);
+        List<String> accesses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            accesses.add("a");
+        }
+        for (int i = 0; i < 60; i++) {
+            accesses.add("b");
+        }
+        for (int i = 0; i < 30; i++) {
+            accesses.add("c");
+        }
+        accesses.forEach(detector::record);
+
+        Map<String, Long> hotKeys = detector.getHotKeys();
+        assertThat(hotKeys.keySet()).containsExactly("a", "b");
+        assertThat(detector.isHot("c")).isFalse();
+    }
+
+    @Test
+    void frequencyDecaysAfterSampleWindow() {
+        // 采样窗口最小为1024次访问
+        HotKeyDetector detector = new HotKeyDetector(4, 100, 1024);
+        for (int i = 0; i < 150; i++) {
+            detector.record("hot");
+        }
+        assertThat(detector.isHot("hot")).isTrue();
+
+        // 其余访问填满采样窗口，计数减半后低于阈值，热点键被移出
+        for (int i = 150; i < 1024; i++) {
+            detector.record("cold:" + i);
+        }
+
+        assertThat(detector.estimate("hot")).isLessThan(100);
+        assertThat(detector.isHot("hot")).isFalse();
+    }
+}
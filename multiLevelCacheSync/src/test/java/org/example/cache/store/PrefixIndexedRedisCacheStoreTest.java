@@ -0,0 +1,66 @@
+package org.example.cache.store;
+
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 前缀索引：按前缀遍历只返回仍存在的条目，并移除残留的索引成员
+ */
+class PrefixIndexedRedisCacheStoreTest {
+
+    private final RedisCacheStore delegate = mock(RedisCacheStore.class);
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scanSkipsAndPrunesMembersWhoseEntryIsGone() {
+        RSet<String> index = mock(RSet.class);
+        when(delegate.getName()).thenReturn("users:bucket:0");
+        when(redissonClient.<String>getSet("users:bucket:0:prefix-index:username:", StringCodec.INSTANCE))
+                .thenReturn(index);
+        when(index.iterator(2)).thenAnswer(invocation ->
+                List.of("username:a", "username:b", "username:c", "username:d").iterator());
+        // b和d已过期
+        when(delegate.getAll(anySet())).thenAnswer(invocation -> {
+            Map<String, Object> values = new HashMap<>();
+            for (String key : (Set<String>) invocation.getArgument(0)) {
+                if (key.endsWith("a") || key.endsWith("c")) {
+                    values.put(key, "v");
+                }
+            }
+            return values;
+        });
+        PrefixIndexedRedisCacheStore store = new PrefixIndexedRedisCacheStore(delegate, redissonClient, List.of("username:"));
+
+        List<String> scanned = new ArrayList<>();
+        store.scanKeys("username:", 2).forEach(scanned::add);
+
+        assertThat(scanned).containsExactly("username:a", "username:c");
+        verify(index).removeAll(List.of("username:b"));
+        verify(index).removeAll(List.of("username:d"));
+    }
+
+    @Test
+    void keysOutsideIndexedPrefixesUseDelegateScan() {
+        when(delegate.scanKeys("id:", 10)).thenReturn(List.of("id:1"));
+        PrefixIndexedRedisCacheStore store = new PrefixIndexedRedisCacheStore(delegate, redissonClient, List.of("username:"));
+
+        assertThat(store.scanKeys("id:", 10)).containsExactly("id:1");
+        verify(redissonClient, never()).getSet("users:prefix-index:id:", StringCodec.INSTANCE);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.cache.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 分桶存储：键在各桶间分布均匀，全量操作在指定线程池中按桶执行
+ */
+class ShardedRedisCacheStoreTest {
+
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final Executor executor = task -> {
+        submitted.incrementAndGet();
+        task.run();
+    };
+
+    @Test
+    void indexOfSpreadsKeysEvenly() {
+        int bucketCount = 16;
+        int keyCount = 100_000;
+        int[] counts = new int[bucketCount];
+        for (int i = 0; i < keyCount; i++) {
+            counts[ShardedRedisCacheStore.indexOf("user:" + i, bucketCount)]++;
+        }
+
+        int expected = keyCount / bucketCount;
+        for (int count : counts) {
+            assertThat(count).isBetween((int) (expected * 0.9), (int) (expected * 1.1));
+        }
+    }
+
+    @Test
+    void indexOfIsStableAndInRange() {
+        for (int bucketCount : new int[]{1, 3, 8, 31}) {
+            for (String key : List.of("", "a", "user:1", "用户:42", String.valueOf(Integer.MIN_VALUE))) {
+                int index = ShardedRedisCacheStore.indexOf(key, bucketCount);
+                assertThat(index).isBetween(0, bucketCount - 1);
+                assertThat(ShardedRedisCacheStore.indexOf(key, bucketCount)).isEqualTo(index);
+            }
+        }
+    }
+
+    @Test
+    void sizeRunsEveryBucketOnExecutor() {
+        List<RedisCacheStore> buckets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            RedisCacheStore bucket = mock(RedisCacheStore.class);
+            when(bucket.size()).thenReturn(i + 1);
+            buckets.add(bucket);
+        }
+        ShardedRedisCacheStore store = new ShardedRedisCacheStore("users", buckets, executor);
+
+        assertThat(store.size()).isEqualTo(1 + 2 + 3 + 4);
+        assertThat(submitted).hasValue(4);
+    }
+
+    @Test
+    void scanKeysVisitsEveryBucketInRounds() {
+        List<RedisCacheStore> buckets = new ArrayList<>();
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            List<String> keys = new ArrayList<>();
+            // 各桶键数不同，遍历完的桶不再参与后续轮次
+            for (int j = 0; j < (i + 1) * 5; j++) {
+                keys.add("user:" + i + ":" + j);
+            }
+            expected.addAll(keys);
+            RedisCacheStore bucket = mock(RedisCacheStore.class);
+            when(bucket.scanKeys(eq("user:"), anyInt())).thenReturn(keys);
+            buckets.add(bucket);
+        }
+        ShardedRedisCacheStore store = new ShardedRedisCacheStore("users", buckets, executor);
+
+        List<String> scanned = new ArrayList<>();
+        store.scanKeys("user:", 4).forEach(scanned::add);
+
+        assertThat(scanned).hasSameSizeAs(expected).containsExactlyInAnyOrderElementsOf(expected);
+        // 各桶5、10、15个键，每轮每桶取4个：共4轮，前两轮3个桶，第三轮2个桶，第四轮只剩一个桶在调用线程上执行
+        assertThat(submitted).hasValue(3 + 3 + 2);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.cache.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CacheEntryTest {
+
+    private static final long EXPIRE_AT = 1_000_000L;
+    private static final long DELTA = 200L;
+
+    @Test
+    void neverRecomputesEarlyWithoutExpiryOrAfterExpiry() {
+        CacheEntry eternal = new CacheEntry("v", 1L, 0L, DELTA);
+        CacheEntry entry = new CacheEntry("v", 1L, EXPIRE_AT, DELTA);
+
+        assertThat(eternal.shouldRecomputeEarly(EXPIRE_AT, 1.0, 1e-12)).isFalse();
+        assertThat(entry.shouldRecomputeEarly(EXPIRE_AT, 1.0, 1e-12)).isFalse();
+        assertThat(entry.shouldRecomputeEarly(EXPIRE_AT + 1, 1.0, 1e-12)).isFalse();
+    }
+
+    @Test
+    void unknownComputeTimeNeverRecomputesEarly() {
+        CacheEntry entry = new CacheEntry("v", 1L, EXPIRE_AT, 0L);
+
+        assertThat(entry.shouldRecomputeEarly(EXPIRE_AT - 1, 1.0, 1e-12)).isFalse();
+    }
+
+    @Test
+    void probabilityFollowsExponentialDistribution() {
+        // 距离过期 gap 时被选中的概率为 exp(-gap / (delta * beta))
+        CacheEntry entry = new CacheEntry("v", 1L, EXPIRE_AT, DELTA);
+        Random random = new Random(42);
+        int samples = 200_000;
+
+        for (long gap : new long[]{DELTA / 2, DELTA, 3 * DELTA}) {
+            int selected = 0;
+            for (int i = 0; i < samples; i++) {
+                if (entry.shouldRecomputeEarly(EXPIRE_AT - gap, 1.0, 1.0 - random.nextDouble())) {
+                    selected++;
+                }
+            }
+            assertThat((double) selected / samples).isCloseTo(Math.exp(-(double) gap / DELTA), within(0.01));
+        }
+    }
+
+    @Test
+    void largerBetaRecomputesEarlier() {
+        CacheEntry entry = new CacheEntry("v", 1L, EXPIRE_AT, DELTA);
+        double random = Math.exp(-2.0);
+
+        assertThat(entry.shouldRecomputeEarly(EXPIRE_AT - 3 * DELTA, 1.0, random)).isFalse();
+        assertThat(entry.shouldRecomputeEarly(EXPIRE_AT - 3 * DELTA, 2.0, random)).isTrue();
+    }
+
+    @Test
+    void withExpireAtKeepsValueVersionAndDelta() {
+        CacheEntry entry = new CacheEntry("v", 7L, EXPIRE_AT, DELTA);
+
+        CacheEntry rewritten = entry.withExpireAt(EXPIRE_AT * 2);
+
+        assertThat(rewritten.getValue()).isEqualTo("v");
+        assertThat(rewritten.getVersion()).isEqualTo(7L);
+        assertThat(rewritten.getDelta()).isEqualTo(DELTA);
+        assertThat(rewritten.getExpireAt()).isEqualTo(EXPIRE_AT * 2);
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.cache.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 混合逻辑时钟：本地版本严格递增且不重复，观察到远程版本后生成的版本大于远程版本
+ */
+class HybridLogicalClockTest {
+
+    @Test
+    void tickIsStrictlyIncreasing() {
+        HybridLogicalClock clock = new HybridLogicalClock();
+        long previous = clock.tick();
+        for (int i = 0; i < 100_000; i++) {
+            long next = clock.tick();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void concurrentTicksAreUnique() throws Exception {
+        HybridLogicalClock clock = new HybridLogicalClock();
+        Set<Long> versions = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        versions.add(clock.tick());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(versions).hasSize(80_000);
+    }
+
+    @Test
+    void updateMovesPastRemoteVersionFromFastClock() {
+        HybridLogicalClock clock = new HybridLogicalClock();
+        // 远程节点的物理时钟快了一分钟
+        long remote = (System.currentTimeMillis() + 60_000L) << 16;
+
+        clock.update(remote);
+
+        assertThat(clock.tick()).isGreaterThan(remote);
+    }
+
+    @Test
+    void updateWithOlderVersionDoesNotMoveBackwards() {
+        HybridLogicalClock clock = new HybridLogicalClock();
+        long current = clock.tick();
+
+        clock.update(1L);
+
+        assertThat(clock.tick()).isGreaterThan(current);
+    }
+
+    @Test
+    void physicalTimeExtractsMillis() {
+        long before = System.currentTimeMillis();
+        long version = new HybridLogicalClock().tick();
+        long after = System.currentTimeMillis();
+
+        assertThat(HybridLogicalClock.physicalTime(version)).isBetween(before, after);
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.cache.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 单个热点键临近过期时XFetch与分布式锁两种模式的离散时间模拟
+ * 每毫秒固定数量的请求，重新计算耗时固定为delta；XFetch模式下命中按概率提前重新计算，
+ * 未命中与锁模式相同：一个请求加载，其余请求等待加载完成
+ */
+class XFetchSimulationTest {
+
+    private static final long TTL = 10_000L;
+    private static final long DELTA = 200L;
+    private static final int REQUESTS_PER_MILLI = 20;
+    private static final long START = 0L;
+    private static final long EXPIRE_AT = START + TTL;
+    private static final long END = EXPIRE_AT + 2 * DELTA;
+
+    private record Result(int recomputes, long[] latencies) {
+
+        long percentile(double p) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(p * sorted.length) - 1];
+        }
+
+        long waiting() {
+            return Arrays.stream(latencies).filter(latency -> latency > 0).count();
+        }
+    }
+
+    @Test
+    void xfetchRefreshesBeforeExpiryWithFewRecomputes() {
+        Result xfetch = simulateXFetch(new Random(7));
+        Result lock = simulateLock();
+
+        // 锁模式下过期后到达的请求都要等待加载完成
+        assertThat(lock.recomputes()).isEqualTo(1);
+        assertThat(lock.waiting()).isGreaterThanOrEqualTo(REQUESTS_PER_MILLI * DELTA);
+        assertThat(lock.percentile(0.99)).isPositive();
+        assertThat(lock.percentile(1.0)).isEqualTo(DELTA);
+
+        // XFetch在过期前由极少数请求提前重新计算，其余请求不等待
+        assertThat(xfetch.recomputes()).isBetween(1, 20);
+        assertThat(xfetch.waiting()).isEqualTo(xfetch.recomputes());
+        assertThat(xfetch.percentile(0.99)).isZero();
+        assertThat(xfetch.percentile(1.0)).isEqualTo(DELTA);
+    }
+
+    @Test
+    void xfetchRecomputeCountStaysSmallAcrossSeeds() {
+        int total = 0;
+        int seeds = 50;
+        for (int seed = 0; seed < seeds; seed++) {
+            Result xfetch = simulateXFetch(new Random(seed));
+            assertThat(xfetch.recomputes()).isBetween(1, 20);
+            total += xfetch.recomputes();
+        }
+        // 理论期望约为 1 + (e - 1)，远小于同一时段内的请求数
+        assertThat((double) total / seeds).isLessThan(5.0);
+    }
+
+    private static Result simulateXFetch(Random random) {
+        CacheEntry entry = new CacheEntry("v", 1L, EXPIRE_AT, DELTA);
+        long refreshedAt = Long.MAX_VALUE;
+        long loadingUntil = Long.MAX_VALUE;
+        int recomputes = 0;
+        long[] latencies = new long[(int) ((END - START) * REQUESTS_PER_MILLI)];
+        int index = 0;
+
+        for (long now = START; now < END; now++) {
+            for (int i = 0; i < REQUESTS_PER_MILLI; i++) {
+                long latency = 0;
+                if (now >= refreshedAt) {
+                    // 已读到重新计算后的新条目
+                    latency = 0;
+                } else if (!entry.isExpired(now)) {
+                    if (entry.shouldRecomputeEarly(now, 1.0, 1.0 - random.nextDouble())) {
+                        recomputes++;
+                        latency = DELTA;
+                        refreshedAt = Math.min(refreshedAt, now + DELTA);
+                    }
+                } else if (loadingUntil == Long.MAX_VALUE) {
+                    // 真正的未命中走加锁加载
+                    recomputes++;
+                    latency = DELTA;
+                    loadingUntil = now + DELTA;
+                    refreshedAt = Math.min(refreshedAt, loadingUntil);
+                } else {
+                    latency = loadingUntil - now;
+                }
+                latencies[index++] = latency;
+            }
+        }
+        return new Result(recomputes, latencies);
+    }
+
+    private static Result simulateLock() {
+        long loadingUntil = Long.MAX_VALUE;
+        int recomputes = 0;
+        long[] latencies = new long[(int) ((END - START) * REQUESTS_PER_MILLI)];
+        int index = 0;
+
+        for (long now = START; now < END; now++) {
+            for (int i = 0; i < REQUESTS_PER_MILLI; i++) {
+                long latency = 0;
+                if (now >= EXPIRE_AT && now < loadingUntil) {
+                    if (loadingUntil == Long.MAX_VALUE) {
+                        recomputes++;
+                        loadingUntil = now + DELTA;
+                        latency = DELTA;
+                    } else {
+                        latency = loadingUntil - now;
+                    }
+                }
+                latencies[index++] = latency;
+            }
+        }
+        return new Result(recomputes, latencies);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.cache.writebehind;
+
+import org.example.cache.version.CacheEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 延迟写入队列：关闭时写出全部待写入条目，同一键只写出最高版本
+ */
+class WriteBehindQueueTest {
+
+    // 定时写出间隔足够长，测试中只由关闭或批量大小触发写出
+    private static final long NEVER = 3_600_000L;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<Map<String, Object>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void shutdownFlushesAllPendingEntriesInBatches() {
+        WriteBehindQueue queue = new WriteBehindQueue("users", batches::add, 1000, 100, NEVER, scheduler);
+        for (int i = 0; i < 50; i++) {
+            queue.enqueue("user:" + i, new CacheEntry("v" + i, i + 1L));
+        }
+        assertThat(batches).isEmpty();
+
+        queue.shutdown();
+
+        assertThat(queue.getPendingCount()).isZero();
+        assertThat(queue.getFlushedCount()).isEqualTo(50);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(50).containsKeys("user:0", "user:49");
+    }
+
+    @Test
+    void shutdownSplitsRemainingEntriesByBatchSize() throws Exception {
+        // 占住调度线程，使达到批量大小时触发的异步写出在关闭之后才执行
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        WriteBehindQueue queue = new WriteBehindQueue("users", batches::add, 1000, 100, NEVER, scheduler);
+        for (int i = 0; i < 250; i++) {
+            queue.enqueue("user:" + i, new CacheEntry("v" + i, i + 1L));
+        }
+
+        queue.shutdown();
+        release.countDown();
+        scheduler.submit(() -> { }).get(5, TimeUnit.SECONDS);
+
+        assertThat(batches.stream().map(Map::size).toList()).containsExactly(100, 100, 50);
+        assertThat(batches.get(0)).containsKey("user:0");
+        assertThat(queue.getPendingCount()).isZero();
+    }
+
+    @Test
+    void keepsHighestVersionPerKey() {
+        WriteBehindQueue queue = new WriteBehindQueue("users", batches::add, 1000, 100, NEVER, scheduler);
+        queue.enqueue("user:1", new CacheEntry("new", 5L));
+        queue.enqueue("user:1", new CacheEntry("old", 3L));
+
+        queue.shutdown();
+
+        assertThat(batches).hasSize(1);
+        assertThat(CacheEntry.unwrap(batches.get(0).get("user:1"))).isEqualTo("new");
+    }
+
+    @Test
+    void discardedEntryIsNotFlushed() {
+        WriteBehindQueue queue = new WriteBehindQueue("users", batches::add, 1000, 100, NEVER, scheduler);
+        queue.enqueue("user:1", new CacheEntry("a", 1L));
+        queue.enqueue("user:2", new CacheEntry("b", 2L));
+        queue.discard("user:1");
+
+        queue.shutdown();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsOnlyKeys("user:2");
+    }
+
+    @Test
+    void failedBatchIsRequeuedAndFlushedLater() {
+        List<Integer> attempts = new CopyOnWriteArrayList<>();
+        Consumer<Map<String, Object>> writer = batch -> {
+            attempts.add(batch.size());
+            if (attempts.size() == 1) {
+                throw new IllegalStateException("redis down");
+            }
+            batches.add(batch);
+        };
+        WriteBehindQueue queue = new WriteBehindQueue("users", writer, 1000, 100, NEVER, scheduler);
+        queue.enqueue("user:1", new CacheEntry("a", 1L));
+
+        queue.shutdown();
+        assertThat(queue.getPendingCount()).isEqualTo(1);
+        assertThat(batches).isEmpty();
+
+        queue.flush();
+        assertThat(queue.getPendingCount()).isZero();
+        assertThat(batches).hasSize(1);
+        assertThat(queue.getDroppedCount()).isZero();
+    }
+}
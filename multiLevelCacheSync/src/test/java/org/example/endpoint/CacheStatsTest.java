@@ -0,0 +1,42 @@
+package org.example.endpoint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 缓存统计：汇总值和命中率只统计存储层级，其他级别单独展示
+ */
+class CacheStatsTest {
+
+    @Test
+    void totalsIgnoreOperationLevels() {
+        CacheStats stats = new CacheStats("users");
+        stats.recordHit("L1");
+        stats.recordMiss("L1");
+        stats.recordMiss("L2");
+        stats.recordHit("bloom");
+        stats.recordHit("bloom");
+        stats.recordLoad("xfetch", 100L);
+
+        assertThat(stats.getTotalRequests()).isEqualTo(3);
+        assertThat(stats.getTotalHits()).isEqualTo(1);
+        assertThat(stats.getHitRatio()).isEqualTo(1.0 / 3);
+        assertThat(stats.getTotalLoads()).isEqualTo(1);
+        assertThat(stats.getCacheStats()).containsOnlyKeys("L1", "L2");
+        assertThat(stats.getOperationStats()).containsOnlyKeys("bloom", "xfetch");
+    }
+
+    @Test
+    void mergeKeepsOperationLevels() {
+        CacheStats stats = new CacheStats("users");
+        CacheStats other = new CacheStats("users");
+        other.recordHit("bloom");
+        other.recordHit("L2");
+
+        stats.merge(other);
+
+        assertThat(stats.getOperationStats().get("bloom").getHitCount()).isEqualTo(1);
+        assertThat(stats.getTotalHits()).isEqualTo(1);
+    }
+}